@@ -0,0 +1,137 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Índice invertido de habilidades: para cada habilidad (en minúsculas)
+ *              guarda la lista de filas de los Pokémon que la tienen.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice invertido de la columna de habilidades. El texto de habilidades de cada
+ * Pokémon se separa por comas, cada habilidad se recorta y se pasa a minúsculas, y
+ * la fila se agrega a la lista de esa habilidad.
+ * <p>
+ * Además de la búsqueda exacta por habilidad, resuelve búsquedas por subcadena, de uno
+ * o de varios textos a la vez, recorriendo el vocabulario (las habilidades distintas,
+ * unos cientos) en lugar de todos los Pokémon.
+ */
+final class AbilityIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * Separa un texto de habilidades en habilidades individuales en minúsculas.
+     *
+     * @param abilities Texto de habilidades separadas por comas
+     * @return Las habilidades, sin espacios alrededor y sin repetir
+     */
+    static List<String> tokens(String abilities) {
+        List<String> tokens = new ArrayList<>();
+        if (abilities == null) {
+            return tokens;
+        }
+        for (String token : abilities.split(",")) {
+            String normalized = token.trim().toLowerCase();
+            if (!normalized.isEmpty() && !tokens.contains(normalized)) {
+                tokens.add(normalized);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indica si una búsqueda por subcadena puede resolverse con el vocabulario.
+     * Una subcadena sin comas y sin espacios en los extremos no puede abarcar dos
+     * habilidades, así que coincide con el texto completo si y solo si coincide con
+     * alguna de sus habilidades.
+     *
+     * @param query Texto buscado
+     * @return true si el índice puede responder la búsqueda por subcadena
+     */
+    static boolean supportsSubstring(String query) {
+        return !query.isEmpty()
+                && query.indexOf(',') < 0
+                // Mismo criterio que String.trim(), con el que se recortan las habilidades
+                && query.charAt(0) > ' '
+                && query.charAt(query.length() - 1) > ' ';
+    }
+
+    void add(int row, String abilities) {
+        for (String token : tokens(abilities)) {
+            postings.computeIfAbsent(token, key -> new PostingList()).add(row);
+        }
+    }
+
+    void remove(int row, String abilities) {
+        for (String token : tokens(abilities)) {
+            PostingList list = postings.get(token);
+            if (list != null) {
+                list.remove(row);
+                if (list.size() == 0) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene las filas que tienen exactamente una habilidad, sin distinguir mayúsculas.
+     *
+     * @param ability Habilidad buscada
+     * @return Lista de filas, o null si ningún Pokémon la tiene
+     */
+    PostingList exact(String ability) {
+        return postings.get(ability.trim().toLowerCase());
+    }
+
+    /**
+     * Obtiene las listas de filas de todas las habilidades que contienen el texto.
+     * Solo es válido si {@link #supportsSubstring(String)} es verdadero.
+     *
+     * @param query Texto buscado
+     * @return Listas de filas de las habilidades que coinciden
+     */
+    List<PostingList> containing(String query) {
+        String folded = query.toLowerCase();
+        List<PostingList> matches = new ArrayList<>();
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            if (entry.getKey().contains(folded)) {
+                matches.add(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Obtiene, para varios textos a la vez, las listas de filas de las habilidades que
+     * contienen cada uno. El vocabulario se recorre una sola vez con el autómata.
+     * Solo es válido si {@link #supportsSubstring(String)} es verdadero para todos.
+     *
+     * @param matcher Autómata con los textos buscados
+     * @return Para cada texto, en el mismo orden, las listas de filas que coinciden
+     */
+    List<List<PostingList>> containingAll(AbilityMatcher matcher) {
+        List<List<PostingList>> matches = new ArrayList<>(matcher.patternCount());
+        for (int p = 0; p < matcher.patternCount(); p++) {
+            matches.add(new ArrayList<>());
+        }
+        BitSet found = new BitSet(matcher.patternCount());
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            found.clear();
+            matcher.match(entry.getKey(), found);
+            for (int p = found.nextSetBit(0); p >= 0; p = found.nextSetBit(p + 1)) {
+                matches.get(p).add(entry.getValue());
+            }
+        }
+        return matches;
+    }
+}
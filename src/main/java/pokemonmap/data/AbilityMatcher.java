@@ -0,0 +1,172 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Autómata de Aho-Corasick que busca varias habilidades a la vez en un
+ *              texto de habilidades, recorriéndolo una sola vez.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca varios textos dentro de un texto de habilidades en una sola pasada, con la
+ * misma semántica que {@link Pokemon#hasAbility(String)} para cada uno: subcadena sin
+ * distinguir mayúsculas.
+ * <p>
+ * Los textos buscados forman un trie con enlaces de falla (Aho-Corasick) que se
+ * completa como autómata determinista: cada carácter del texto es una sola consulta
+ * a la tabla de transiciones, sin importar cuántos textos se busquen. Solo los
+ * caracteres que aparecen en algún texto buscado tienen columna propia en la tabla;
+ * cualquier otro regresa a la raíz.
+ */
+final class AbilityMatcher {
+    private static final int ASCII = 128;
+
+    private final int patternCount;
+    // Símbolo de cada carácter; 0 para los que no aparecen en ningún texto buscado
+    private final int[] asciiSymbols = new int[ASCII];
+    private final Map<Character, Integer> otherSymbols = new HashMap<>();
+    private final int width;
+    private final int[] transitions;
+    // Textos que terminan en cada estado, incluidos los alcanzados por enlaces de falla
+    private final int[][] outputs;
+
+    /**
+     * Construye el autómata.
+     *
+     * @param patterns Textos buscados
+     */
+    AbilityMatcher(List<String> patterns) {
+        this.patternCount = patterns.size();
+        List<String> folded = new ArrayList<>(patternCount);
+        int totalLength = 0;
+        int symbols = 1;
+        for (String pattern : patterns) {
+            String lower = pattern.toLowerCase();
+            folded.add(lower);
+            totalLength += lower.length();
+            for (int i = 0; i < lower.length(); i++) {
+                char c = lower.charAt(i);
+                if (symbolOf(c) == 0) {
+                    if (c < ASCII) {
+                        asciiSymbols[c] = symbols++;
+                    } else {
+                        otherSymbols.put(c, symbols++);
+                    }
+                }
+            }
+        }
+        this.width = symbols;
+
+        // Trie: -1 indica que falta la transición
+        int[] table = new int[(totalLength + 1) * width];
+        Arrays.fill(table, -1);
+        List<List<Integer>> ends = new ArrayList<>();
+        ends.add(new ArrayList<>());
+        int states = 1;
+        for (int p = 0; p < patternCount; p++) {
+            String pattern = folded.get(p);
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int cell = state * width + symbolOf(pattern.charAt(i));
+                if (table[cell] < 0) {
+                    table[cell] = states++;
+                    ends.add(new ArrayList<>());
+                }
+                state = table[cell];
+            }
+            ends.get(state).add(p);
+        }
+
+        // Enlaces de falla en anchura; las transiciones faltantes toman las del estado de falla
+        int[] fail = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = toArray(ends.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < width; symbol++) {
+            int child = table[symbol];
+            if (child < 0) {
+                table[symbol] = 0;
+            } else {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> found = ends.get(state);
+            for (int p : outputs[fail[state]]) {
+                found.add(p);
+            }
+            outputs[state] = toArray(found);
+            for (int symbol = 0; symbol < width; symbol++) {
+                int cell = state * width + symbol;
+                int child = table[cell];
+                int fallback = table[fail[state] * width + symbol];
+                if (child < 0) {
+                    table[cell] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+        this.transitions = Arrays.copyOf(table, states * width);
+        this.outputs = outputs;
+    }
+
+    /**
+     * Obtiene el número de textos buscados.
+     *
+     * @return Cantidad de textos
+     */
+    int patternCount() {
+        return patternCount;
+    }
+
+    /**
+     * Marca los textos buscados que aparecen en un texto de habilidades.
+     *
+     * @param abilities Texto de habilidades
+     * @param found Conjunto donde se marca la posición de cada texto encontrado; no se limpia
+     */
+    void match(String abilities, BitSet found) {
+        for (int p : outputs[0]) {
+            found.set(p);
+        }
+        String text = abilities.toLowerCase();
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = transitions[state * width + symbolOf(text.charAt(i))];
+            for (int p : outputs[state]) {
+                found.set(p);
+            }
+        }
+    }
+
+    private int symbolOf(char c) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol == null ? 0 : symbol;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,334 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Almacén de Pokémon por columnas: cada atributo se guarda en su propio
+ *              arreglo y los Pokémon se construyen solo cuando se consultan.
+ */
+package pokemonmap.data;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map de Pokémon organizado por columnas (estructura de arreglos).
+ * Los atributos numéricos se guardan en arreglos primitivos paralelos y los de texto
+ * (tipos, clasificación, habilidades y estado legendario) como códigos enteros de un
+ * diccionario por columna. Cada Pokémon ocupa una fila; {@link #get(Object)} y los
+ * recorridos construyen una vista nueva de la fila cada vez que se piden.
+ * <p>
+ * Las búsquedas por habilidad y el ordenamiento por tipo recorren solo la columna de
+ * códigos que necesitan, de forma secuencial, en lugar de visitar un objeto por Pokémon.
+ * Las filas se recorren en orden de inserción; al eliminar un Pokémon su lugar lo
+ * ocupa la última fila. No es seguro para varios hilos, igual que HashMap.
+ */
+public class ColumnarPokemonStore extends AbstractMap<String, Pokemon> implements PokemonStore {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final Dictionary types = new Dictionary();
+    private final Dictionary classifications = new Dictionary();
+    private final Dictionary abilities = new Dictionary();
+    private final Dictionary legendaryStatuses = new Dictionary();
+
+    private int size;
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] pokedexNumbers = new int[INITIAL_CAPACITY];
+    private int[] type1Codes = new int[INITIAL_CAPACITY];
+    private int[] type2Codes = new int[INITIAL_CAPACITY];
+    private int[] classificationCodes = new int[INITIAL_CAPACITY];
+    private double[] heights = new double[INITIAL_CAPACITY];
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private int[] abilityCodes = new int[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] legendaryCodes = new int[INITIAL_CAPACITY];
+    private EntrySet entrySet;
+
+    /**
+     * Diccionario de una columna de texto: asigna a cada valor distinto un código
+     * consecutivo y permite recuperarlo a partir del código.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    @Override
+    public Pokemon put(String name, Pokemon pokemon) {
+        Integer existing = rows.get(name);
+        Pokemon previous = null;
+        int row;
+        if (existing != null) {
+            row = existing;
+            previous = view(row);
+        } else {
+            ensureCapacity(size + 1);
+            row = size++;
+            rows.put(name, row);
+        }
+
+        names[row] = name;
+        pokedexNumbers[row] = pokemon.getPokedexNumber();
+        type1Codes[row] = types.encode(pokemon.getType1());
+        type2Codes[row] = types.encode(pokemon.getType2());
+        classificationCodes[row] = classifications.encode(pokemon.getClassification());
+        heights[row] = pokemon.getHeight();
+        weights[row] = pokemon.getWeight();
+        abilityCodes[row] = abilities.encode(pokemon.getAbilities());
+        generations[row] = pokemon.getGeneration();
+        legendaryCodes[row] = legendaryStatuses.encode(pokemon.getLegendaryStatus());
+        return previous;
+    }
+
+    @Override
+    public Pokemon get(Object key) {
+        Integer row = rows.get(key);
+        return row == null ? null : view(row);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return rows.containsKey(key);
+    }
+
+    @Override
+    public Pokemon remove(Object key) {
+        Integer row = rows.get(key);
+        if (row == null) {
+            return null;
+        }
+        Pokemon previous = view(row);
+        removeRow(row);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        rows.clear();
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Pokemon>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public List<Pokemon> findByAbility(String ability) {
+        // La condición se evalúa una sola vez por cada valor distinto de la columna
+        String query = ability.toLowerCase();
+        boolean[] matches = new boolean[abilities.size()];
+        for (int code = 0; code < matches.length; code++) {
+            matches[code] = abilities.decode(code).toLowerCase().contains(query);
+        }
+
+        List<Pokemon> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (matches[abilityCodes[row]]) {
+                result.add(view(row));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<List<Pokemon>> findByAbilities(List<String> patterns) {
+        // El autómata se aplica una sola vez por cada valor distinto de la columna
+        AbilityMatcher matcher = new AbilityMatcher(patterns);
+        int[][] matchesByCode = new int[abilities.size()][];
+        BitSet found = new BitSet(patterns.size());
+        for (int code = 0; code < matchesByCode.length; code++) {
+            found.clear();
+            matcher.match(abilities.decode(code), found);
+            matchesByCode[code] = found.stream().toArray();
+        }
+
+        List<List<Pokemon>> result = new ArrayList<>(patterns.size());
+        for (int p = 0; p < patterns.size(); p++) {
+            result.add(new ArrayList<>());
+        }
+        for (int row = 0; row < size; row++) {
+            int[] matches = matchesByCode[abilityCodes[row]];
+            if (matches.length > 0) {
+                Pokemon pokemon = view(row);
+                for (int p : matches) {
+                    result.get(p).add(pokemon);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Pokemon> sortedByType1() {
+        // Ordenamiento por conteo: se ordenan los tipos distintos y cada fila se
+        // coloca según la posición de su tipo, conservando el orden de inserción
+        int typeCount = types.size();
+        Integer[] byName = new Integer[typeCount];
+        for (int code = 0; code < typeCount; code++) {
+            byName[code] = code;
+        }
+        Arrays.sort(byName, (a, b) -> types.decode(a).compareTo(types.decode(b)));
+        int[] rank = new int[typeCount];
+        for (int position = 0; position < typeCount; position++) {
+            rank[byName[position]] = position;
+        }
+
+        int[] offsets = new int[typeCount + 1];
+        for (int row = 0; row < size; row++) {
+            offsets[rank[type1Codes[row]] + 1]++;
+        }
+        for (int position = 0; position < typeCount; position++) {
+            offsets[position + 1] += offsets[position];
+        }
+        Pokemon[] sorted = new Pokemon[size];
+        for (int row = 0; row < size; row++) {
+            sorted[offsets[rank[type1Codes[row]]]++] = view(row);
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    /**
+     * Construye un Pokémon con los valores de una fila.
+     */
+    private Pokemon view(int row) {
+        return new Pokemon(
+            names[row],
+            pokedexNumbers[row],
+            types.decode(type1Codes[row]),
+            types.decode(type2Codes[row]),
+            classifications.decode(classificationCodes[row]),
+            heights[row],
+            weights[row],
+            abilities.decode(abilityCodes[row]),
+            generations[row],
+            legendaryStatuses.decode(legendaryCodes[row])
+        );
+    }
+
+    /**
+     * Elimina una fila moviendo la última a su lugar.
+     */
+    private void removeRow(int row) {
+        rows.remove(names[row]);
+        int last = --size;
+        if (row != last) {
+            names[row] = names[last];
+            pokedexNumbers[row] = pokedexNumbers[last];
+            type1Codes[row] = type1Codes[last];
+            type2Codes[row] = type2Codes[last];
+            classificationCodes[row] = classificationCodes[last];
+            heights[row] = heights[last];
+            weights[row] = weights[last];
+            abilityCodes[row] = abilityCodes[last];
+            generations[row] = generations[last];
+            legendaryCodes[row] = legendaryCodes[last];
+            rows.put(names[row], row);
+        }
+        names[last] = null;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= names.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, names.length * 2);
+        names = Arrays.copyOf(names, newCapacity);
+        pokedexNumbers = Arrays.copyOf(pokedexNumbers, newCapacity);
+        type1Codes = Arrays.copyOf(type1Codes, newCapacity);
+        type2Codes = Arrays.copyOf(type2Codes, newCapacity);
+        classificationCodes = Arrays.copyOf(classificationCodes, newCapacity);
+        heights = Arrays.copyOf(heights, newCapacity);
+        weights = Arrays.copyOf(weights, newCapacity);
+        abilityCodes = Arrays.copyOf(abilityCodes, newCapacity);
+        generations = Arrays.copyOf(generations, newCapacity);
+        legendaryCodes = Arrays.copyOf(legendaryCodes, newCapacity);
+    }
+
+    /**
+     * Vista de las filas como entradas del Map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Pokemon>> {
+        @Override
+        public Iterator<Entry<String, Pokemon>> iterator() {
+            return new Iterator<Entry<String, Pokemon>>() {
+                private int next;
+                private int current = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<String, Pokemon> next() {
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    current = next++;
+                    return new SimpleImmutableEntry<>(names[current], view(current));
+                }
+
+                @Override
+                public void remove() {
+                    if (current < 0) {
+                        throw new IllegalStateException();
+                    }
+                    removeRow(current);
+                    // La última fila ocupó el lugar de la eliminada y aún no se ha visitado
+                    next = current;
+                    current = -1;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ColumnarPokemonStore.this.clear();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Diferencias entre dos versiones de los datos de Pokémon: cuáles se
+ *              agregaron, cuáles se eliminaron y cuáles cambiaron.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describe los cambios entre una versión anterior y una nueva de los datos de Pokémon,
+ * identificando a cada Pokémon por su nombre.
+ */
+public class DatasetDelta {
+    private final List<String> added;
+    private final List<String> removed;
+    private final List<String> modified;
+
+    private DatasetDelta(List<String> added, List<String> removed, List<String> modified) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.modified = Collections.unmodifiableList(modified);
+    }
+
+    /**
+     * Calcula las diferencias entre dos versiones de los datos.
+     * 
+     * @param previous Versión anterior de los datos
+     * @param current Versión nueva de los datos
+     * @return Las diferencias entre ambas versiones
+     */
+    public static DatasetDelta between(PokemonData previous, PokemonData current) {
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        List<String> modified = new ArrayList<>();
+
+        for (Pokemon pokemon : current.getAllPokemons()) {
+            Pokemon old = previous.getPokemon(pokemon.getName());
+            if (old == null) {
+                added.add(pokemon.getName());
+            } else if (!old.equals(pokemon)) {
+                modified.add(pokemon.getName());
+            }
+        }
+        for (Pokemon pokemon : previous.getAllPokemons()) {
+            if (!current.containsPokemon(pokemon.getName())) {
+                removed.add(pokemon.getName());
+            }
+        }
+
+        return new DatasetDelta(added, removed, modified);
+    }
+
+    /**
+     * Obtiene los nombres de los Pokémon que solo existen en la versión nueva.
+     * 
+     * @return Lista de nombres agregados
+     */
+    public List<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * Obtiene los nombres de los Pokémon que ya no existen en la versión nueva.
+     * 
+     * @return Lista de nombres eliminados
+     */
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Obtiene los nombres de los Pokémon cuyos atributos cambiaron.
+     * 
+     * @return Lista de nombres modificados
+     */
+    public List<String> getModified() {
+        return modified;
+    }
+
+    /**
+     * Indica si ambas versiones tienen exactamente los mismos datos.
+     * 
+     * @return true si no hay cambios
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+    }
+
+    /**
+     * Genera un resumen de los cambios.
+     * 
+     * @return Texto con la cantidad de Pokémon agregados, eliminados y modificados
+     */
+    @Override
+    public String toString() {
+        return added.size() + " agregados, " + removed.size() + " eliminados, "
+                + modified.size() + " modificados";
+    }
+}
@@ -0,0 +1,451 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Map de nombre a Pokémon que, al terminar la carga, se congela con una
+ *              función hash perfecta mínima: cada búsqueda revisa una sola posición.
+ */
+package pokemonmap.data;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map para colecciones que se cargan una vez y luego solo se consultan. Mientras se
+ * carga guarda las entradas en un HashMap; {@link #freeze()} construye una función
+ * hash perfecta mínima sobre los nombres y pasa las entradas a un solo arreglo de
+ * exactamente n posiciones, sin huecos ni colisiones. Desde entonces el Map no se
+ * puede modificar.
+ * <p>
+ * La función sigue el esquema CHD (comprimir, dispersar, desplazar): el código hash de
+ * cada nombre elige un grupo de unos {@value #KEYS_PER_BUCKET} nombres, y cada grupo
+ * guarda un desplazamiento que, combinado con el código, lleva a sus nombres a
+ * posiciones libres. Una búsqueda lee el desplazamiento de su grupo y revisa una sola
+ * posición: un byte de huella del código descarta casi todos los nombres ausentes sin
+ * leer la cadena guardada, y solo si coincide se compara el nombre. El índice ocupa un
+ * entero por grupo y un byte por posición, unos dos bytes por nombre.
+ * <p>
+ * No admite claves null. Una vez congelado solo se lee, así que varios hilos pueden
+ * consultarlo sin sincronización si se publica de forma segura; antes, igual que
+ * HashMap, no es seguro para varios hilos.
+ */
+public class FrozenPerfectHashMap extends AbstractMap<String, Pokemon> {
+    // Nombres promedio por grupo; más nombres por grupo ahorran memoria pero encarecen
+    // la búsqueda de desplazamientos
+    private static final int KEYS_PER_BUCKET = 4;
+    // Intentos de desplazamiento de un grupo antes de probar con otra semilla
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    // Entradas mientras se carga; null una vez congelado
+    private Map<String, Pokemon> loading;
+    private long seed;
+    // Solo si dos nombres comparten hashCode se calcula un código propio sobre los caracteres
+    private boolean charHash;
+    // Desplazamiento de cada grupo; un valor negativo -(p + 1) lleva directo a la
+    // posición p, para los grupos de un solo nombre
+    private int[] displacements;
+    // Clave en la posición 2i y valor en la 2i + 1 para la entrada de la posición i
+    private Object[] entries;
+    // Ocho bits del código de la clave de cada posición
+    private byte[] fingerprints;
+    private EntrySet entrySet;
+    private Values valuesView;
+
+    /**
+     * Crea un Map vacío, abierto para inserciones.
+     */
+    public FrozenPerfectHashMap() {
+        this(0);
+    }
+
+    /**
+     * Crea un Map vacío con espacio para un número esperado de entradas durante la carga.
+     *
+     * @param expectedSize Número esperado de entradas
+     * @throws IllegalArgumentException si el número esperado es negativo
+     */
+    public FrozenPerfectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        this.loading = new HashMap<>(Math.max(16, (int) Math.ceil(expectedSize / 0.75)));
+    }
+
+    /**
+     * Construye la función hash perfecta sobre las entradas cargadas y congela el Map.
+     * Llamarlo de nuevo no tiene efecto.
+     */
+    public void freeze() {
+        if (loading == null) {
+            return;
+        }
+        String[] keys = loading.keySet().toArray(new String[0]);
+        boolean useCharHash = sharesHashCode(keys);
+        for (long attempt = 0; !build(keys, attempt * GOLDEN, useCharHash); attempt++) {
+            // Una semilla con grupos imposibles de acomodar es muy rara; se prueba otra
+        }
+        for (int i = 0; i < entries.length; i += 2) {
+            entries[i + 1] = loading.get(entries[i]);
+        }
+        loading = null;
+    }
+
+    /**
+     * Indica si el Map ya se congeló.
+     *
+     * @return true si ya no admite modificaciones
+     */
+    public boolean isFrozen() {
+        return loading == null;
+    }
+
+    @Override
+    public int size() {
+        return loading != null ? loading.size() : entries.length / 2;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (loading != null) {
+            return loading.containsKey(requireKey(key));
+        }
+        return find(requireKey(key)) >= 0;
+    }
+
+    @Override
+    public Pokemon get(Object key) {
+        if (loading != null) {
+            return loading.get(requireKey(key));
+        }
+        int slot = find(requireKey(key));
+        return slot < 0 ? null : (Pokemon) entries[2 * slot + 1];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si el Map ya se congeló
+     */
+    @Override
+    public Pokemon put(String key, Pokemon value) {
+        return loadingEntries().put(requireKey(key), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si el Map ya se congeló
+     */
+    @Override
+    public Pokemon remove(Object key) {
+        return loadingEntries().remove(requireKey(key));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException si el Map ya se congeló
+     */
+    @Override
+    public void clear() {
+        loadingEntries().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Pokemon>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Collection<Pokemon> values() {
+        if (valuesView == null) {
+            valuesView = new Values();
+        }
+        return valuesView;
+    }
+
+    /**
+     * Obtiene la posición de una clave en el Map congelado, o -1 si no está.
+     */
+    private int find(Object key) {
+        if (!(key instanceof String) || entries.length == 0) {
+            return -1;
+        }
+        long hash = hash((String) key, seed, charHash);
+        int slot = slot(hash, displacements[bucket(hash, displacements.length)], entries.length / 2);
+        return fingerprints[slot] == (byte) hash && key.equals(entries[2 * slot]) ? slot : -1;
+    }
+
+    /**
+     * Intenta acomodar todas las claves con una semilla. Los grupos se acomodan del más
+     * grande al más chico, mientras quedan muchas posiciones libres; los de un nombre
+     * van al final y toman directamente las posiciones que sobran.
+     *
+     * @return false si algún grupo no encontró desplazamiento con esta semilla
+     */
+    private boolean build(String[] keys, long seed, boolean useCharHash) {
+        int n = keys.length;
+        int bucketCount = Math.max(1, (n + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        long[] hashes = new long[n];
+        // Claves agrupadas por grupo, con bucketStart[b] como inicio del grupo b
+        int[] bucketStart = new int[bucketCount + 1];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(keys[i], seed, useCharHash);
+            bucketStart[bucket(hashes[i], bucketCount) + 1]++;
+        }
+        int largest = 0;
+        for (int b = 0; b < bucketCount; b++) {
+            largest = Math.max(largest, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[n];
+        int[] filled = Arrays.copyOf(bucketStart, bucketCount);
+        for (int i = 0; i < n; i++) {
+            members[filled[bucket(hashes[i], bucketCount)]++] = i;
+        }
+        // Grupos ordenados por tamaño decreciente, con un ordenamiento por conteo
+        int[] bySize = new int[largest + 2];
+        for (int b = 0; b < bucketCount; b++) {
+            bySize[largest - (bucketStart[b + 1] - bucketStart[b]) + 1]++;
+        }
+        for (int s = 0; s <= largest; s++) {
+            bySize[s + 1] += bySize[s];
+        }
+        int[] order = new int[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[bySize[largest - (bucketStart[b + 1] - bucketStart[b])]++] = b;
+        }
+
+        int[] newDisplacements = new int[bucketCount];
+        boolean[] taken = new boolean[n];
+        int[] slots = new int[largest];
+        int nextFree = 0;
+        for (int b : order) {
+            int from = bucketStart[b];
+            int size = bucketStart[b + 1] - from;
+            if (size == 0) {
+                break;
+            }
+            if (size == 1) {
+                while (taken[nextFree]) {
+                    nextFree++;
+                }
+                taken[nextFree] = true;
+                newDisplacements[b] = -(nextFree + 1);
+                continue;
+            }
+            int displacement = 0;
+            while (!fits(hashes, members, from, size, displacement, taken, slots)) {
+                if (++displacement == MAX_DISPLACEMENT) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                taken[slots[i]] = true;
+            }
+            newDisplacements[b] = displacement;
+        }
+
+        Object[] newEntries = new Object[2 * n];
+        byte[] newFingerprints = new byte[n];
+        for (int i = 0; i < n; i++) {
+            int slot = slot(hashes[i], newDisplacements[bucket(hashes[i], bucketCount)], n);
+            newEntries[2 * slot] = keys[i];
+            newFingerprints[slot] = (byte) hashes[i];
+        }
+        this.fingerprints = newFingerprints;
+        this.seed = seed;
+        this.charHash = useCharHash;
+        this.displacements = newDisplacements;
+        this.entries = newEntries;
+        return true;
+    }
+
+    /**
+     * Verifica si un desplazamiento lleva todas las claves de un grupo a posiciones
+     * libres y distintas, y deja esas posiciones en slots.
+     */
+    private static boolean fits(long[] hashes, int[] members, int from, int size, int displacement,
+                                boolean[] taken, int[] slots) {
+        int n = taken.length;
+        for (int i = 0; i < size; i++) {
+            int slot = slot(hashes[members[from + i]], displacement, n);
+            if (taken[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i] = slot;
+        }
+        return true;
+    }
+
+    private Map<String, Pokemon> loadingEntries() {
+        if (loading == null) {
+            throw new UnsupportedOperationException("El Map ya se congeló y no admite modificaciones");
+        }
+        return loading;
+    }
+
+    private static <K> K requireKey(K key) {
+        if (key == null) {
+            throw new NullPointerException("FrozenPerfectHashMap no admite claves null");
+        }
+        return key;
+    }
+
+    /**
+     * Indica si dos claves tienen el mismo hashCode. Ningún desplazamiento las separaría
+     * con un código derivado de hashCode, así que en ese caso se usa uno propio.
+     */
+    private static boolean sharesHashCode(String[] keys) {
+        int[] codes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            codes[i] = keys[i].hashCode();
+        }
+        Arrays.sort(codes);
+        for (int i = 1; i < codes.length; i++) {
+            if (codes[i] == codes[i - 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Código hash de 64 bits de un nombre. Normalmente se deriva de hashCode, que String
+     * guarda después de calcularlo; si hay nombres que lo comparten, se calcula sobre los
+     * caracteres combinando cuatro por multiplicación, al estilo de FNV-1a.
+     */
+    private static long hash(String key, long seed, boolean useCharHash) {
+        if (!useCharHash) {
+            // Una multiplicación basta: hashCode ya reparte bien los nombres
+            return (key.hashCode() + seed) * GOLDEN;
+        }
+        long hash = 0xCBF29CE484222325L ^ seed ^ key.length();
+        int length = key.length();
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = key.charAt(i) | (long) key.charAt(i + 1) << 16
+                    | (long) key.charAt(i + 2) << 32 | (long) key.charAt(i + 3) << 48;
+            hash = (hash ^ block) * 0x100000001B3L;
+        }
+        for (; i < length; i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    /**
+     * Posición de una clave con el desplazamiento de su grupo: h1 + d * h2 con dos partes
+     * del código que no eligen el grupo, reducida a [0, n) con una multiplicación.
+     */
+    private static int slot(long hash, int displacement, int n) {
+        if (displacement < 0) {
+            return -displacement - 1;
+        }
+        int position = (int) hash + displacement * ((int) (hash >>> 29) | 1);
+        return (int) (((position & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    /**
+     * Mezcla final de MurmurHash3, que reparte cada bit de entrada en todos los de salida.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE53CCBC3L;
+        return hash ^ hash >>> 33;
+    }
+
+    /**
+     * Recorre las posiciones del arreglo congelado, que están todas ocupadas.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private int next;
+
+        abstract T element(int slot);
+
+        @Override
+        public boolean hasNext() {
+            return next < entries.length / 2;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return element(next++);
+        }
+    }
+
+    /**
+     * Vista de las entradas: las del HashMap durante la carga y las del arreglo después.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Pokemon>> {
+        @Override
+        public Iterator<Entry<String, Pokemon>> iterator() {
+            if (loading != null) {
+                return loading.entrySet().iterator();
+            }
+            return new SlotIterator<Entry<String, Pokemon>>() {
+                @Override
+                Entry<String, Pokemon> element(int slot) {
+                    return new SimpleImmutableEntry<>((String) entries[2 * slot], (Pokemon) entries[2 * slot + 1]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return FrozenPerfectHashMap.this.size();
+        }
+    }
+
+    /**
+     * Vista de los valores, sin crear una entrada por Pokémon.
+     */
+    private final class Values extends AbstractCollection<Pokemon> {
+        @Override
+        public Iterator<Pokemon> iterator() {
+            if (loading != null) {
+                return loading.values().iterator();
+            }
+            return new SlotIterator<Pokemon>() {
+                @Override
+                Pokemon element(int slot) {
+                    return (Pokemon) entries[2 * slot + 1];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return FrozenPerfectHashMap.this.size();
+        }
+    }
+}
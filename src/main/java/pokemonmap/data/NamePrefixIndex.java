@@ -0,0 +1,213 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Índice de prefijos sobre los nombres de los Pokémon, sin distinguir
+ *              mayúsculas, para autocompletar y para búsquedas por nombre.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Nombres ordenados sin distinguir mayúsculas en un solo arreglo. Todos los nombres
+ * que empiezan con un prefijo quedan contiguos, así que una búsqueda es una búsqueda
+ * binaria del primero seguida de un recorrido de a lo sumo k posiciones.
+ * <p>
+ * Se guardan los nombres originales y se comparan con
+ * {@link String#CASE_INSENSITIVE_ORDER}, sin copias en minúsculas. Los nombres nuevos
+ * pasan por una cola sin ordenar de a lo sumo √n nombres y por un búfer ordenado de a
+ * lo sumo n/8 antes de mezclarse con el arreglo principal, igual que en
+ * {@link RangeIndex}. Las búsquedas leen las tres partes sin modificarlas.
+ */
+final class NamePrefixIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    /** El búfer ordenado se mezcla con el arreglo principal al pasar esta fracción de él. */
+    private static final int RECENT_FRACTION = 8;
+    // Los nombres que solo difieren en mayúsculas se ordenan por su valor exacto
+    private static final Comparator<String> ORDER = (a, b) -> {
+        int ignoringCase = String.CASE_INSENSITIVE_ORDER.compare(a, b);
+        return ignoringCase != 0 ? ignoringCase : a.compareTo(b);
+    };
+
+    private String[] names = new String[0];
+    private String[] recent = new String[0];
+    private String[] tail = new String[INITIAL_CAPACITY];
+    private int tailCount;
+
+    /**
+     * Agrega un nombre al índice. Cada nombre debe agregarse una sola vez.
+     *
+     * @param name Nombre del Pokémon
+     */
+    void add(String name) {
+        if (tailCount == tail.length) {
+            tail = Arrays.copyOf(tail, tailCount * 2);
+        }
+        tail[tailCount++] = name;
+        if (tailCount > Math.max(INITIAL_CAPACITY, (int) Math.sqrt(names.length + recent.length))) {
+            flushTail();
+            if (recent.length > Math.max(INITIAL_CAPACITY, names.length / RECENT_FRACTION)) {
+                flushRecent();
+            }
+        }
+    }
+
+    /**
+     * Mezcla todos los nombres pendientes con el arreglo principal. Después de una carga
+     * masiva conviene llamarlo desde el hilo que cargó, para que las búsquedas solo
+     * recorran un arreglo.
+     */
+    void build() {
+        flushTail();
+        flushRecent();
+    }
+
+    /**
+     * Busca un nombre sin distinguir mayúsculas. Si hay varios que solo difieren en
+     * mayúsculas, se prefiere el que coincide exactamente.
+     *
+     * @param name Nombre buscado
+     * @return El nombre guardado, o null si no hay ninguno
+     */
+    String lookupIgnoreCase(String name) {
+        String found = null;
+        for (String[] sorted : new String[][]{names, recent}) {
+            for (int i = lowerBound(sorted, name); i < sorted.length && sorted[i].equalsIgnoreCase(name); i++) {
+                if (sorted[i].equals(name)) {
+                    return sorted[i];
+                }
+                if (found == null || ORDER.compare(sorted[i], found) < 0) {
+                    found = sorted[i];
+                }
+            }
+        }
+        for (int i = 0; i < tailCount; i++) {
+            if (tail[i].equalsIgnoreCase(name)) {
+                if (tail[i].equals(name)) {
+                    return tail[i];
+                }
+                if (found == null || ORDER.compare(tail[i], found) < 0) {
+                    found = tail[i];
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Obtiene los primeros nombres, en orden alfabético, que empiezan con un prefijo.
+     *
+     * @param prefix Prefijo buscado, sin distinguir mayúsculas
+     * @param limit Número máximo de nombres
+     * @return Lista de nombres que empiezan con el prefijo
+     */
+    List<String> completions(String prefix, int limit) {
+        // La cola no está ordenada: se ordenan solo sus nombres con el prefijo
+        List<String> fromTail = new ArrayList<>();
+        for (int i = 0; i < tailCount; i++) {
+            if (startsWith(tail[i], prefix)) {
+                fromTail.add(tail[i]);
+            }
+        }
+        fromTail.sort(ORDER);
+
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        int i = lowerBound(names, prefix);
+        int j = lowerBound(recent, prefix);
+        int k = 0;
+        while (result.size() < limit) {
+            String fromNames = i < names.length && startsWith(names[i], prefix) ? names[i] : null;
+            String fromRecent = j < recent.length && startsWith(recent[j], prefix) ? recent[j] : null;
+            String next = k < fromTail.size() ? fromTail.get(k) : null;
+            if (fromNames != null && (next == null || ORDER.compare(fromNames, next) < 0)) {
+                next = fromNames;
+            }
+            if (fromRecent != null && (next == null || ORDER.compare(fromRecent, next) < 0)) {
+                next = fromRecent;
+            }
+            if (next == null) {
+                break;
+            }
+            if (next == fromNames) {
+                i++;
+            } else if (next == fromRecent) {
+                j++;
+            } else {
+                k++;
+            }
+            result.add(next);
+        }
+        return result;
+    }
+
+    private static boolean startsWith(String name, String prefix) {
+        return name.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * Obtiene la posición del primer nombre que no es menor que la clave, sin
+     * distinguir mayúsculas.
+     */
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(sorted[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ordena la cola y la mezcla con el búfer ordenado.
+     */
+    private void flushTail() {
+        if (tailCount == 0) {
+            return;
+        }
+        Arrays.parallelSort(tail, 0, tailCount, ORDER);
+        recent = merge(recent, recent.length, tail, tailCount);
+        // Después de una carga masiva la cola sería enorme; se vuelve al tamaño inicial
+        tail = new String[INITIAL_CAPACITY];
+        tailCount = 0;
+    }
+
+    /**
+     * Mezcla el búfer ordenado con el arreglo principal.
+     */
+    private void flushRecent() {
+        if (recent.length == 0) {
+            return;
+        }
+        names = merge(names, names.length, recent, recent.length);
+        recent = new String[0];
+    }
+
+    private static String[] merge(String[] first, int firstCount, String[] second, int secondCount) {
+        String[] merged = new String[firstCount + secondCount];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < firstCount && j < secondCount) {
+            merged[k++] = ORDER.compare(first[i], second[j]) <= 0 ? first[i++] : second[j++];
+        }
+        while (i < firstCount) {
+            merged[k++] = first[i++];
+        }
+        while (j < secondCount) {
+            merged[k++] = second[j++];
+        }
+        return merged;
+    }
+}
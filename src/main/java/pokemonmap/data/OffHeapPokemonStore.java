@@ -0,0 +1,560 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Almacén de Pokémon fuera del heap: los registros se guardan en bloques
+ *              de memoria directa y en el heap solo queda un índice compacto de nombres.
+ */
+package pokemonmap.data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map de Pokémon cuyos registros viven fuera del heap, en bloques de
+ * {@link ByteBuffer#allocateDirect(int) memoria directa}. En el heap solo quedan los
+ * bloques en sí y un índice de direcciones abiertas que asocia el hash de cada nombre
+ * con la posición de su registro (unos 17 bytes por Pokémon), por lo que el tamaño del
+ * heap y las pausas del recolector no dependen del número de registros.
+ * <p>
+ * Cada consulta decodifica el registro en un Pokémon nuevo. Los registros se agregan
+ * al final del último bloque; reemplazar o eliminar un Pokémon marca su registro
+ * anterior como inactivo. Cuando los registros inactivos ocupan más de la mitad de la
+ * memoria reservada, los activos se copian a bloques nuevos y los viejos se liberan.
+ * Los recorridos siguen el orden de los bloques, que es el orden de inserción (un
+ * Pokémon reemplazado pasa al final). No es seguro para varios hilos, igual que HashMap.
+ * <p>
+ * Formato de un registro: estado (1 byte), longitud total (int), número de Pokédex
+ * (int), altura y peso (double), generación (int) y los textos name, type1, type2,
+ * classification, abilities y legendaryStatus, cada uno como longitud (short sin
+ * signo, 0xFFFF para null) seguida de sus bytes en UTF-8.
+ */
+public class OffHeapPokemonStore extends AbstractMap<String, Pokemon> implements PokemonStore {
+    /** Tamaño de cada bloque de memoria directa. */
+    static final int SLAB_SIZE = 16 << 20;
+    private static final int INITIAL_TABLE_SIZE = 1024;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final long EMPTY = -1;
+    private static final byte LIVE = 1;
+    private static final byte DEAD = 0;
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_TEXT_LENGTH = NULL_LENGTH - 1;
+    // estado + longitud + pokedex + altura + peso + generación
+    private static final int FIXED_SIZE = 1 + 4 + 4 + 8 + 8 + 4;
+    private static final int TEXT_FIELDS = 6;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private long[] offsets = newTable(INITIAL_TABLE_SIZE);
+    private int[] hashes = new int[INITIAL_TABLE_SIZE];
+    private int size;
+    private long deadBytes;
+    private EntrySet entrySet;
+
+    @Override
+    public Pokemon put(String name, Pokemon pokemon) {
+        int hash = hash(name);
+        byte[] nameBytes = encode(name);
+        int slot = find(nameBytes, hash);
+
+        Pokemon previous = null;
+        if (offsets[slot] != EMPTY) {
+            previous = decode(offsets[slot]);
+            markDead(offsets[slot]);
+        } else {
+            if (size + 1 > offsets.length * LOAD_FACTOR) {
+                resize();
+                slot = find(nameBytes, hash);
+            }
+            size++;
+        }
+        offsets[slot] = append(nameBytes, pokemon);
+        hashes[slot] = hash;
+        compactIfNeeded();
+        return previous;
+    }
+
+    @Override
+    public Pokemon get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        long offset = offsets[find(encode(name), hash(name))];
+        return offset == EMPTY ? null : decode(offset);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        String name = (String) key;
+        return offsets[find(encode(name), hash(name))] != EMPTY;
+    }
+
+    @Override
+    public Pokemon remove(Object key) {
+        Pokemon previous = delete(key);
+        compactIfNeeded();
+        return previous;
+    }
+
+    /**
+     * Elimina un Pokémon sin compactar los bloques, de modo que las posiciones de los
+     * demás registros siguen siendo válidas.
+     */
+    private Pokemon delete(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String name = (String) key;
+        int slot = find(encode(name), hash(name));
+        long offset = offsets[slot];
+        if (offset == EMPTY) {
+            return null;
+        }
+        Pokemon previous = decode(offset);
+        markDead(offset);
+        removeSlot(slot);
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        // Los bloques se liberan cuando el recolector descarta los ByteBuffer
+        slabs.clear();
+        offsets = newTable(INITIAL_TABLE_SIZE);
+        hashes = new int[INITIAL_TABLE_SIZE];
+        size = 0;
+        deadBytes = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Pokemon>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public List<Pokemon> findByAbility(String ability) {
+        // Solo se decodifica la columna de habilidades; el registro completo, si coincide
+        String query = ability.toLowerCase();
+        List<Pokemon> result = new ArrayList<>();
+        for (long offset = firstLive(0); offset != EMPTY; offset = firstLive(next(offset))) {
+            String abilities = readText(offset, 4);
+            if (abilities.toLowerCase().contains(query)) {
+                result.add(decode(offset));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<List<Pokemon>> findByAbilities(List<String> patterns) {
+        AbilityMatcher matcher = new AbilityMatcher(patterns);
+        List<List<Pokemon>> result = new ArrayList<>(patterns.size());
+        for (int p = 0; p < patterns.size(); p++) {
+            result.add(new ArrayList<>());
+        }
+        BitSet found = new BitSet(patterns.size());
+        for (long offset = firstLive(0); offset != EMPTY; offset = firstLive(next(offset))) {
+            found.clear();
+            matcher.match(readText(offset, 4), found);
+            if (!found.isEmpty()) {
+                Pokemon pokemon = decode(offset);
+                for (int p = found.nextSetBit(0); p >= 0; p = found.nextSetBit(p + 1)) {
+                    result.get(p).add(pokemon);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Pokemon> sortedByType1() {
+        List<Pokemon> result = new ArrayList<>(size);
+        for (long offset = firstLive(0); offset != EMPTY; offset = firstLive(next(offset))) {
+            result.add(decode(offset));
+        }
+        result.sort(Pokemon.BY_TYPE1);
+        return result;
+    }
+
+    /**
+     * Obtiene la memoria directa reservada por los bloques.
+     *
+     * @return Bytes reservados fuera del heap
+     */
+    public long getOffHeapBytes() {
+        return (long) slabs.size() * SLAB_SIZE;
+    }
+
+    /**
+     * Obtiene los bytes ocupados por registros reemplazados o eliminados.
+     *
+     * @return Bytes de registros inactivos
+     */
+    public long getDeadBytes() {
+        return deadBytes;
+    }
+
+    /**
+     * Copia los registros activos a bloques nuevos, en el mismo orden, si los inactivos
+     * ocupan más de la mitad de la memoria reservada. El costo de la copia es menor que
+     * los bytes inactivos acumulados desde la anterior, así que se reparte entre los
+     * reemplazos y eliminaciones que la provocaron.
+     */
+    private void compactIfNeeded() {
+        if (deadBytes <= getOffHeapBytes() / 2) {
+            return;
+        }
+        List<ByteBuffer> compacted = new ArrayList<>();
+        ByteBuffer target = null;
+        int mask = offsets.length - 1;
+        // El índice se actualiza al final: una posición nueva podría coincidir con la
+        // posición anterior de otro registro y confundir la búsqueda
+        int[] slots = new int[size];
+        long[] moved = new long[size];
+        int count = 0;
+        for (long offset = firstLive(0); offset != EMPTY; offset = firstLive(next(offset))) {
+            ByteBuffer source = slab(offset).duplicate();
+            int position = position(offset);
+            int length = source.getInt(position + 1);
+            if (target == null || target.remaining() < length) {
+                target = ByteBuffer.allocateDirect(SLAB_SIZE);
+                compacted.add(target);
+            }
+            moved[count] = ((long) (compacted.size() - 1) << 32) | target.position();
+            source.limit(position + length).position(position);
+            target.put(source);
+
+            int slot = hash(readText(offset, 0)) & mask;
+            while (offsets[slot] != offset) {
+                slot = (slot + 1) & mask;
+            }
+            slots[count++] = slot;
+        }
+        for (int i = 0; i < count; i++) {
+            offsets[slots[i]] = moved[i];
+        }
+        // Los bloques anteriores se liberan cuando el recolector descarta los ByteBuffer
+        slabs.clear();
+        slabs.addAll(compacted);
+        deadBytes = 0;
+    }
+
+    /**
+     * Busca la posición del índice que corresponde a un nombre: la que lo contiene o,
+     * si no existe, la posición vacía donde debería insertarse.
+     */
+    private int find(byte[] nameBytes, int hash) {
+        int mask = offsets.length - 1;
+        int slot = hash & mask;
+        while (offsets[slot] != EMPTY) {
+            if (hashes[slot] == hash && nameEquals(offsets[slot], nameBytes)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Vacía una posición del índice desplazando hacia atrás las entradas siguientes
+     * de la misma secuencia de sondeo, sin dejar marcas de borrado.
+     */
+    private void removeSlot(int slot) {
+        int mask = offsets.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (offsets[next] != EMPTY) {
+            int home = hashes[next] & mask;
+            // La entrada puede ocupar el hueco si su posición ideal no está entre el hueco y ella
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                offsets[hole] = offsets[next];
+                hashes[hole] = hashes[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        offsets[hole] = EMPTY;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldOffsets = offsets;
+        int[] oldHashes = hashes;
+        offsets = newTable(oldOffsets.length * 2);
+        hashes = new int[oldOffsets.length * 2];
+        int mask = offsets.length - 1;
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] != EMPTY) {
+                int slot = oldHashes[i] & mask;
+                while (offsets[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                offsets[slot] = oldOffsets[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Escribe un registro al final del último bloque y devuelve su posición.
+     */
+    private long append(byte[] nameBytes, Pokemon pokemon) {
+        byte[][] texts = {
+            nameBytes,
+            encode(pokemon.getType1()),
+            encode(pokemon.getType2()),
+            encode(pokemon.getClassification()),
+            encode(pokemon.getAbilities()),
+            encode(pokemon.getLegendaryStatus())
+        };
+        int length = FIXED_SIZE + TEXT_FIELDS * 2;
+        for (byte[] text : texts) {
+            if (text != null) {
+                if (text.length > MAX_TEXT_LENGTH) {
+                    throw new IllegalArgumentException("Texto demasiado largo en el Pokémon " + pokemon.getName());
+                }
+                length += text.length;
+            }
+        }
+
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < length) {
+            slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+            slabs.add(slab);
+        }
+        long offset = ((long) (slabs.size() - 1) << 32) | slab.position();
+
+        slab.put(LIVE);
+        slab.putInt(length);
+        slab.putInt(pokemon.getPokedexNumber());
+        slab.putDouble(pokemon.getHeight());
+        slab.putDouble(pokemon.getWeight());
+        slab.putInt(pokemon.getGeneration());
+        for (byte[] text : texts) {
+            if (text == null) {
+                slab.putShort((short) NULL_LENGTH);
+            } else {
+                slab.putShort((short) text.length);
+                slab.put(text);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Decodifica el registro de una posición en un Pokémon nuevo.
+     */
+    private Pokemon decode(long offset) {
+        ByteBuffer slab = slab(offset);
+        int position = position(offset);
+        int textPosition = position + FIXED_SIZE;
+        String[] texts = new String[TEXT_FIELDS];
+        for (int i = 0; i < TEXT_FIELDS; i++) {
+            int length = slab.getShort(textPosition) & 0xFFFF;
+            textPosition += 2;
+            if (length != NULL_LENGTH) {
+                texts[i] = readString(slab, textPosition, length);
+                textPosition += length;
+            }
+        }
+        return new Pokemon(
+            texts[0],
+            slab.getInt(position + 5),
+            texts[1],
+            texts[2],
+            texts[3],
+            slab.getDouble(position + 9),
+            slab.getDouble(position + 17),
+            texts[4],
+            slab.getInt(position + 25),
+            texts[5]
+        );
+    }
+
+    /**
+     * Lee uno de los textos de un registro sin decodificar los demás.
+     */
+    private String readText(long offset, int field) {
+        ByteBuffer slab = slab(offset);
+        int textPosition = position(offset) + FIXED_SIZE;
+        for (int i = 0; ; i++) {
+            int length = slab.getShort(textPosition) & 0xFFFF;
+            textPosition += 2;
+            if (i == field) {
+                return length == NULL_LENGTH ? null : readString(slab, textPosition, length);
+            }
+            if (length != NULL_LENGTH) {
+                textPosition += length;
+            }
+        }
+    }
+
+    /**
+     * Compara el nombre de un registro con los bytes de un nombre, sin decodificarlo.
+     */
+    private boolean nameEquals(long offset, byte[] nameBytes) {
+        ByteBuffer slab = slab(offset);
+        int textPosition = position(offset) + FIXED_SIZE;
+        int length = slab.getShort(textPosition) & 0xFFFF;
+        if (nameBytes == null || length == NULL_LENGTH) {
+            return nameBytes == null && length == NULL_LENGTH;
+        }
+        if (length != nameBytes.length) {
+            return false;
+        }
+        textPosition += 2;
+        for (int i = 0; i < length; i++) {
+            if (slab.get(textPosition + i) != nameBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markDead(long offset) {
+        ByteBuffer slab = slab(offset);
+        int position = position(offset);
+        slab.put(position, DEAD);
+        deadBytes += slab.getInt(position + 1);
+    }
+
+    /**
+     * Obtiene la posición del primer registro activo a partir de una posición dada,
+     * o EMPTY si no quedan registros.
+     */
+    private long firstLive(long offset) {
+        int slabIndex = (int) (offset >>> 32);
+        int position = position(offset);
+        while (slabIndex < slabs.size()) {
+            ByteBuffer slab = slabs.get(slabIndex);
+            int end = slabIndex == slabs.size() - 1 ? slab.position() : SLAB_SIZE;
+            while (position + 5 <= end) {
+                int length = slab.getInt(position + 1);
+                if (length == 0) {
+                    // Espacio sin usar al final del bloque
+                    break;
+                }
+                if (slab.get(position) == LIVE) {
+                    return ((long) slabIndex << 32) | position;
+                }
+                position += length;
+            }
+            slabIndex++;
+            position = 0;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Obtiene la posición inmediatamente posterior a un registro.
+     */
+    private long next(long offset) {
+        return offset + slab(offset).getInt(position(offset) + 1);
+    }
+
+    private ByteBuffer slab(long offset) {
+        return slabs.get((int) (offset >>> 32));
+    }
+
+    private static int position(long offset) {
+        return (int) offset;
+    }
+
+    private static String readString(ByteBuffer slab, int position, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = slab.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(String name) {
+        int h = name == null ? 0 : name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    /**
+     * Vista de los registros activos como entradas del Map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Pokemon>> {
+        @Override
+        public Iterator<Entry<String, Pokemon>> iterator() {
+            return new Iterator<Entry<String, Pokemon>>() {
+                private long next = firstLive(0);
+                private String current;
+                private boolean canRemove;
+
+                @Override
+                public boolean hasNext() {
+                    return next != EMPTY;
+                }
+
+                @Override
+                public Entry<String, Pokemon> next() {
+                    if (next == EMPTY) {
+                        throw new NoSuchElementException();
+                    }
+                    Pokemon pokemon = decode(next);
+                    current = pokemon.getName();
+                    canRemove = true;
+                    next = firstLive(OffHeapPokemonStore.this.next(next));
+                    return new SimpleImmutableEntry<>(current, pokemon);
+                }
+
+                @Override
+                public void remove() {
+                    if (!canRemove) {
+                        throw new IllegalStateException();
+                    }
+                    // Eliminar sin compactar solo marca el registro, así que la posición
+                    // siguiente sigue siendo válida
+                    delete(current);
+                    canRemove = false;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OffHeapPokemonStore.this.clear();
+        }
+    }
+}
@@ -10,12 +10,23 @@
  */
 package pokemonmap.data;
 
+import java.util.Comparator;
+import java.util.Objects;
+
 /**
  * Representa un Pokémon con todos sus atributos característicos.
  * Esta clase almacena la información básica de cada Pokémon como su nombre,
  * tipo, estadísticas, habilidades y clasificación.
  */
 public class Pokemon {
+    /**
+     * Comparador por tipo primario. Como los tipos se canonicalizan al cargar los datos,
+     * dos Pokémon del mismo tipo suelen compartir la misma instancia y la comparación
+     * termina sin recorrer los caracteres.
+     */
+    public static final Comparator<Pokemon> BY_TYPE1 = (p1, p2) ->
+            p1.getType1() == p2.getType1() ? 0 : p1.getType1().compareTo(p2.getType1());
+
     private String name;
     private int pokedexNumber;
     private String type1;
@@ -146,6 +157,53 @@ public class Pokemon {
         return legendaryStatus;
     }
 
+    /**
+     * Indica si el Pokémon es legendario.
+     * 
+     * @return true si el estado legendario es "Yes"
+     */
+    public boolean isLegendary() {
+        return "Yes".equalsIgnoreCase(legendaryStatus);
+    }
+
+    /**
+     * Compara este Pokémon con otro objeto atributo por atributo.
+     * 
+     * @param obj Objeto a comparar
+     * @return true si el objeto es un Pokémon con los mismos atributos
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Pokemon)) {
+            return false;
+        }
+        Pokemon other = (Pokemon) obj;
+        return pokedexNumber == other.pokedexNumber
+                && generation == other.generation
+                && Double.compare(height, other.height) == 0
+                && Double.compare(weight, other.weight) == 0
+                && Objects.equals(name, other.name)
+                && Objects.equals(type1, other.type1)
+                && Objects.equals(type2, other.type2)
+                && Objects.equals(classification, other.classification)
+                && Objects.equals(abilities, other.abilities)
+                && Objects.equals(legendaryStatus, other.legendaryStatus);
+    }
+
+    /**
+     * Calcula el código hash a partir de todos los atributos del Pokémon.
+     * 
+     * @return El código hash del Pokémon
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, pokedexNumber, type1, type2, classification,
+                height, weight, abilities, generation, legendaryStatus);
+    }
+
     /**
      * Genera una representación en forma de texto con todos los atributos del Pokémon.
      * 
@@ -7,23 +7,38 @@
  * Fecha: 12/03/2025
  * Descripción: Clase que gestiona la colección personal de Pokémon del usuario.
  *              Utiliza HashSet para almacenar los nombres de los Pokémon del usuario
- *              y proporciona métodos para manipular esta colección.
+ *              y proporciona métodos para manipular esta colección desde varios hilos.
  */
 package pokemonmap.data;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * Gestiona la colección personal de Pokémon del usuario.
  * Almacena referencias a los Pokémon que el usuario ha decidido
  * agregar a su colección personal.
+ * <p>
+ * Se puede usar desde varios hilos. Cada colección tiene su propio candado: las
+ * consultas toman el de lectura y los cambios el de escritura, así que verificar y
+ * agregar un Pokémon es una sola operación y dos hilos no pueden agregar el mismo.
+ * Colecciones de usuarios distintos no compiten entre sí; ver
+ * {@link PokemonCollectionManager}.
  */
 public class PokemonCollection {
-    private Set<String> userPokemons;
+    // Los cuatro campos siguientes solo se leen con el candado y solo cambian con el de escritura
+    private final Set<String> userPokemons;
     private PokemonData allPokemonData;
+    // Nombres de la colección agrupados por tipo primario, para listarlos sin ordenar
+    private final TypeBuckets typeBuckets;
+    // Versión de la colección principal con la que se agruparon los tipos
+    private long bucketsVersion;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     /**
      * Constructor que inicializa la colección del usuario.
@@ -37,6 +52,8 @@ public class PokemonCollection {
         // 2. No permitimos duplicados, que es un requisito del problema
         // 3. No necesitamos mantener un orden específico para esta colección
         this.userPokemons = new HashSet<>();
+        this.typeBuckets = new TypeBuckets(false);
+        this.bucketsVersion = allPokemonData.getVersion();
     }
 
     /**
@@ -47,28 +64,112 @@ public class PokemonCollection {
      *         si no existe en la colección principal
      */
     public boolean addPokemon(String name) {
-        if (!allPokemonData.containsPokemon(name)) {
-            return false; // El Pokémon no existe en los datos
+        lock.writeLock().lock();
+        try {
+            return addUnlocked(name);
+        } finally {
+            lock.writeLock().unlock();
         }
-        
-        if (userPokemons.contains(name)) {
-            return false; // El Pokémon ya está en la colección del usuario
+    }
+
+    /**
+     * Agrega varios Pokémon a la colección del usuario en una sola operación: otro hilo
+     * ve la colección antes o después de agregarlos todos.
+     * 
+     * @param names Nombres de los Pokémon a agregar
+     * @return Nombres que se agregaron, en el orden recibido; se omiten los que ya
+     *         estaban en la colección y los que no existen en la colección principal
+     */
+    public List<String> addPokemons(Collection<String> names) {
+        List<String> added = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (String name : names) {
+                if (addUnlocked(name)) {
+                    added.add(name);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return added;
+    }
+
+    /**
+     * Quita un Pokémon de la colección del usuario.
+     * 
+     * @param name Nombre del Pokémon a quitar
+     * @return true si estaba en la colección, false en caso contrario
+     */
+    public boolean removePokemon(String name) {
+        lock.writeLock().lock();
+        try {
+            if (!userPokemons.remove(name)) {
+                return false;
+            }
+            typeBuckets.remove(name);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cambia la colección principal por una nueva versión de los datos, por ejemplo
+     * después de recargar el archivo CSV. Los Pokémon del usuario que ya no existen
+     * en la nueva versión se eliminan de su colección.
+     * 
+     * @param newPokemonData Nueva versión de la colección principal
+     * @return Nombres de los Pokémon que se eliminaron de la colección del usuario
+     */
+    public List<String> rebind(PokemonData newPokemonData) {
+        lock.writeLock().lock();
+        try {
+            if (newPokemonData == allPokemonData) {
+                return new ArrayList<>();
+            }
+            List<String> removed = new ArrayList<>();
+            for (String name : userPokemons) {
+                if (!newPokemonData.containsPokemon(name)) {
+                    removed.add(name);
+                }
+            }
+            
+            userPokemons.removeAll(removed);
+            allPokemonData = newPokemonData;
+            
+            // Los tipos pueden haber cambiado en la nueva versión
+            typeBuckets.clear();
+            refreshTypes();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
         }
-        
-        userPokemons.add(name);
-        return true;
     }
 
     /**
      * Obtiene todos los Pokémon de la colección del usuario ordenados por tipo primario.
+     * Si la colección principal cambió desde la última agrupación, por ejemplo porque
+     * se reemplazó un Pokémon con otro tipo, primero vuelve a agrupar los tipos.
      * 
      * @return Lista de Pokémon ordenados por tipo primario
      */
     public List<Pokemon> getUserPokemonsSortedByType1() {
-        return userPokemons.stream()
-                .map(name -> allPokemonData.getPokemon(name))
-                .sorted((p1, p2) -> p1.getType1().compareTo(p2.getType1()))
-                .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            if (bucketsVersion == allPokemonData.getVersion()) {
+                return sortedUnlocked();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            refreshTypes();
+            return sortedUnlocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -78,7 +179,12 @@ public class PokemonCollection {
      * @return true si el Pokémon está en la colección, false en caso contrario
      */
     public boolean containsPokemon(String name) {
-        return userPokemons.contains(name);
+        lock.readLock().lock();
+        try {
+            return userPokemons.contains(name);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -87,6 +193,51 @@ public class PokemonCollection {
      * @return Cantidad de Pokémon en la colección
      */
     public int size() {
-        return userPokemons.size();
+        lock.readLock().lock();
+        try {
+            return userPokemons.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lista los Pokémon de los grupos con sus valores actuales. Se llama con el candado.
+     */
+    private List<Pokemon> sortedUnlocked() {
+        return typeBuckets.namesSortedByType1().stream()
+                .map(name -> allPokemonData.getPokemon(name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Vuelve a leer el tipo de cada Pokémon de la colección en la colección principal.
+     * Los que conservan su tipo conservan su posición. Se llama con el candado de
+     * escritura.
+     */
+    private void refreshTypes() {
+        // La versión se lee antes que los tipos: si cambia mientras tanto, la próxima
+        // consulta vuelve a agrupar
+        long current = allPokemonData.getVersion();
+        for (String name : userPokemons) {
+            typeBuckets.add(allPokemonData.getPokemon(name));
+        }
+        bucketsVersion = current;
+    }
+
+    /**
+     * Verifica y agrega un Pokémon. Se llama con el candado de escritura.
+     */
+    private boolean addUnlocked(String name) {
+        if (!allPokemonData.containsPokemon(name)) {
+            return false; // El Pokémon no existe en los datos
+        }
+        
+        if (!userPokemons.add(name)) {
+            return false; // El Pokémon ya está en la colección del usuario
+        }
+        
+        typeBuckets.add(allPokemonData.getPokemon(name));
+        return true;
     }
 }
\ No newline at end of file
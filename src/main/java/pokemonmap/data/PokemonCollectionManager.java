@@ -0,0 +1,189 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Colecciones personales de muchos usuarios sobre una misma colección
+ *              principal de Pokémon, que se pueden usar desde varios hilos.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Gestiona la colección personal de cada usuario, identificado por un id, sobre una
+ * colección principal compartida. Las colecciones se guardan en un ConcurrentHashMap y
+ * se crean la primera vez que se agrega un Pokémon; cada una tiene su propio candado,
+ * así que los usuarios no compiten entre sí y agregar un Pokémon a un usuario es
+ * atómico aunque varios hilos lo intenten a la vez.
+ * <p>
+ * Las inserciones se hacen dentro de {@code compute} sobre la entrada del usuario, así
+ * que no pueden caer en una colección que {@link #removeUser(String)} acaba de quitar.
+ * Las operaciones que crean colecciones toman el candado de lectura del gestor y
+ * {@link #rebind(PokemonData)} el de escritura, de modo que ninguna colección se crea
+ * con la versión anterior mientras se revalidan las demás.
+ */
+public class PokemonCollectionManager {
+    private final Map<String, PokemonCollection> collections = new ConcurrentHashMap<>();
+    // Solo cambia con el candado de escritura
+    private PokemonData pokemonData;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor que inicializa el gestor sin usuarios.
+     *
+     * @param pokemonData Colección principal compartida por todos los usuarios
+     */
+    public PokemonCollectionManager(PokemonData pokemonData) {
+        this.pokemonData = pokemonData;
+    }
+
+    /**
+     * Obtiene la colección de un usuario, y la crea vacía si no existe. Si otro hilo
+     * elimina al usuario después, los cambios hechos directamente sobre la colección
+     * devuelta ya no llegan al gestor; para agregar Pokémon conviene usar
+     * {@link #addPokemon(String, String)}.
+     *
+     * @param userId Id del usuario
+     * @return La colección del usuario
+     */
+    public PokemonCollection getCollection(String userId) {
+        lock.readLock().lock();
+        try {
+            return collections.computeIfAbsent(userId, id -> new PokemonCollection(pokemonData));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un Pokémon a la colección de un usuario.
+     *
+     * @param userId Id del usuario
+     * @param name Nombre del Pokémon a agregar
+     * @return true si se agregó, false si el usuario ya lo tenía o si no existe en la
+     *         colección principal
+     */
+    public boolean addPokemon(String userId, String name) {
+        return update(userId, collection -> collection.addPokemon(name));
+    }
+
+    /**
+     * Agrega varios Pokémon a la colección de un usuario en una sola operación.
+     *
+     * @param userId Id del usuario
+     * @param names Nombres de los Pokémon a agregar
+     * @return Nombres que se agregaron, en el orden recibido
+     */
+    public List<String> addPokemons(String userId, Collection<String> names) {
+        return update(userId, collection -> collection.addPokemons(names));
+    }
+
+    /**
+     * Quita un Pokémon de la colección de un usuario.
+     *
+     * @param userId Id del usuario
+     * @param name Nombre del Pokémon a quitar
+     * @return true si el usuario lo tenía, false en caso contrario
+     */
+    public boolean removePokemon(String userId, String name) {
+        PokemonCollection collection = collections.get(userId);
+        return collection != null && collection.removePokemon(name);
+    }
+
+    /**
+     * Verifica si un Pokémon está en la colección de un usuario, sin crearla.
+     *
+     * @param userId Id del usuario
+     * @param name Nombre del Pokémon a verificar
+     * @return true si el usuario lo tiene, false en caso contrario
+     */
+    public boolean containsPokemon(String userId, String name) {
+        PokemonCollection collection = collections.get(userId);
+        return collection != null && collection.containsPokemon(name);
+    }
+
+    /**
+     * Obtiene los Pokémon de un usuario ordenados por tipo primario, sin crear su colección.
+     *
+     * @param userId Id del usuario
+     * @return Lista de Pokémon ordenados por tipo primario; vacía si el usuario no tiene colección
+     */
+    public List<Pokemon> getUserPokemonsSortedByType1(String userId) {
+        PokemonCollection collection = collections.get(userId);
+        return collection == null ? Collections.emptyList() : collection.getUserPokemonsSortedByType1();
+    }
+
+    /**
+     * Elimina la colección de un usuario.
+     *
+     * @param userId Id del usuario
+     * @return true si el usuario tenía colección, false en caso contrario
+     */
+    public boolean removeUser(String userId) {
+        return collections.remove(userId) != null;
+    }
+
+    /**
+     * Obtiene el número de usuarios con colección.
+     *
+     * @return Cantidad de usuarios
+     */
+    public int userCount() {
+        return collections.size();
+    }
+
+    /**
+     * Cambia la colección principal por una nueva versión, por ejemplo después de
+     * recargar el archivo CSV, y revalida la colección de cada usuario.
+     *
+     * @param newPokemonData Nueva versión de la colección principal
+     * @return Pokémon eliminados de cada usuario, solo de los usuarios que perdieron alguno
+     */
+    public Map<String, List<String>> rebind(PokemonData newPokemonData) {
+        lock.writeLock().lock();
+        try {
+            pokemonData = newPokemonData;
+            Map<String, List<String>> removed = new LinkedHashMap<>();
+            for (Map.Entry<String, PokemonCollection> entry : collections.entrySet()) {
+                List<String> names = entry.getValue().rebind(newPokemonData);
+                if (!names.isEmpty()) {
+                    removed.put(entry.getKey(), names);
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica un cambio a la colección de un usuario, y la crea si no existe, mientras
+     * se tiene su entrada en el Map: un {@link #removeUser(String)} simultáneo espera a
+     * que termine el cambio o se ejecuta antes y el cambio va a una colección nueva.
+     */
+    private <T> T update(String userId, Function<PokemonCollection, T> change) {
+        List<T> result = new ArrayList<>(1);
+        lock.readLock().lock();
+        try {
+            collections.compute(userId, (id, collection) -> {
+                PokemonCollection target = collection != null ? collection : new PokemonCollection(pokemonData);
+                result.add(change.apply(target));
+                return target;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result.get(0);
+    }
+}
@@ -11,20 +11,86 @@
 package pokemonmap.data;
 
 import java.util.Map;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import pokemonmap.factory.MapType;
 import pokemonmap.factory.MapFactory;
 
 /**
  * Gestiona la colección principal de todos los Pokémon disponibles en el sistema.
  * Utiliza el patrón Factory para crear diferentes implementaciones de Map según
- * se requiera (HashMap, TreeMap, LinkedHashMap).
+ * se requiera (HashMap, TreeMap, LinkedHashMap o los almacenes por columnas y fuera del heap).
+ * Los resultados de las búsquedas que devuelven listas se guardan en un {@link QueryCache}
+ * que se invalida al agregar Pokémon; por eso esas listas no se pueden modificar. Con
+ * OFF_HEAP y COLUMNAR no se guardan: cada Pokémon de un resultado se reconstruye en el
+ * heap, y guardarlo dejaría en el heap los datos que el almacén mantiene fuera.
+ * <p>
+ * Se puede consultar desde varios hilos mientras otro agrega Pokémon. Las búsquedas
+ * que combinan el Map con los índices toman un candado de lectura y las inserciones
+ * uno de escritura, así que cada búsqueda ve la colección antes o después de cada
+ * inserción completa, nunca a medias. Con CONCURRENT_HASH_MAP y
+ * CONCURRENT_SKIP_LIST_MAP las búsquedas por nombre no toman el candado. Con
+ * FROZEN_PERFECT_HASH el Map se congela en {@link #completeLoad()}; desde entonces
+ * las búsquedas por nombre tampoco toman el candado y no se admiten más Pokémon.
+ * <p>
+ * Para recorrer la colección completa, {@link #snapshot()} entrega una versión
+ * inmutable que no cambia con las inserciones posteriores. Cada inserción publica una
+ * versión nueva que comparte las filas de los índices con la anterior, sin copiarlas,
+ * así que leerla nunca toma el candado ni copia la colección, tampoco durante una carga
+ * masiva. Las versiones siguen el orden de los índices: por nombre con TREE_MAP y
+ * CONCURRENT_SKIP_LIST_MAP y de inserción con los demás Map. Con OFF_HEAP y COLUMNAR no
+ * hay índices ni versiones publicadas, porque tendrían un objeto Pokémon en el heap por
+ * cada registro: {@link #getAllPokemons()} es una vista del almacén que reconstruye
+ * cada Pokémon al recorrerla, y {@link #snapshot()} copia el almacén en cada llamada.
  */
 public class PokemonData {
+    // Ediciones permitidas por defecto en la búsqueda de nombres parecidos
+    private static final int DEFAULT_FUZZY_DISTANCE = 2;
+    // Con menos Pokémon, repartir un recorrido entre varios hilos cuesta más de lo que ahorra
+    private static final int PARALLEL_THRESHOLD = 50_000;
+
     private Map<String, Pokemon> allPokemons;
     private MapType mapType;
+    private final StringPool stringPool = new StringPool();
+    // Los almacenes que implementan PokemonStore resuelven sus propios recorridos y no
+    // mantienen índices en el heap
+    private final PokemonIndexes indexes;
+    // Índices de nombres para búsquedas sin distinguir mayúsculas y por parecido. Se
+    // construyen en la primera búsqueda que los usa, para que sin esas búsquedas no se
+    // guarde un String por Pokémon en el heap (con OFF_HEAP y COLUMNAR los nombres no
+    // viven en el heap). Una vez construidos, cada inserción los actualiza
+    private volatile NamePrefixIndex names;
+    private volatile TrigramIndex trigrams;
+    private final Object nameIndexLock = new Object();
+    private final QueryCache queryCache;
+    // Las inserciones se excluyen con las búsquedas que leen el Map y los índices juntos
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Con un Map concurrente las búsquedas por nombre no necesitan el candado
+    private final boolean concurrentMap;
+    // Tampoco lo necesitan con un Map congelado al terminar la carga
+    private volatile boolean frozen;
+    // Número de la versión actual; aumenta con cada inserción, con el candado de escritura
+    private volatile long version;
+    // Versión actual, publicada por cada inserción; se reemplaza completa, nunca se
+    // modifica. No se usa con los almacenes PokemonStore
+    private final AtomicReference<PokemonSnapshot> snapshot =
+            new AtomicReference<>(new PokemonSnapshot(0, Collections.emptyList()));
+    // Orden por nombre que comparten las versiones de los Map ordenados, o null
+    private final PokemonSnapshot.NameOrder nameOrder;
 
     /**
      * Constructor que inicializa la colección de Pokémon con el tipo de Map especificado.
@@ -32,17 +98,61 @@ public class PokemonData {
      * @param mapType El tipo de Map a utilizar (HASH_MAP, TREE_MAP, LINKED_HASH_MAP)
      */
     public PokemonData(MapType mapType) {
+        this(mapType, 0);
+    }
+
+    /**
+     * Constructor que inicializa la colección con espacio para un número esperado de
+     * Pokémon, para que la carga no tenga que agrandar la tabla del Map.
+     * 
+     * @param mapType El tipo de Map a utilizar
+     * @param expectedSize Número esperado de Pokémon
+     * @throws IllegalArgumentException si el tamaño esperado es negativo
+     */
+    public PokemonData(MapType mapType, int expectedSize) {
         this.mapType = mapType;
-        this.allPokemons = MapFactory.createMap(mapType);
+        this.allPokemons = MapFactory.createMap(mapType, expectedSize);
+        this.concurrentMap = allPokemons instanceof ConcurrentMap;
+        boolean nameOrdered = mapType == MapType.TREE_MAP || mapType == MapType.CONCURRENT_SKIP_LIST_MAP;
+        if (allPokemons instanceof PokemonStore) {
+            this.indexes = null;
+            // Sin capacidad, el caché solo cuenta los fallos y no retiene resultados
+            this.queryCache = new QueryCache(0, 0);
+        } else {
+            this.queryCache = new QueryCache();
+            // Los resultados de los índices imitan el orden de recorrido de los Map ordenados
+            this.indexes = new PokemonIndexes(nameOrdered);
+        }
+        this.nameOrder = indexes != null && nameOrdered ? new PokemonSnapshot.NameOrder() : null;
     }
 
     /**
      * Agrega un Pokémon a la colección principal.
      * 
      * @param pokemon El Pokémon a agregar
+     * @throws UnsupportedOperationException si el Map es FROZEN_PERFECT_HASH y la carga ya terminó
      */
     public void addPokemon(Pokemon pokemon) {
-        allPokemons.put(pokemon.getName(), pokemon);
+        lock.writeLock().lock();
+        try {
+            queryCache.invalidate();
+            if (allPokemons.put(pokemon.getName(), pokemon) == null) {
+                if (names != null) {
+                    names.add(pokemon.getName());
+                }
+                if (trigrams != null) {
+                    trigrams.add(pokemon.getName());
+                }
+            }
+            version++;
+            if (indexes != null) {
+                indexes.add(pokemon);
+                // Publicar la versión no copia: comparte las filas con la anterior
+                snapshot.set(new PokemonSnapshot(version, indexes.frozenRows(), nameOrder));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -52,7 +162,114 @@ public class PokemonData {
      * @return El Pokémon encontrado o null si no existe
      */
     public Pokemon getPokemon(String name) {
-        return allPokemons.get(name);
+        return readMap(() -> allPokemons.get(name));
+    }
+
+    /**
+     * Obtiene un Pokémon por su nombre sin distinguir mayúsculas, de modo que "pikachu"
+     * encuentra a "Pikachu". Si varios nombres solo difieren en mayúsculas, se prefiere
+     * el que coincide exactamente.
+     * 
+     * @param name El nombre del Pokémon a buscar
+     * @return El Pokémon encontrado o null si no existe
+     */
+    public Pokemon lookupIgnoreCase(String name) {
+        Pokemon pokemon = getPokemon(name);
+        if (pokemon != null) {
+            return pokemon;
+        }
+        return read(() -> {
+            String stored = names().lookupIgnoreCase(name);
+            return stored == null ? null : allPokemons.get(stored);
+        });
+    }
+
+    /**
+     * Obtiene los nombres que empiezan con un prefijo, sin distinguir mayúsculas, para
+     * sugerirlos mientras se escribe.
+     * 
+     * @param prefix El prefijo escrito
+     * @param limit Número máximo de sugerencias
+     * @return Lista de hasta limit nombres en orden alfabético
+     * @throws IllegalArgumentException si el límite es negativo
+     */
+    public List<String> completions(String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo: " + limit);
+        }
+        return read(() -> names().completions(prefix, limit));
+    }
+
+    /**
+     * Busca los Pokémon cuyo nombre se parece a uno posiblemente mal escrito, de modo
+     * que "Charizrd" o "Bulbasuar" encuentran a Charizard y a Bulbasaur. Usa una
+     * distancia máxima de {@value #DEFAULT_FUZZY_DISTANCE} ediciones.
+     * 
+     * @param name El nombre escrito
+     * @param limit Número máximo de resultados
+     * @return Lista de hasta limit Pokémon, del nombre más parecido al menos parecido
+     * @see #fuzzyLookup(String, int, int)
+     */
+    public List<Pokemon> fuzzyLookup(String name, int limit) {
+        return fuzzyLookup(name, DEFAULT_FUZZY_DISTANCE, limit);
+    }
+
+    /**
+     * Busca los Pokémon cuyo nombre está a una distancia de edición acotada de uno
+     * dado, sin distinguir mayúsculas. Cambiar, insertar o borrar una letra, o
+     * intercambiar dos letras vecinas, cuenta como una edición. Los candidatos salen de
+     * un índice de trigramas, así que el costo no depende del total de nombres; para
+     * nombres muy cortos la distancia se reduce hasta la que el índice puede garantizar.
+     * 
+     * @param name El nombre escrito
+     * @param maxDistance Número máximo de ediciones
+     * @param limit Número máximo de resultados
+     * @return Lista de hasta limit Pokémon, ordenados por distancia y luego por nombre
+     * @throws IllegalArgumentException si la distancia o el límite son negativos
+     */
+    public List<Pokemon> fuzzyLookup(String name, int maxDistance, int limit) {
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("La distancia no puede ser negativa: " + maxDistance);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo: " + limit);
+        }
+        return read(() -> {
+            List<Pokemon> result = new ArrayList<>();
+            for (TrigramIndex.Match match : trigrams().similar(name, maxDistance, limit)) {
+                result.add(allPokemons.get(match.name));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Indica que terminó la carga. Ordena los nombres, alturas y pesos agregados desde
+     * la última búsqueda, para que la siguiente búsqueda responda de inmediato, y con
+     * FROZEN_PERFECT_HASH construye la función hash perfecta y congela el Map. Los
+     * lectores de CSV y de instantáneas lo llaman al terminar, fuera del hilo de la
+     * interfaz; llamarlo de nuevo sin inserciones nuevas no tiene efecto.
+     */
+    public void completeLoad() {
+        lock.writeLock().lock();
+        try {
+            if (names != null) {
+                names.build();
+            }
+            if (indexes != null) {
+                indexes.build();
+            }
+            if (allPokemons instanceof FrozenPerfectHashMap) {
+                ((FrozenPerfectHashMap) allPokemons).freeze();
+                frozen = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (nameOrder != null) {
+            // Calcula el orden por nombre de la versión final antes de la primera lectura
+            snapshot.get().getPokemons();
+        }
     }
 
     /**
@@ -62,39 +279,284 @@ public class PokemonData {
      * @return true si el Pokémon existe, false en caso contrario
      */
     public boolean containsPokemon(String name) {
-        return allPokemons.containsKey(name);
+        return readMap(() -> allPokemons.containsKey(name));
     }
 
     /**
      * Obtiene todos los Pokémon ordenados por su tipo primario.
+     * Los Pokémon ya están agrupados por tipo, así que la lista se arma con un
+     * recorrido de los grupos, sin ordenar.
      * 
      * @return Lista de Pokémon ordenados alfabéticamente por tipo primario
      */
     public List<Pokemon> getAllPokemonsSortedByType1() {
-        return allPokemons.values().stream()
-                .sorted((p1, p2) -> p1.getType1().compareTo(p2.getType1()))
-                .collect(Collectors.toList());
+        return read(() -> queryCache.get("type1", () -> indexes != null
+                ? indexes.sortedByType1()
+                : ((PokemonStore) allPokemons).sortedByType1()));
     }
 
     /**
-     * Obtiene todos los Pokémon sin aplicar ordenamiento.
+     * Obtiene todos los Pokémon sin aplicar ordenamiento: por nombre con TREE_MAP y
+     * CONCURRENT_SKIP_LIST_MAP y en orden de inserción con los demás Map del heap. Es
+     * la lista de {@link #snapshot()}: no se puede modificar y se puede recorrer
+     * mientras otro hilo agrega Pokémon. Con OFF_HEAP y COLUMNAR es una vista del
+     * almacén, en su orden, que reconstruye cada Pokémon al recorrerla sin guardarlo;
+     * para recorrerla mientras otro hilo agrega Pokémon hay que usar {@link #snapshot()}.
      * 
      * @return Colección de todos los Pokémon disponibles
      */
     public Collection<Pokemon> getAllPokemons() {
-        return allPokemons.values();
+        if (indexes == null) {
+            return Collections.unmodifiableCollection(allPokemons.values());
+        }
+        return snapshot.get().getPokemons();
+    }
+
+    /**
+     * Obtiene la versión actual de la colección, que cada inserción ya publicó, sin
+     * tomar el candado ni copiar. Con OFF_HEAP y COLUMNAR no hay versiones publicadas:
+     * cada llamada copia el almacén con el candado de lectura y la copia no se guarda.
+     * Quien guarda la versión la sigue viendo igual aunque la colección cambie.
+     * 
+     * @return Versión inmutable de la colección
+     */
+    public PokemonSnapshot snapshot() {
+        if (indexes != null) {
+            return snapshot.get();
+        }
+        return read(() -> new PokemonSnapshot(version, allPokemons.values()));
     }
 
     /**
      * Busca Pokémon que tengan una habilidad específica.
+     * La búsqueda es por subcadena y no distingue mayúsculas, igual que
+     * {@link Pokemon#hasAbility(String)}.
      * 
      * @param ability La habilidad a buscar
      * @return Lista de Pokémon que tienen la habilidad especificada
      */
     public List<Pokemon> getPokemonsByAbility(String ability) {
-        return allPokemons.values().stream()
-                .filter(pokemon -> pokemon.hasAbility(ability))
-                .collect(Collectors.toList());
+        return getPokemonsByAbility(ability, true);
+    }
+
+    /**
+     * Busca Pokémon por habilidad usando el índice invertido de habilidades.
+     * Con coincidencia exacta solo se devuelven los Pokémon que tienen una habilidad
+     * con ese nombre (sin distinguir mayúsculas), de modo que "Static" no coincide
+     * con "Static-shield" por ejemplo.
+     * 
+     * @param ability La habilidad a buscar
+     * @param substringMatch true para buscar por subcadena, false para habilidad exacta
+     * @return Lista de Pokémon que cumplen la búsqueda
+     */
+    public List<Pokemon> getPokemonsByAbility(String ability, boolean substringMatch) {
+        if (substringMatch) {
+            return read(() -> queryCache.get(abilityKey(ability), () -> indexes != null
+                    ? indexes.findByAbility(ability, true)
+                    : ((PokemonStore) allPokemons).findByAbility(ability)));
+        }
+        String token = ability.trim().toLowerCase();
+        return read(() -> queryCache.get("ability=" + token, () -> indexes != null
+                ? indexes.findByAbility(ability, false)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> AbilityIndex.tokens(pokemon.getAbilities()).contains(token))
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Busca varias habilidades a la vez, por subcadena y sin distinguir mayúsculas como
+     * {@link #getPokemonsByAbility(String)}, pero con una sola pasada en lugar de una por
+     * habilidad: un autómata de Aho-Corasick reconoce todos los textos juntos. Las
+     * habilidades que ya están en el caché no se vuelven a buscar.
+     * 
+     * @param abilities Las habilidades a buscar
+     * @return Para cada habilidad distinta, en el orden recibido, la lista de Pokémon que la tienen
+     */
+    public Map<String, List<Pokemon>> getPokemonsByAbilities(List<String> abilities) {
+        return read(() -> findByAbilities(abilities));
+    }
+
+    /**
+     * Busca varias habilidades, tomando del caché las que ya están.
+     */
+    private Map<String, List<Pokemon>> findByAbilities(List<String> abilities) {
+        Map<String, List<Pokemon>> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String ability : new LinkedHashSet<>(abilities)) {
+            List<Pokemon> cached = queryCache.lookup(abilityKey(ability));
+            result.put(ability, cached);
+            if (cached == null) {
+                missing.add(ability);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        
+        long started = queryCache.generation();
+        List<List<Pokemon>> matches = indexes != null
+                ? indexes.findByAbilities(missing)
+                : ((PokemonStore) allPokemons).findByAbilities(missing);
+        for (int i = 0; i < missing.size(); i++) {
+            List<Pokemon> found = Collections.unmodifiableList(matches.get(i));
+            queryCache.store(abilityKey(missing.get(i)), started, found);
+            result.put(missing.get(i), found);
+        }
+        return result;
+    }
+
+    /**
+     * Busca los Pokémon con un número de Pokédex específico.
+     * 
+     * @param pokedexNumber El número de Pokédex a buscar
+     * @return Lista de Pokémon con ese número (normalmente uno o ninguno)
+     */
+    public List<Pokemon> getPokemonsByPokedexNumber(int pokedexNumber) {
+        return read(() -> queryCache.get("pokedex:" + pokedexNumber, () -> indexes != null
+                ? indexes.findByPokedexNumber(pokedexNumber)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> pokemon.getPokedexNumber() == pokedexNumber)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Busca los Pokémon cuyo número de Pokédex está dentro de un rango.
+     * 
+     * @param from Número inicial del rango, incluido
+     * @param to Número final del rango, incluido
+     * @return Lista de Pokémon ordenados por número de Pokédex
+     */
+    public List<Pokemon> getPokemonsByPokedexRange(int from, int to) {
+        return read(() -> queryCache.get("pokedex:" + from + ".." + to, () -> indexes != null
+                ? indexes.findByPokedexRange(from, to)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> pokemon.getPokedexNumber() >= from && pokemon.getPokedexNumber() <= to)
+                        .sorted(Comparator.comparingInt(Pokemon::getPokedexNumber))
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Busca los Pokémon cuya altura está dentro de un rango.
+     * 
+     * @param min Altura mínima en metros, incluida
+     * @param max Altura máxima en metros, incluida
+     * @return Lista de Pokémon ordenados por altura
+     */
+    public List<Pokemon> getPokemonsByHeightRange(double min, double max) {
+        return read(() -> queryCache.get("height:" + min + ".." + max, () -> indexes != null
+                ? indexes.findByHeightRange(min, max)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> pokemon.getHeight() >= min && pokemon.getHeight() <= max)
+                        .sorted(Comparator.comparingDouble(Pokemon::getHeight))
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Busca los Pokémon cuyo peso está dentro de un rango.
+     * 
+     * @param min Peso mínimo en kilogramos, incluido
+     * @param max Peso máximo en kilogramos, incluido
+     * @return Lista de Pokémon ordenados por peso
+     */
+    public List<Pokemon> getPokemonsByWeightRange(double min, double max) {
+        return read(() -> queryCache.get("weight:" + min + ".." + max, () -> indexes != null
+                ? indexes.findByWeightRange(min, max)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> pokemon.getWeight() >= min && pokemon.getWeight() <= max)
+                        .sorted(Comparator.comparingDouble(Pokemon::getWeight))
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Busca los Pokémon de una generación específica.
+     * 
+     * @param generation El número de generación a buscar
+     * @return Lista de Pokémon de esa generación
+     */
+    public List<Pokemon> getPokemonsByGeneration(int generation) {
+        return read(() -> queryCache.get("generation:" + generation, () -> indexes != null
+                ? indexes.findByGeneration(generation)
+                : allPokemons.values().stream()
+                        .filter(pokemon -> pokemon.getGeneration() == generation)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Obtiene todos los Pokémon legendarios.
+     * 
+     * @return Lista de Pokémon legendarios
+     */
+    public List<Pokemon> getLegendaryPokemons() {
+        return read(() -> queryCache.get("legendary", () -> indexes != null
+                ? indexes.findLegendary()
+                : allPokemons.values().stream()
+                        .filter(Pokemon::isLegendary)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Obtiene los primeros k Pokémon según un orden, por ejemplo los 10 más pesados con
+     * {@code topK(10, Comparator.comparingDouble(Pokemon::getWeight).reversed())}.
+     * 
+     * @param k Número máximo de resultados
+     * @param order Orden de los resultados
+     * @return Lista de hasta k Pokémon en ese orden
+     * @throws IllegalArgumentException si k es negativo
+     * @see #topK(int, Comparator, Predicate)
+     */
+    public List<Pokemon> topK(int k, Comparator<Pokemon> order) {
+        return topK(k, order, pokemon -> true);
+    }
+
+    /**
+     * Obtiene los primeros k Pokémon que cumplen una condición según un orden, por
+     * ejemplo los 5 legendarios más altos. Recorre la colección una vez conservando
+     * solo los k mejores en un montículo acotado: no ordena ni copia todos los
+     * Pokémon. Con colecciones grandes el recorrido se reparte entre varios hilos.
+     * Los empates se resuelven como en {@link PokemonQuery}: por nombre con TREE_MAP y
+     * CONCURRENT_SKIP_LIST_MAP y por orden de inserción con los demás Map.
+     * 
+     * @param k Número máximo de resultados
+     * @param order Orden de los resultados
+     * @param filter Condición que deben cumplir los Pokémon
+     * @return Lista de hasta k Pokémon en ese orden
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public List<Pokemon> topK(int k, Comparator<Pokemon> order, Predicate<Pokemon> filter) {
+        return read(() -> traversal().filter(filter).collect(TopK.collector(k, tieBreak(order))));
+    }
+
+    /**
+     * Obtiene los primeros k Pokémon de cada grupo según un orden, por ejemplo los 10
+     * más pesados de cada tipo primario con
+     * {@code topKPerGroup(10, Comparator.comparingDouble(Pokemon::getWeight).reversed(), Pokemon::getType1)}.
+     * Cada grupo conserva solo sus k mejores en un montículo acotado y, con colecciones
+     * grandes, los grupos se calculan en paralelo sobre partes de la colección que
+     * luego se combinan.
+     * 
+     * @param <K> Tipo de la clave de grupo
+     * @param k Número máximo de resultados por grupo
+     * @param order Orden de los resultados dentro de cada grupo
+     * @param group Clave de grupo de cada Pokémon; no puede ser null
+     * @return Los primeros k Pokémon de cada grupo, con los grupos en el orden en que aparecen
+     * @throws IllegalArgumentException si k es negativo
+     */
+    public <K> Map<K, List<Pokemon>> topKPerGroup(int k, Comparator<Pokemon> order,
+                                                  Function<Pokemon, ? extends K> group) {
+        return read(() -> traversal().collect(Collectors.groupingBy(group, LinkedHashMap::new,
+                                                                    TopK.collector(k, tieBreak(order)))));
+    }
+
+    /**
+     * Crea una consulta compuesta sobre los Pokémon de la colección.
+     * 
+     * @return Una consulta vacía, que devuelve todos los Pokémon si no se agregan condiciones
+     * @see PokemonQuery
+     */
+    public PokemonQuery query() {
+        // El recorrido completo sigue las filas de los índices, igual que los planes con
+        // índice, para que el orden no dependa del plan
+        return new PokemonQuery(this, indexes != null ? indexes.allRows() : allPokemons.values(), indexes);
     }
 
     /**
@@ -103,7 +565,37 @@ public class PokemonData {
      * @return Cantidad de Pokémon en la colección
      */
     public int size() {
-        return allPokemons.size();
+        return readMap(allPokemons::size);
+    }
+
+    /**
+     * Obtiene el diccionario de cadenas con el que se canonicalizan los valores
+     * repetidos al cargar datos en esta colección.
+     * 
+     * @return El diccionario de cadenas de la colección
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * Obtiene el caché de resultados de búsquedas de esta colección, para consultar
+     * sus aciertos y fallos.
+     * 
+     * @return El caché de búsquedas de la colección
+     */
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Obtiene el número de la versión actual, que aumenta con cada inserción o
+     * reemplazo. Permite saber si los datos cambiaron sin copiarlos.
+     * 
+     * @return El número de la versión actual
+     */
+    public long getVersion() {
+        return version;
     }
 
     /**
@@ -114,4 +606,109 @@ public class PokemonData {
     public MapType getMapType() {
         return mapType;
     }
-}
\ No newline at end of file
+
+    /**
+     * Ejecuta una búsqueda que lee el Map y los índices con el candado de lectura. Los
+     * índices nunca se modifican al buscar (las inserciones pendientes se leen junto
+     * con las ya mezcladas), así que las búsquedas pueden correr en paralelo y nunca
+     * esperan el candado de escritura, salvo mientras una inserción está en curso.
+     *
+     * @param search Búsqueda a ejecutar
+     * @return El resultado de la búsqueda
+     */
+    <T> T read(Supplier<T> search) {
+        lock.readLock().lock();
+        try {
+            return search.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ejecuta una búsqueda que solo lee el Map. Los Map concurrentes y los congelados no
+     * necesitan el candado.
+     */
+    private <T> T readMap(Supplier<T> search) {
+        if (concurrentMap || frozen) {
+            return search.get();
+        }
+        lock.readLock().lock();
+        try {
+            return search.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el índice de prefijos de nombres, construyéndolo con los nombres actuales
+     * la primera vez. Se llama con el candado de lectura, así que ninguna inserción
+     * corre mientras se construye.
+     */
+    private NamePrefixIndex names() {
+        NamePrefixIndex index = names;
+        if (index == null) {
+            synchronized (nameIndexLock) {
+                index = names;
+                if (index == null) {
+                    index = new NamePrefixIndex();
+                    for (String name : allPokemons.keySet()) {
+                        index.add(name);
+                    }
+                    index.build();
+                    names = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Obtiene el índice de trigramas de nombres, construyéndolo con los nombres actuales
+     * la primera vez. Se llama con el candado de lectura.
+     */
+    private TrigramIndex trigrams() {
+        TrigramIndex index = trigrams;
+        if (index == null) {
+            synchronized (nameIndexLock) {
+                index = trigrams;
+                if (index == null) {
+                    index = new TrigramIndex();
+                    for (String name : allPokemons.keySet()) {
+                        index.add(name);
+                    }
+                    trigrams = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Clave de una búsqueda de habilidad por subcadena. La búsqueda no distingue
+     * mayúsculas, así que textos que solo difieren en ellas comparten resultado.
+     */
+    private static String abilityKey(String ability) {
+        return "ability:" + ability.toLowerCase();
+    }
+
+    /**
+     * Recorre la colección sin copiarla: las filas de los índices cuando existen, o los
+     * valores del Map. Es ordenado, así que en paralelo conserva el orden de llegada.
+     */
+    private Stream<Pokemon> traversal() {
+        Stream<Pokemon> pokemons = indexes != null
+                ? IntStream.range(0, indexes.rowCount()).mapToObj(indexes::row)
+                : allPokemons.values().stream();
+        return allPokemons.size() >= PARALLEL_THRESHOLD ? pokemons.parallel() : pokemons;
+    }
+
+    /**
+     * Completa un orden con el de las filas o por nombre, como hace {@link PokemonQuery}.
+     */
+    private Comparator<Pokemon> tieBreak(Comparator<Pokemon> order) {
+        Comparator<Pokemon> mapOrder = indexes == null ? null : indexes.resultOrder();
+        return mapOrder == null ? order : order.thenComparing(mapOrder);
+    }
+}
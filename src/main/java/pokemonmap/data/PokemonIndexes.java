@@ -0,0 +1,619 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Índices secundarios de PokemonData, mantenidos de forma incremental
+ *              cada vez que se agrega un Pokémon.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Índices secundarios sobre los Pokémon de un PokemonData.
+ * Cada Pokémon recibe un identificador de fila consecutivo y los índices guardan
+ * listas de esos identificadores. Al reemplazar un Pokémon con el mismo nombre se
+ * conserva su fila y se actualizan los índices.
+ * <p>
+ * Los resultados se devuelven en el orden de las filas (el de inserción), o por
+ * nombre si así se indica al crear los índices, para imitar el recorrido del TreeMap.
+ */
+final class PokemonIndexes {
+    private static final int INITIAL_CAPACITY = 64;
+    /** Números de Pokédex a partir de este valor (o negativos) se guardan fuera del arreglo. */
+    private static final int MAX_DENSE_POKEDEX = 1 << 16;
+
+    private final Comparator<Pokemon> resultOrder;
+    private final Map<String, Integer> rowsByName = new HashMap<>();
+    private final AbilityIndex abilities = new AbilityIndex();
+    private final TypeBuckets types;
+    // Filas por tipo primario y secundario, con el tipo en minúsculas
+    private final Map<String, PostingList> byType1 = new HashMap<>();
+    private final Map<String, PostingList> byType2 = new HashMap<>();
+    // Índice denso por número de Pokédex: la posición es el número; null si no hay ninguno
+    private PostingList[] byPokedex = new PostingList[INITIAL_CAPACITY];
+    private final TreeMap<Integer, PostingList> sparsePokedex = new TreeMap<>();
+    private final Map<Integer, PostingList> byGeneration = new HashMap<>();
+    private final BitSet legendary = new BitSet();
+    // Filas ordenadas por altura y por peso; al mezclar se consulta el valor actual de la fila
+    private final RangeIndex byHeight = new RangeIndex(row -> this.rows.get(row).getHeight());
+    private final RangeIndex byWeight = new RangeIndex(row -> this.rows.get(row).getWeight());
+    private final PokemonRows rows = new PokemonRows();
+
+    /**
+     * Crea índices vacíos.
+     *
+     * @param nameOrder true para devolver los resultados ordenados por nombre, false
+     *                  para el orden de inserción
+     */
+    PokemonIndexes(boolean nameOrder) {
+        this.resultOrder = nameOrder ? Comparator.comparing(Pokemon::getName) : null;
+        this.types = new TypeBuckets(nameOrder);
+    }
+
+    /**
+     * Agrega un Pokémon a los índices, o lo reemplaza si ya había uno con su nombre.
+     *
+     * @param pokemon El Pokémon agregado a la colección
+     */
+    void add(Pokemon pokemon) {
+        Integer existing = rowsByName.get(pokemon.getName());
+        Pokemon previous = null;
+        int row;
+        if (existing != null) {
+            row = existing;
+            previous = rows.get(row);
+            abilities.remove(row, previous.getAbilities());
+            removeFrom(byType1, typeKey(previous.getType1()), row);
+            removeFrom(byType2, typeKey(previous.getType2()), row);
+            pokedexList(previous.getPokedexNumber(), false).remove(row);
+            byGeneration.get(previous.getGeneration()).remove(row);
+            rows.set(row, pokemon);
+        } else {
+            row = rows.add(pokemon);
+            rowsByName.put(pokemon.getName(), row);
+        }
+        abilities.add(row, pokemon.getAbilities());
+        types.add(pokemon);
+        byType1.computeIfAbsent(typeKey(pokemon.getType1()), type -> new PostingList()).add(row);
+        byType2.computeIfAbsent(typeKey(pokemon.getType2()), type -> new PostingList()).add(row);
+        pokedexList(pokemon.getPokedexNumber(), true).add(row);
+        byGeneration.computeIfAbsent(pokemon.getGeneration(), generation -> new PostingList()).add(row);
+        legendary.set(row, pokemon.isLegendary());
+        if (previous == null || Double.compare(previous.getHeight(), pokemon.getHeight()) != 0) {
+            byHeight.add(row, pokemon.getHeight());
+        }
+        if (previous == null || Double.compare(previous.getWeight(), pokemon.getWeight()) != 0) {
+            byWeight.add(row, pokemon.getWeight());
+        }
+    }
+
+    /**
+     * Busca los Pokémon con un número de Pokédex.
+     *
+     * @param number Número de Pokédex
+     * @return Lista de Pokémon con ese número (normalmente uno o ninguno)
+     */
+    List<Pokemon> findByPokedexNumber(int number) {
+        PostingList ids = pokedexList(number, false);
+        return ids == null ? new ArrayList<>() : resolve(ids);
+    }
+
+    /**
+     * Busca los Pokémon cuyo número de Pokédex está en un rango, recorriendo solo las
+     * posiciones del rango en el índice denso.
+     *
+     * @param from Número inicial, incluido
+     * @param to Número final, incluido
+     * @return Lista de Pokémon ordenados por número de Pokédex
+     */
+    List<Pokemon> findByPokedexRange(int from, int to) {
+        List<Pokemon> result = new ArrayList<>();
+        if (from > to) {
+            return result;
+        }
+        if (from < 0) {
+            appendRows(result, sparsePokedex.subMap(from, true, Math.min(to, -1), true).values());
+        }
+        int end = Math.min(to, byPokedex.length - 1);
+        for (int number = Math.max(from, 0); number <= end; number++) {
+            if (byPokedex[number] != null) {
+                appendRows(result, byPokedex[number]);
+            }
+        }
+        if (to >= MAX_DENSE_POKEDEX) {
+            appendRows(result, sparsePokedex.subMap(Math.max(from, MAX_DENSE_POKEDEX), true, to, true).values());
+        }
+        if (resultOrder != null) {
+            // Los Pokémon con el mismo número se ordenan como en el Map
+            result.sort(Comparator.comparingInt(Pokemon::getPokedexNumber).thenComparing(resultOrder));
+        }
+        return result;
+    }
+
+    /**
+     * Busca los Pokémon de una generación.
+     *
+     * @param generation Número de generación
+     * @return Lista de Pokémon de esa generación
+     */
+    List<Pokemon> findByGeneration(int generation) {
+        PostingList ids = byGeneration.get(generation);
+        return ids == null ? new ArrayList<>() : resolve(ids);
+    }
+
+    /**
+     * Obtiene los Pokémon legendarios.
+     *
+     * @return Lista de Pokémon legendarios
+     */
+    List<Pokemon> findLegendary() {
+        List<Pokemon> result = new ArrayList<>(legendary.cardinality());
+        for (int row = legendary.nextSetBit(0); row >= 0; row = legendary.nextSetBit(row + 1)) {
+            result.add(rows.get(row));
+        }
+        return ordered(result);
+    }
+
+    /**
+     * Busca los Pokémon cuya altura está en un rango.
+     *
+     * @param min Altura mínima, incluida
+     * @param max Altura máxima, incluida
+     * @return Lista de Pokémon ordenados por altura
+     */
+    List<Pokemon> findByHeightRange(double min, double max) {
+        return findInRange(byHeight, min, max, Comparator.comparingDouble(Pokemon::getHeight));
+    }
+
+    /**
+     * Busca los Pokémon cuyo peso está en un rango.
+     *
+     * @param min Peso mínimo, incluido
+     * @param max Peso máximo, incluido
+     * @return Lista de Pokémon ordenados por peso
+     */
+    List<Pokemon> findByWeightRange(double min, double max) {
+        return findInRange(byWeight, min, max, Comparator.comparingDouble(Pokemon::getWeight));
+    }
+
+    /**
+     * Mezcla las filas pendientes de los índices de rangos con sus arreglos principales,
+     * por ejemplo al terminar una carga.
+     */
+    void build() {
+        byHeight.build();
+        byWeight.build();
+    }
+
+    /**
+     * Obtiene el número de filas de los índices.
+     *
+     * @return Cantidad de filas
+     */
+    int rowCount() {
+        return rows.size();
+    }
+
+    /**
+     * Obtiene el Pokémon de una fila.
+     *
+     * @param row Identificador de fila
+     * @return El Pokémon de esa fila
+     */
+    Pokemon row(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * Obtiene todas las filas en orden de inserción, sin copiarlas. La lista refleja las
+     * inserciones posteriores, así que solo se recorre con el candado de lectura.
+     *
+     * @return Vista de solo lectura de las filas
+     */
+    List<Pokemon> allRows() {
+        return rows.view();
+    }
+
+    /**
+     * Obtiene una versión inmutable de todas las filas en orden de inserción, sin
+     * copiarlas. Las inserciones y reemplazos posteriores no la modifican.
+     *
+     * @return Lista de solo lectura de las filas actuales
+     */
+    List<Pokemon> frozenRows() {
+        return rows.freeze();
+    }
+
+    /**
+     * Obtiene el orden en que se devuelven los resultados.
+     *
+     * @return El comparador por nombre, o null si se usa el orden de inserción
+     */
+    Comparator<Pokemon> resultOrder() {
+        return resultOrder;
+    }
+
+    /**
+     * Filas que cumplen una condición, tal como las entrega un índice. Permite conocer
+     * cuántas son antes de reunirlas en una sola lista.
+     */
+    abstract static class Lookup {
+        /**
+         * Obtiene el número de filas, o una cota superior si hay listas que se solapan.
+         *
+         * @return Cantidad estimada de filas
+         */
+        abstract int estimate();
+
+        /**
+         * Reúne las filas en una sola lista ordenada.
+         *
+         * @return Lista de filas ordenada por identificador
+         */
+        abstract PostingList rows();
+
+        static Lookup of(List<PostingList> lists) {
+            return new Lookup() {
+                @Override
+                int estimate() {
+                    int total = 0;
+                    for (PostingList list : lists) {
+                        total += list.size();
+                    }
+                    return total;
+                }
+
+                @Override
+                PostingList rows() {
+                    return union(lists);
+                }
+            };
+        }
+
+        static Lookup of(BitSet bits) {
+            return new Lookup() {
+                @Override
+                int estimate() {
+                    return bits.cardinality();
+                }
+
+                @Override
+                PostingList rows() {
+                    PostingList ids = new PostingList();
+                    for (int row = bits.nextSetBit(0); row >= 0; row = bits.nextSetBit(row + 1)) {
+                        ids.add(row);
+                    }
+                    return ids;
+                }
+            };
+        }
+
+        static Lookup of(RangeIndex index, double min, double max) {
+            return new Lookup() {
+                @Override
+                int estimate() {
+                    return index.estimate(min, max);
+                }
+
+                @Override
+                PostingList rows() {
+                    return index.rowsBetween(min, max);
+                }
+            };
+        }
+    }
+
+    /**
+     * Obtiene las filas cuyo tipo primario es el indicado, sin distinguir mayúsculas.
+     *
+     * @param type Tipo buscado
+     * @return Las filas del tipo
+     */
+    Lookup lookupType1(String type) {
+        return Lookup.of(listOf(byType1.get(typeKey(type))));
+    }
+
+    /**
+     * Obtiene las filas cuyo tipo primario o secundario es el indicado, sin distinguir
+     * mayúsculas.
+     *
+     * @param type Tipo buscado
+     * @return Las filas del tipo
+     */
+    Lookup lookupType(String type) {
+        List<PostingList> lists = listOf(byType1.get(typeKey(type)));
+        lists.addAll(listOf(byType2.get(typeKey(type))));
+        return Lookup.of(lists);
+    }
+
+    /**
+     * Obtiene las filas de una generación.
+     *
+     * @param generation Número de generación
+     * @return Las filas de la generación
+     */
+    Lookup lookupGeneration(int generation) {
+        return Lookup.of(listOf(byGeneration.get(generation)));
+    }
+
+    /**
+     * Obtiene las filas de los Pokémon legendarios.
+     *
+     * @return Las filas legendarias
+     */
+    Lookup lookupLegendary() {
+        return Lookup.of(legendary);
+    }
+
+    /**
+     * Obtiene las filas cuyo número de Pokédex está en un rango.
+     *
+     * @param from Número inicial, incluido
+     * @param to Número final, incluido
+     * @return Las filas del rango
+     */
+    Lookup lookupPokedexRange(int from, int to) {
+        List<PostingList> lists = new ArrayList<>();
+        if (from <= to) {
+            if (from < 0) {
+                lists.addAll(sparsePokedex.subMap(from, true, Math.min(to, -1), true).values());
+            }
+            int end = Math.min(to, byPokedex.length - 1);
+            for (int number = Math.max(from, 0); number <= end; number++) {
+                if (byPokedex[number] != null) {
+                    lists.add(byPokedex[number]);
+                }
+            }
+            if (to >= MAX_DENSE_POKEDEX) {
+                lists.addAll(sparsePokedex.subMap(Math.max(from, MAX_DENSE_POKEDEX), true, to, true).values());
+            }
+        }
+        return Lookup.of(lists);
+    }
+
+    /**
+     * Obtiene las filas cuya altura está en un rango.
+     *
+     * @param min Altura mínima, incluida
+     * @param max Altura máxima, incluida
+     * @return Las filas del rango
+     */
+    Lookup lookupHeightRange(double min, double max) {
+        return Lookup.of(byHeight, min, max);
+    }
+
+    /**
+     * Obtiene las filas cuyo peso está en un rango.
+     *
+     * @param min Peso mínimo, incluido
+     * @param max Peso máximo, incluido
+     * @return Las filas del rango
+     */
+    Lookup lookupWeightRange(double min, double max) {
+        return Lookup.of(byWeight, min, max);
+    }
+
+    /**
+     * Obtiene las filas cuyas habilidades contienen un texto, igual que
+     * {@link Pokemon#hasAbility(String)}.
+     *
+     * @param ability Texto buscado
+     * @return Las filas que coinciden, o null si el índice no puede responder esta búsqueda
+     */
+    Lookup lookupAbility(String ability) {
+        if (!AbilityIndex.supportsSubstring(ability)) {
+            return null;
+        }
+        return Lookup.of(abilities.containing(ability));
+    }
+
+    private static List<PostingList> listOf(PostingList ids) {
+        List<PostingList> lists = new ArrayList<>();
+        if (ids != null) {
+            lists.add(ids);
+        }
+        return lists;
+    }
+
+    private static String typeKey(String type) {
+        return type == null ? "" : type.toLowerCase();
+    }
+
+    private static void removeFrom(Map<String, PostingList> index, String key, int row) {
+        PostingList ids = index.get(key);
+        if (ids != null) {
+            ids.remove(row);
+        }
+    }
+
+    /**
+     * Obtiene la lista de filas de un número de Pokédex, del arreglo denso o, si el
+     * número está fuera de su rango, del mapa de números dispersos.
+     */
+    private PostingList pokedexList(int number, boolean create) {
+        if (number < 0 || number >= MAX_DENSE_POKEDEX) {
+            PostingList ids = sparsePokedex.get(number);
+            if (ids == null && create) {
+                ids = new PostingList();
+                sparsePokedex.put(number, ids);
+            }
+            return ids;
+        }
+        if (number >= byPokedex.length) {
+            if (!create) {
+                return null;
+            }
+            byPokedex = Arrays.copyOf(byPokedex, Math.min(MAX_DENSE_POKEDEX, Math.max(number + 1, byPokedex.length * 2)));
+        }
+        if (byPokedex[number] == null && create) {
+            byPokedex[number] = new PostingList();
+        }
+        return byPokedex[number];
+    }
+
+    /**
+     * Reúne las filas entre los límites del índice de rangos, que ya vienen ordenadas
+     * por valor; los empates quedan en orden de fila o, si corresponde, por nombre.
+     */
+    private List<Pokemon> findInRange(RangeIndex index, double min, double max, Comparator<Pokemon> byValue) {
+        int[] ids = index.rowsInOrder(min, max);
+        List<Pokemon> result = new ArrayList<>(ids.length);
+        for (int row : ids) {
+            result.add(rows.get(row));
+        }
+        if (resultOrder != null) {
+            result.sort(byValue.thenComparing(resultOrder));
+        }
+        return result;
+    }
+
+    private void appendRows(List<Pokemon> result, Iterable<PostingList> lists) {
+        for (PostingList ids : lists) {
+            appendRows(result, ids);
+        }
+    }
+
+    private void appendRows(List<Pokemon> result, PostingList ids) {
+        for (int i = 0; i < ids.size(); i++) {
+            result.add(rows.get(ids.get(i)));
+        }
+    }
+
+    /**
+     * Obtiene todos los Pokémon ordenados por tipo primario recorriendo los grupos por
+     * tipo, sin ordenar.
+     *
+     * @return Lista de Pokémon ordenados alfabéticamente por tipo primario
+     */
+    List<Pokemon> sortedByType1() {
+        return types.sortedByType1();
+    }
+
+    /**
+     * Busca Pokémon por habilidad.
+     * Con coincidencia por subcadena se obtiene lo mismo que {@link Pokemon#hasAbility(String)};
+     * si el texto contiene comas o espacios en los extremos, el índice no puede
+     * responder y se recorren todas las filas.
+     *
+     * @param ability La habilidad a buscar
+     * @param substringMatch true para buscar por subcadena, false para habilidad exacta
+     * @return Lista de Pokémon que cumplen la búsqueda
+     */
+    List<Pokemon> findByAbility(String ability, boolean substringMatch) {
+        if (!substringMatch) {
+            PostingList matches = abilities.exact(ability);
+            return matches == null ? new ArrayList<>() : resolve(matches);
+        }
+        if (!AbilityIndex.supportsSubstring(ability)) {
+            List<Pokemon> result = new ArrayList<>();
+            for (int row = 0; row < rows.size(); row++) {
+                if (rows.get(row).hasAbility(ability)) {
+                    result.add(rows.get(row));
+                }
+            }
+            return ordered(result);
+        }
+
+        return resolve(union(abilities.containing(ability)));
+    }
+
+    /**
+     * Busca por subcadena varias habilidades a la vez. Los textos que el índice puede
+     * responder se resuelven con una sola pasada del autómata sobre el vocabulario; los
+     * demás, con una sola pasada sobre las filas.
+     *
+     * @param patterns Textos buscados
+     * @return Para cada texto, en el mismo orden, los Pokémon que lo contienen
+     */
+    List<List<Pokemon>> findByAbilities(List<String> patterns) {
+        List<String> indexed = new ArrayList<>();
+        List<String> scanned = new ArrayList<>();
+        for (String pattern : patterns) {
+            (AbilityIndex.supportsSubstring(pattern) ? indexed : scanned).add(pattern);
+        }
+
+        List<List<PostingList>> fromIndex = abilities.containingAll(new AbilityMatcher(indexed));
+        List<List<Pokemon>> fromRows = new ArrayList<>();
+        if (!scanned.isEmpty()) {
+            AbilityMatcher matcher = new AbilityMatcher(scanned);
+            for (int p = 0; p < scanned.size(); p++) {
+                fromRows.add(new ArrayList<>());
+            }
+            BitSet found = new BitSet(scanned.size());
+            for (int row = 0; row < rows.size(); row++) {
+                found.clear();
+                matcher.match(rows.get(row).getAbilities(), found);
+                for (int p = found.nextSetBit(0); p >= 0; p = found.nextSetBit(p + 1)) {
+                    fromRows.get(p).add(rows.get(row));
+                }
+            }
+        }
+
+        List<List<Pokemon>> result = new ArrayList<>(patterns.size());
+        int nextIndexed = 0;
+        int nextScanned = 0;
+        for (String pattern : patterns) {
+            if (AbilityIndex.supportsSubstring(pattern)) {
+                result.add(resolve(union(fromIndex.get(nextIndexed++))));
+            } else {
+                result.add(ordered(fromRows.get(nextScanned++)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Une varias listas de filas en una sola, ordenada y sin repetidos.
+     */
+    private static PostingList union(List<PostingList> lists) {
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        int total = 0;
+        for (PostingList list : lists) {
+            total += list.size();
+        }
+        int[] ids = new int[total];
+        int count = 0;
+        for (PostingList list : lists) {
+            for (int i = 0; i < list.size(); i++) {
+                ids[count++] = list.get(i);
+            }
+        }
+        Arrays.sort(ids);
+
+        PostingList union = new PostingList();
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                union.add(ids[i]);
+            }
+        }
+        return union;
+    }
+
+    private List<Pokemon> resolve(PostingList ids) {
+        List<Pokemon> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            result.add(rows.get(ids.get(i)));
+        }
+        return ordered(result);
+    }
+
+    private List<Pokemon> ordered(List<Pokemon> result) {
+        if (resultOrder != null) {
+            result.sort(resultOrder);
+        }
+        return result;
+    }
+}
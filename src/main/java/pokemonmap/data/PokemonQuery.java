@@ -0,0 +1,498 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Consultas compuestas sobre PokemonData, con un planificador que usa
+ *              los índices secundarios antes de revisar los registros.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Consulta compuesta sobre los Pokémon de un PokemonData. Se construye encadenando
+ * condiciones, criterios de orden y un límite:
+ * <pre>
+ * pokemonData.query()
+ *         .type("Fire")
+ *         .generation(1)
+ *         .heightBetween(1.0, 2.0)
+ *         .orderByDescending(PokemonQuery.SortKey.WEIGHT)
+ *         .limit(5)
+ *         .execute();
+ * </pre>
+ * Todas las condiciones deben cumplirse. Al ejecutarla, el planificador pide a cada
+ * índice disponible cuántas filas cumplen su condición, empieza por la más selectiva
+ * e intersecta las listas de filas; las condiciones sin índice, o cuyo índice es
+ * mucho menos selectivo que los candidatos que ya quedan, se revisan directamente
+ * sobre los registros. {@link #explain()} describe el plan elegido.
+ * <p>
+ * Sin criterios de orden los resultados salen en el mismo orden con cualquier plan:
+ * por nombre con TREE_MAP y CONCURRENT_SKIP_LIST_MAP, y en orden de inserción con los
+ * demás Map, también los de tipo hash, porque el recorrido completo usa las filas de
+ * los índices igual que los planes con índice. Con OFF_HEAP y COLUMNAR siguen el orden
+ * del almacén. Con un límite y un orden, solo se conservan los mejores resultados en
+ * un montículo acotado.
+ * <p>
+ * La consulta se planifica y se ejecuta con el candado de lectura de la colección, así
+ * que ve todas las inserciones de otros hilos completas o ninguna. Una misma consulta
+ * no debe modificarse desde varios hilos.
+ */
+public class PokemonQuery {
+    /**
+     * Una condición solo se intersecta por índice si su número de filas no supera
+     * este múltiplo de los candidatos actuales; si no, conviene revisar los registros.
+     */
+    private static final int INTERSECT_RATIO = 32;
+
+    /**
+     * Atributos por los que se pueden ordenar los resultados.
+     */
+    public enum SortKey {
+        NAME(Comparator.comparing(Pokemon::getName)),
+        POKEDEX_NUMBER(Comparator.comparingInt(Pokemon::getPokedexNumber)),
+        TYPE1(Pokemon.BY_TYPE1),
+        HEIGHT(Comparator.comparingDouble(Pokemon::getHeight)),
+        WEIGHT(Comparator.comparingDouble(Pokemon::getWeight)),
+        GENERATION(Comparator.comparingInt(Pokemon::getGeneration));
+
+        private final Comparator<Pokemon> comparator;
+
+        SortKey(Comparator<Pokemon> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    /**
+     * Resultado de ejecutar una consulta, con su plan y su tiempo de ejecución.
+     */
+    public static final class Result {
+        private final List<Pokemon> pokemons;
+        private final String plan;
+        private final long elapsedNanos;
+        private final int examinedRecords;
+
+        private Result(List<Pokemon> pokemons, String plan, long elapsedNanos, int examinedRecords) {
+            this.pokemons = pokemons;
+            this.plan = plan;
+            this.elapsedNanos = elapsedNanos;
+            this.examinedRecords = examinedRecords;
+        }
+
+        /**
+         * Obtiene los Pokémon que cumplen la consulta.
+         *
+         * @return Lista de Pokémon en el orden pedido
+         */
+        public List<Pokemon> getPokemons() {
+            return pokemons;
+        }
+
+        /**
+         * Obtiene la descripción del plan con el que se ejecutó la consulta.
+         *
+         * @return El plan, igual que {@link PokemonQuery#explain()}
+         */
+        public String getPlan() {
+            return plan;
+        }
+
+        /**
+         * Obtiene el tiempo que tomó la consulta, incluyendo el plan.
+         *
+         * @return Tiempo de ejecución en nanosegundos
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Obtiene el número de registros que se revisaron después de usar los índices.
+         *
+         * @return Cantidad de registros examinados
+         */
+        public int getExaminedRecords() {
+            return examinedRecords;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d resultados en %.3f ms (%d registros examinados)",
+                    pokemons.size(), elapsedNanos / 1e6, examinedRecords);
+        }
+    }
+
+    /**
+     * Condición de la consulta: un predicado sobre el registro y, si existe, la forma
+     * de resolverla con un índice.
+     */
+    private static final class Condition {
+        final String description;
+        final Predicate<Pokemon> predicate;
+        final Function<PokemonIndexes, PokemonIndexes.Lookup> index;
+
+        Condition(String description, Predicate<Pokemon> predicate,
+                  Function<PokemonIndexes, PokemonIndexes.Lookup> index) {
+            this.description = description;
+            this.predicate = predicate;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Plan de una consulta: las filas candidatas que dejaron los índices (o null para
+     * recorrer todo) y las condiciones que quedan por revisar en los registros.
+     */
+    private static final class Plan {
+        PostingList candidates;
+        final List<Condition> residual = new ArrayList<>();
+        final List<Condition> unselective = new ArrayList<>();
+        final StringBuilder description = new StringBuilder();
+
+        void step(String text) {
+            description.append("  ").append(text).append('\n');
+        }
+    }
+
+    private final PokemonData data;
+    private final Collection<Pokemon> scan;
+    private final PokemonIndexes indexes;
+    private final List<Condition> conditions = new ArrayList<>();
+    private final List<String> sortDescriptions = new ArrayList<>();
+    private Comparator<Pokemon> order;
+    private int limit = -1;
+
+    /**
+     * Crea una consulta vacía. Se obtiene con {@link PokemonData#query()}.
+     *
+     * @param data Colección consultada, que da el candado de lectura
+     * @param scan Todos los Pokémon, en el orden de los resultados: las filas de los
+     *             índices si existen, o los valores del almacén
+     * @param indexes Índices secundarios, o null si el almacén no los tiene
+     */
+    PokemonQuery(PokemonData data, Collection<Pokemon> scan, PokemonIndexes indexes) {
+        this.data = data;
+        this.scan = scan;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Filtra por tipo primario, sin distinguir mayúsculas.
+     *
+     * @param type Tipo primario
+     * @return Esta consulta
+     */
+    public PokemonQuery type1(String type) {
+        return add("type1 = " + type, pokemon -> type.equalsIgnoreCase(pokemon.getType1()),
+                   index -> index.lookupType1(type));
+    }
+
+    /**
+     * Filtra por tipo, primario o secundario, sin distinguir mayúsculas.
+     *
+     * @param type Tipo
+     * @return Esta consulta
+     */
+    public PokemonQuery type(String type) {
+        return add("type1 o type2 = " + type,
+                   pokemon -> type.equalsIgnoreCase(pokemon.getType1()) || type.equalsIgnoreCase(pokemon.getType2()),
+                   index -> index.lookupType(type));
+    }
+
+    /**
+     * Filtra por generación.
+     *
+     * @param generation Número de generación
+     * @return Esta consulta
+     */
+    public PokemonQuery generation(int generation) {
+        return add("generation = " + generation, pokemon -> pokemon.getGeneration() == generation,
+                   index -> index.lookupGeneration(generation));
+    }
+
+    /**
+     * Filtra por habilidad, con la misma semántica que {@link Pokemon#hasAbility(String)}.
+     *
+     * @param ability Habilidad o parte de ella
+     * @return Esta consulta
+     */
+    public PokemonQuery ability(String ability) {
+        return add("abilities contiene '" + ability + "'", pokemon -> pokemon.hasAbility(ability),
+                   index -> index.lookupAbility(ability));
+    }
+
+    /**
+     * Filtra por número de Pokédex dentro de un rango.
+     *
+     * @param from Número inicial, incluido
+     * @param to Número final, incluido
+     * @return Esta consulta
+     */
+    public PokemonQuery pokedexRange(int from, int to) {
+        return add("pokedexNumber entre " + from + " y " + to,
+                   pokemon -> pokemon.getPokedexNumber() >= from && pokemon.getPokedexNumber() <= to,
+                   index -> index.lookupPokedexRange(from, to));
+    }
+
+    /**
+     * Filtra por altura dentro de un rango.
+     *
+     * @param min Altura mínima en metros, incluida
+     * @param max Altura máxima en metros, incluida
+     * @return Esta consulta
+     */
+    public PokemonQuery heightBetween(double min, double max) {
+        return add("height entre " + min + " y " + max,
+                   pokemon -> pokemon.getHeight() >= min && pokemon.getHeight() <= max,
+                   index -> index.lookupHeightRange(min, max));
+    }
+
+    /**
+     * Filtra por peso dentro de un rango.
+     *
+     * @param min Peso mínimo en kilogramos, incluido
+     * @param max Peso máximo en kilogramos, incluido
+     * @return Esta consulta
+     */
+    public PokemonQuery weightBetween(double min, double max) {
+        return add("weight entre " + min + " y " + max,
+                   pokemon -> pokemon.getWeight() >= min && pokemon.getWeight() <= max,
+                   index -> index.lookupWeightRange(min, max));
+    }
+
+    /**
+     * Filtra por estado legendario.
+     *
+     * @param legendary true para solo legendarios, false para solo no legendarios
+     * @return Esta consulta
+     */
+    public PokemonQuery legendary(boolean legendary) {
+        return add("legendary = " + legendary, pokemon -> pokemon.isLegendary() == legendary,
+                   legendary ? PokemonIndexes::lookupLegendary : null);
+    }
+
+    /**
+     * Agrega una condición arbitraria, que siempre se revisa sobre los registros.
+     *
+     * @param description Descripción de la condición para {@link #explain()}
+     * @param predicate Condición que deben cumplir los Pokémon
+     * @return Esta consulta
+     */
+    public PokemonQuery where(String description, Predicate<Pokemon> predicate) {
+        return add(description, predicate, null);
+    }
+
+    /**
+     * Ordena los resultados de forma ascendente por un atributo. Si se llama varias
+     * veces, cada atributo desempata el anterior.
+     *
+     * @param key Atributo de orden
+     * @return Esta consulta
+     */
+    public PokemonQuery orderBy(SortKey key) {
+        return addOrder(key.comparator, key.name());
+    }
+
+    /**
+     * Ordena los resultados de forma descendente por un atributo.
+     *
+     * @param key Atributo de orden
+     * @return Esta consulta
+     * @see #orderBy(SortKey)
+     */
+    public PokemonQuery orderByDescending(SortKey key) {
+        return addOrder(key.comparator.reversed(), key.name() + " desc");
+    }
+
+    /**
+     * Limita el número de resultados.
+     *
+     * @param limit Cantidad máxima de resultados
+     * @return Esta consulta
+     * @throws IllegalArgumentException si el límite es negativo
+     */
+    public PokemonQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("El límite no puede ser negativo: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Describe cómo se ejecutaría la consulta: qué índices se usan y en qué orden,
+     * cuántas filas deja cada uno y qué condiciones se revisan en los registros.
+     *
+     * @return Descripción del plan, una línea por paso
+     */
+    public String explain() {
+        return data.read(() -> plan().description.toString());
+    }
+
+    /**
+     * Ejecuta la consulta.
+     *
+     * @return Los Pokémon que cumplen la consulta, con el plan y el tiempo de ejecución
+     */
+    public Result execute() {
+        return data.read(this::run);
+    }
+
+    /**
+     * Ejecuta la consulta con el candado de lectura de la colección tomado.
+     */
+    private Result run() {
+        long start = System.nanoTime();
+        Plan plan = plan();
+        // Los empates se resuelven con el orden sin criterios, como en un ordenamiento estable
+        Comparator<Pokemon> comparator = order;
+        Comparator<Pokemon> mapOrder = indexes == null ? null : indexes.resultOrder();
+        if (mapOrder != null) {
+            comparator = comparator == null ? mapOrder : comparator.thenComparing(mapOrder);
+        }
+        int examined = 0;
+
+        List<Pokemon> matches = new ArrayList<>();
+        TopK<Pokemon> best = limit >= 0 && comparator != null ? new TopK<>(limit, comparator) : null;
+
+        for (Pokemon pokemon : candidates(plan)) {
+            if (limit >= 0 && comparator == null && matches.size() >= limit) {
+                break;
+            }
+            examined++;
+            if (!matchesAll(pokemon, plan.residual)) {
+                continue;
+            }
+            if (best != null) {
+                best.offer(pokemon);
+            } else {
+                matches.add(pokemon);
+            }
+        }
+
+        if (best != null) {
+            matches = best.toList();
+        } else if (comparator != null) {
+            matches.sort(comparator);
+        }
+        return new Result(matches, plan.description.toString(), System.nanoTime() - start, examined);
+    }
+
+    /**
+     * Ejecuta la consulta y devuelve solo los Pokémon.
+     *
+     * @return Los Pokémon que cumplen la consulta
+     */
+    public List<Pokemon> list() {
+        return execute().getPokemons();
+    }
+
+    private PokemonQuery add(String description, Predicate<Pokemon> predicate,
+                             Function<PokemonIndexes, PokemonIndexes.Lookup> index) {
+        conditions.add(new Condition(description, predicate, index));
+        return this;
+    }
+
+    private PokemonQuery addOrder(Comparator<Pokemon> comparator, String description) {
+        order = order == null ? comparator : order.thenComparing(comparator);
+        sortDescriptions.add(description);
+        return this;
+    }
+
+    /**
+     * Elige el orden en que se usan los índices e intersecta sus filas.
+     */
+    private Plan plan() {
+        Plan plan = new Plan();
+        if (indexes == null) {
+            plan.step("Recorrido completo: el almacén no tiene índices secundarios");
+            plan.residual.addAll(conditions);
+        } else {
+            List<Condition> indexed = new ArrayList<>();
+            List<PokemonIndexes.Lookup> lookups = new ArrayList<>();
+            List<Integer> estimates = new ArrayList<>();
+            for (Condition condition : conditions) {
+                PokemonIndexes.Lookup lookup = condition.index == null ? null : condition.index.apply(indexes);
+                if (lookup == null) {
+                    plan.residual.add(condition);
+                } else {
+                    int estimate = lookup.estimate();
+                    // Inserción ordenada por número de filas: primero el índice más selectivo
+                    int position = 0;
+                    while (position < estimates.size() && estimates.get(position) <= estimate) {
+                        position++;
+                    }
+                    indexed.add(position, condition);
+                    lookups.add(position, lookup);
+                    estimates.add(position, estimate);
+                }
+            }
+
+            for (int i = 0; i < indexed.size(); i++) {
+                Condition condition = indexed.get(i);
+                if (plan.candidates == null) {
+                    plan.candidates = lookups.get(i).rows();
+                    plan.step(String.format("Índice %s: %d filas", condition.description, plan.candidates.size()));
+                } else if (plan.candidates.size() == 0) {
+                    plan.step(String.format("Índice %s: omitido, no quedan candidatos", condition.description));
+                } else if (estimates.get(i) <= (long) INTERSECT_RATIO * plan.candidates.size()) {
+                    plan.candidates = PostingList.intersect(plan.candidates, lookups.get(i).rows());
+                    plan.step(String.format("Índice %s: %d filas, intersección deja %d",
+                            condition.description, estimates.get(i), plan.candidates.size()));
+                } else {
+                    plan.residual.add(condition);
+                    plan.unselective.add(condition);
+                    plan.step(String.format("Índice %s: %d filas, poco selectivo; se revisa en los registros",
+                            condition.description, estimates.get(i)));
+                }
+            }
+            if (plan.candidates == null) {
+                plan.step(String.format("Recorrido completo: %d filas", indexes.rowCount()));
+            }
+        }
+
+        for (Condition condition : plan.residual) {
+            if (!plan.unselective.contains(condition)) {
+                plan.step("Filtro " + condition.description + " (sin índice)");
+            }
+        }
+        if (!sortDescriptions.isEmpty()) {
+            plan.step("Orden: " + String.join(", ", sortDescriptions));
+        }
+        if (limit >= 0) {
+            plan.step("Límite: " + limit + (order != null ? " (montículo de los mejores resultados)" : ""));
+        }
+        return plan;
+    }
+
+    /**
+     * Obtiene los Pokémon que quedan por revisar según el plan.
+     */
+    private Iterable<Pokemon> candidates(Plan plan) {
+        if (plan.candidates == null) {
+            return scan;
+        }
+        List<Pokemon> candidates = new ArrayList<>(plan.candidates.size());
+        for (int i = 0; i < plan.candidates.size(); i++) {
+            candidates.add(indexes.row(plan.candidates.get(i)));
+        }
+        return candidates;
+    }
+
+    private static boolean matchesAll(Pokemon pokemon, List<Condition> residual) {
+        for (Condition condition : residual) {
+            if (!condition.predicate.test(pokemon)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Filas de los índices de PokemonData guardadas en bloques, de las que se
+ *              pueden tomar versiones inmutables sin copiar los Pokémon.
+ */
+package pokemonmap.data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de Pokémon por identificador de fila, en orden de inserción. Las filas se
+ * guardan en bloques de tamaño fijo, así que agregar una fila nunca copia las
+ * anteriores; al crecer solo se copia el directorio de bloques.
+ * <p>
+ * {@link #freeze()} entrega una versión inmutable en tiempo constante: la versión
+ * comparte los bloques y solo ve las filas que existían al tomarla. Las filas nuevas se
+ * escriben después de esas, donde la versión no mira, y al reemplazar una fila se copia
+ * su bloque y el directorio en lugar de modificarlos. No es seguro para varios hilos:
+ * PokemonData la modifica con su candado de escritura y publica las versiones.
+ */
+final class PokemonRows {
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private Pokemon[][] chunks = new Pokemon[4][];
+    private int size;
+
+    /**
+     * Obtiene el número de filas.
+     *
+     * @return Cantidad de filas
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el Pokémon de una fila existente.
+     *
+     * @param row Identificador de fila, menor que {@link #size()}
+     * @return El Pokémon de esa fila
+     */
+    Pokemon get(int row) {
+        return chunks[row >>> CHUNK_BITS][row & CHUNK_MASK];
+    }
+
+    /**
+     * Agrega un Pokémon en una fila nueva.
+     *
+     * @param pokemon El Pokémon a agregar
+     * @return Identificador de la fila nueva
+     */
+    int add(Pokemon pokemon) {
+        int chunk = size >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new Pokemon[CHUNK_SIZE];
+        }
+        chunks[chunk][size & CHUNK_MASK] = pokemon;
+        return size++;
+    }
+
+    /**
+     * Reemplaza el Pokémon de una fila existente sin modificar las versiones ya tomadas.
+     *
+     * @param row Identificador de fila, menor que {@link #size()}
+     * @param pokemon El Pokémon nuevo
+     */
+    void set(int row, Pokemon pokemon) {
+        int chunk = row >>> CHUNK_BITS;
+        Pokemon[] copy = chunks[chunk].clone();
+        copy[row & CHUNK_MASK] = pokemon;
+        chunks = chunks.clone();
+        chunks[chunk] = copy;
+    }
+
+    /**
+     * Obtiene una vista de solo lectura que refleja las filas actuales y las que se
+     * agreguen después. Solo se recorre con el candado de lectura.
+     *
+     * @return Vista de las filas
+     */
+    List<Pokemon> view() {
+        return new View();
+    }
+
+    /**
+     * Obtiene una versión inmutable de las filas actuales, sin copiarlas.
+     *
+     * @return Lista de solo lectura que no cambia con las modificaciones posteriores
+     */
+    List<Pokemon> freeze() {
+        return new Frozen(chunks, size);
+    }
+
+    /**
+     * Vista de las filas actuales.
+     */
+    private final class View extends AbstractList<Pokemon> implements RandomAccess {
+        @Override
+        public Pokemon get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Fila fuera de rango: " + index);
+            }
+            return PokemonRows.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Filas de una versión: el directorio de bloques y el número de filas al tomarla.
+     */
+    private static final class Frozen extends AbstractList<Pokemon> implements RandomAccess {
+        private final Pokemon[][] chunks;
+        private final int size;
+
+        Frozen(Pokemon[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public Pokemon get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Fila fuera de rango: " + index);
+            }
+            return chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Versión inmutable de los Pokémon de un PokemonData, que se puede recorrer
+ *              sin candados mientras otros hilos agregan Pokémon.
+ */
+package pokemonmap.data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Versión inmutable de los Pokémon de una colección. Se obtiene con
+ * {@link PokemonData#snapshot()}; quien la tiene sigue viendo la misma versión aunque
+ * la colección cambie, y la memoria de las versiones viejas se libera cuando nadie las
+ * referencia.
+ * <p>
+ * Con los Map en el heap, cada inserción publica una versión nueva que comparte las
+ * filas con la anterior, así que crearla no copia los Pokémon. Con TREE_MAP y
+ * CONCURRENT_SKIP_LIST_MAP el orden por nombre se calcula la primera vez que se pide
+ * la lista de una versión, ordenando solo las filas nuevas y mezclándolas con el
+ * último orden calculado.
+ */
+public final class PokemonSnapshot {
+    private final long version;
+    private final List<Pokemon> rows;
+    private final NameOrder nameOrder;
+    // Lista en el orden de la colección; se calcula una vez si hay que ordenar por nombre
+    private volatile List<Pokemon> pokemons;
+
+    /**
+     * Copia los Pokémon de una versión de la colección.
+     *
+     * @param version Número de versión de la colección
+     * @param pokemons Los Pokémon en el orden del almacén
+     */
+    PokemonSnapshot(long version, Collection<Pokemon> pokemons) {
+        this.version = version;
+        this.rows = new ArrayView(pokemons.toArray(new Pokemon[0]));
+        this.nameOrder = null;
+        this.pokemons = rows;
+    }
+
+    /**
+     * Crea una versión sobre filas inmutables, sin copiarlas.
+     *
+     * @param version Número de versión de la colección
+     * @param rows Los Pokémon en orden de inserción, que no deben cambiar
+     * @param nameOrder Orden por nombre compartido entre las versiones, o null para
+     *                  conservar el orden de inserción
+     */
+    PokemonSnapshot(long version, List<Pokemon> rows, NameOrder nameOrder) {
+        this.version = version;
+        this.rows = rows;
+        this.nameOrder = nameOrder;
+        this.pokemons = nameOrder == null ? rows : null;
+    }
+
+    /**
+     * Obtiene el número de versión. Cada inserción en la colección crea una versión
+     * mayor.
+     *
+     * @return Número de versión
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene los Pokémon de esta versión: por nombre con TREE_MAP y
+     * CONCURRENT_SKIP_LIST_MAP y en orden de inserción con los demás Map del heap.
+     *
+     * @return Lista de Pokémon que no se puede modificar
+     */
+    public List<Pokemon> getPokemons() {
+        List<Pokemon> result = pokemons;
+        if (result == null) {
+            // Dos hilos pueden calcularlo a la vez; ambos obtienen el mismo orden
+            result = new OrderedView(rows, nameOrder.rowsByName(rows));
+            pokemons = result;
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene el número de Pokémon de esta versión.
+     *
+     * @return Cantidad de Pokémon
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Orden por nombre de las filas de una colección, compartido por todas sus
+     * versiones. Las filas conservan su nombre al reemplazarse y las nuevas se agregan
+     * al final, así que el orden de las primeras n filas sirve para cualquier versión
+     * con al menos n filas.
+     */
+    static final class NameOrder {
+        private volatile int[] latest = new int[0];
+
+        /**
+         * Obtiene los identificadores de las filas ordenados por nombre.
+         *
+         * @param rows Filas de una versión
+         * @return Identificadores de todas las filas, ordenados por nombre
+         */
+        int[] rowsByName(List<Pokemon> rows) {
+            int[] base = latest;
+            int count = rows.size();
+            if (base.length == count) {
+                return base;
+            }
+            if (base.length > count) {
+                // Versión anterior al último orden: se quitan las filas que no tenía
+                int[] order = new int[count];
+                int n = 0;
+                for (int row : base) {
+                    if (row < count) {
+                        order[n++] = row;
+                    }
+                }
+                return order;
+            }
+
+            Integer[] added = new Integer[count - base.length];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = base.length + i;
+            }
+            Arrays.sort(added, (a, b) -> rows.get(a).getName().compareTo(rows.get(b).getName()));
+
+            // Las filas nuevas suelen ser pocas: cada una se ubica con búsqueda binaria y los
+            // tramos del orden anterior entre ellas se copian completos
+            int[] order = new int[count];
+            int copied = 0;
+            for (int j = 0; j < added.length; j++) {
+                String name = rows.get(added[j]).getName();
+                int low = copied;
+                int high = base.length;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (rows.get(base[middle]).getName().compareTo(name) < 0) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+                System.arraycopy(base, copied, order, copied + j, low - copied);
+                order[low + j] = added[j];
+                copied = low;
+            }
+            System.arraycopy(base, copied, order, copied + added.length, base.length - copied);
+            if (count > latest.length) {
+                latest = order;
+            }
+            return order;
+        }
+    }
+
+    /**
+     * Lista de solo lectura sobre el arreglo copiado.
+     */
+    private static final class ArrayView extends AbstractList<Pokemon> implements RandomAccess {
+        private final Pokemon[] elements;
+
+        ArrayView(Pokemon[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public Pokemon get(int index) {
+            return elements[index];
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+    }
+
+    /**
+     * Lista de solo lectura que recorre las filas en el orden indicado.
+     */
+    private static final class OrderedView extends AbstractList<Pokemon> implements RandomAccess {
+        private final List<Pokemon> rows;
+        private final int[] order;
+
+        OrderedView(List<Pokemon> rows, int[] order) {
+            this.rows = rows;
+            this.order = order;
+        }
+
+        @Override
+        public Pokemon get(int index) {
+            return rows.get(order[index]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Interfaz para los almacenes de Pokémon que implementan por sí mismos
+ *              los recorridos de PokemonData de forma más eficiente que un Map genérico.
+ */
+package pokemonmap.data;
+
+import java.util.List;
+
+/**
+ * Operaciones de recorrido que un almacén de Pokémon puede resolver directamente sobre
+ * su representación interna. PokemonData las usa en lugar de recorrer
+ * {@code values()} cuando el Map creado por la Factory implementa esta interfaz.
+ * Los resultados deben ser los mismos que los del recorrido genérico.
+ */
+public interface PokemonStore {
+
+    /**
+     * Busca los Pokémon que tengan una habilidad específica, con la misma semántica
+     * que {@link Pokemon#hasAbility(String)}.
+     *
+     * @param ability La habilidad a buscar
+     * @return Lista de Pokémon que tienen la habilidad, en el orden del almacén
+     */
+    List<Pokemon> findByAbility(String ability);
+
+    /**
+     * Busca varias habilidades a la vez, con la misma semántica que
+     * {@link #findByAbility(String)} para cada una, recorriendo el almacén una sola vez.
+     *
+     * @param abilities Las habilidades a buscar
+     * @return Para cada habilidad, en el mismo orden, la lista de Pokémon que la tienen
+     */
+    List<List<Pokemon>> findByAbilities(List<String> abilities);
+
+    /**
+     * Obtiene todos los Pokémon ordenados por tipo primario. Los Pokémon del mismo
+     * tipo conservan el orden del almacén.
+     *
+     * @return Lista de Pokémon ordenados alfabéticamente por tipo primario
+     */
+    List<Pokemon> sortedByType1();
+}
@@ -0,0 +1,121 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Lista ordenada de identificadores de fila enteros, usada por los
+ *              índices secundarios de PokemonData.
+ */
+package pokemonmap.data;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto ordenado de identificadores de fila guardado en un arreglo de enteros.
+ * Como las filas nuevas reciben identificadores crecientes, agregar suele ser una
+ * inserción al final; eliminar o reinsertar una fila existente desplaza el arreglo.
+ */
+final class PostingList {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Agrega un identificador si no estaba en la lista.
+     *
+     * @param id Identificador de fila
+     */
+    void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            insertAt(-index - 1, id);
+        } else {
+            insertAt(size, id);
+        }
+    }
+
+    /**
+     * Elimina un identificador de la lista.
+     *
+     * @param id Identificador de fila
+     * @return true si el identificador estaba en la lista
+     */
+    boolean remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Verifica si un identificador está en la lista.
+     *
+     * @param id Identificador de fila
+     * @return true si el identificador está en la lista
+     */
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Obtiene el identificador de una posición de la lista.
+     *
+     * @param index Posición en la lista (desde 0)
+     * @return El identificador en esa posición
+     */
+    int get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Obtiene el número de identificadores de la lista.
+     *
+     * @return Cantidad de identificadores
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calcula la intersección de dos listas recorriendo la más corta y buscando cada
+     * identificador en la otra con búsqueda binaria.
+     *
+     * @param a Primera lista
+     * @param b Segunda lista
+     * @return Lista nueva con los identificadores que están en ambas
+     */
+    static PostingList intersect(PostingList a, PostingList b) {
+        PostingList shorter = a.size <= b.size ? a : b;
+        PostingList longer = shorter == a ? b : a;
+        PostingList result = new PostingList();
+        int from = 0;
+        for (int i = 0; i < shorter.size; i++) {
+            int index = Arrays.binarySearch(longer.ids, from, longer.size, shorter.ids[i]);
+            if (index >= 0) {
+                result.add(shorter.ids[i]);
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+        }
+        return result;
+    }
+
+    private void insertAt(int index, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
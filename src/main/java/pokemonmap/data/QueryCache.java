@@ -0,0 +1,233 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Caché acotado de resultados de búsquedas sobre la colección de Pokémon,
+ *              con desalojo del menos usado recientemente e invalidación al modificarla.
+ */
+package pokemonmap.data;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Guarda los resultados de las búsquedas, identificados por una clave que describe la
+ * búsqueda ya normalizada, para responder las repetidas sin volver a calcularlas.
+ * <p>
+ * El caché está acotado por número de resultados y por peso total, contando cada
+ * Pokémon de cada lista. Al pasarse de cualquiera de los dos límites se descartan los
+ * resultados usados hace más tiempo. Un resultado que por sí solo supera el peso máximo
+ * no se guarda. El peso cuenta referencias, no bytes: las listas comparten los Pokémon
+ * que la colección ya tiene en el heap, así que no sirve para almacenes que reconstruyen
+ * un Pokémon nuevo en cada búsqueda, como OFF_HEAP y COLUMNAR.
+ * <p>
+ * Cada modificación de la colección incrementa un contador de generación; los
+ * resultados de generaciones anteriores se descartan en el siguiente acceso. Un
+ * resultado calculado mientras la colección cambiaba lleva la generación en la que
+ * empezó a calcularse y no llega a guardarse. Las listas guardadas se comparten entre
+ * quienes las piden, así que se entregan sin permitir modificaciones. Es seguro para
+ * usarse desde varios hilos; los resultados se calculan fuera del candado, de modo
+ * que una búsqueda lenta no detiene a las demás.
+ */
+public class QueryCache {
+    // Número máximo de resultados guardados por defecto
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+    // Peso máximo por defecto: alcanza para dos listas completas de dos millones de Pokémon
+    public static final long DEFAULT_MAX_WEIGHT = 4_000_000L;
+
+    private final int maxEntries;
+    private final long maxWeight;
+    // En orden de acceso: el primero es el usado hace más tiempo
+    private final LinkedHashMap<String, List<Pokemon>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private long entriesGeneration;
+    private long weight;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Crea un caché con los límites por defecto.
+     */
+    public QueryCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Crea un caché con límites dados.
+     *
+     * @param maxEntries Número máximo de resultados guardados
+     * @param maxWeight Número máximo de Pokémon sumando todos los resultados guardados
+     * @throws IllegalArgumentException si algún límite es negativo
+     */
+    public QueryCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 0 || maxWeight < 0) {
+            throw new IllegalArgumentException("Los límites del caché no pueden ser negativos: "
+                    + maxEntries + ", " + maxWeight);
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Obtiene el resultado guardado de una búsqueda o, si no lo hay, lo calcula y lo guarda.
+     *
+     * @param key Descripción normalizada de la búsqueda
+     * @param query Cálculo del resultado
+     * @return El resultado, sin permitir modificaciones
+     */
+    List<Pokemon> get(String key, Supplier<List<Pokemon>> query) {
+        List<Pokemon> cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        long started = generation.get();
+        List<Pokemon> result = Collections.unmodifiableList(query.get());
+        store(key, started, result);
+        return result;
+    }
+
+    /**
+     * Obtiene el resultado guardado de una búsqueda, contando el acierto o el fallo.
+     *
+     * @param key Descripción normalizada de la búsqueda
+     * @return El resultado sin permitir modificaciones, o null si no está guardado
+     */
+    List<Pokemon> lookup(String key) {
+        List<Pokemon> cached;
+        synchronized (entries) {
+            discardStale();
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Obtiene la generación actual, que debe tomarse antes de calcular un resultado
+     * que se guardará con {@link #store}.
+     *
+     * @return Generación actual de la colección
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda el resultado de una búsqueda si la colección no cambió desde que empezó a
+     * calcularse.
+     *
+     * @param key Descripción normalizada de la búsqueda
+     * @param started Generación tomada antes de calcular el resultado
+     * @param result Resultado, ya sin permitir modificaciones
+     */
+    void store(String key, long started, List<Pokemon> result) {
+        long resultWeight = result.size() + 1L;
+        if (maxEntries == 0 || resultWeight > maxWeight) {
+            return;
+        }
+        synchronized (entries) {
+            discardStale();
+            if (started != entriesGeneration) {
+                return;
+            }
+            List<Pokemon> previous = entries.put(key, result);
+            if (previous != null) {
+                weight -= previous.size() + 1L;
+            }
+            weight += resultWeight;
+
+            Iterator<List<Pokemon>> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || weight > maxWeight) {
+                weight -= eldest.next().size() + 1L;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Invalida todos los resultados guardados. Se llama cada vez que cambia la colección;
+     * solo incrementa la generación, así que es barato aun durante una carga masiva.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Descarta los resultados si la colección cambió desde que se guardaron.
+     * Debe llamarse con el candado tomado.
+     */
+    private void discardStale() {
+        long current = generation.get();
+        if (current != entriesGeneration) {
+            entries.clear();
+            weight = 0;
+            entriesGeneration = current;
+        }
+    }
+
+    /**
+     * Obtiene el número de resultados guardados y vigentes.
+     *
+     * @return Cantidad de resultados
+     */
+    public int size() {
+        synchronized (entries) {
+            discardStale();
+            return entries.size();
+        }
+    }
+
+    /**
+     * Obtiene el número de búsquedas respondidas con un resultado guardado.
+     *
+     * @return Cantidad de aciertos
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtiene el número de búsquedas que tuvieron que calcularse.
+     *
+     * @return Cantidad de fallos
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtiene el número de resultados descartados para respetar los límites del caché.
+     *
+     * @return Cantidad de resultados desalojados
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Genera un resumen legible del uso del caché.
+     *
+     * @return Texto con los resultados guardados, los aciertos, los fallos y los desalojos
+     */
+    public String report() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return String.format("Caché de búsquedas: %d resultados guardados, %d de %d búsquedas respondidas "
+                + "desde el caché (%.1f%%), %d desalojos", size(), hitCount, total,
+                total == 0 ? 0.0 : 100.0 * hitCount / total, getEvictionCount());
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Índice de rangos sobre un atributo numérico (altura o peso), con las
+ *              claves en arreglos primitivos ordenados y búsqueda binaria de los límites.
+ */
+package pokemonmap.data;
+
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Índice ordenado de un atributo double. Guarda las claves en un arreglo primitivo
+ * ordenado, junto con un arreglo paralelo de identificadores de fila, y resuelve
+ * consultas de rango con dos búsquedas binarias.
+ * <p>
+ * Las filas nuevas no se mezclan de inmediato con el arreglo principal. Primero van a
+ * una cola sin ordenar de a lo sumo √n entradas; cuando se llena, se ordena y se mezcla
+ * con un búfer ordenado de a lo sumo n/8 entradas, y solo cuando ese búfer pasa su
+ * límite se mezcla con el arreglo principal. Una inserción cuesta así O(√n) amortizado
+ * y una carga masiva no ordena todo más de unas pocas veces. Las consultas leen las
+ * tres partes sin modificarlas, así que pueden correr en paralelo mientras no haya
+ * una inserción a la vez.
+ * <p>
+ * Cuando una fila cambia de valor se agrega de nuevo con la clave nueva. Las consultas
+ * descartan las entradas cuya clave ya no coincide con el valor actual de la fila, y
+ * las mezclas las eliminan.
+ */
+final class RangeIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    /** El búfer ordenado se mezcla con el arreglo principal al pasar esta fracción de él. */
+    private static final int RECENT_FRACTION = 8;
+
+    private final IntToDoubleFunction currentKey;
+    private double[] keys = new double[0];
+    private int[] rows = new int[0];
+    private double[] recentKeys = new double[0];
+    private int[] recentRows = new int[0];
+    private double[] tailKeys = new double[INITIAL_CAPACITY];
+    private int[] tailRows = new int[INITIAL_CAPACITY];
+    private int tailCount;
+
+    /**
+     * Crea un índice vacío.
+     *
+     * @param currentKey Función que obtiene el valor actual de una fila
+     */
+    RangeIndex(IntToDoubleFunction currentKey) {
+        this.currentKey = currentKey;
+    }
+
+    /**
+     * Agrega una fila con su clave. Se usa también cuando cambia el valor de una fila.
+     *
+     * @param row Identificador de fila
+     * @param key Valor del atributo
+     */
+    void add(int row, double key) {
+        if (tailCount == tailKeys.length) {
+            tailKeys = Arrays.copyOf(tailKeys, tailCount * 2);
+            tailRows = Arrays.copyOf(tailRows, tailCount * 2);
+        }
+        tailKeys[tailCount] = key;
+        tailRows[tailCount] = row;
+        tailCount++;
+        if (tailCount > Math.max(INITIAL_CAPACITY, (int) Math.sqrt(keys.length + recentKeys.length))) {
+            flushTail();
+            if (recentKeys.length > Math.max(INITIAL_CAPACITY, keys.length / RECENT_FRACTION)) {
+                flushRecent();
+            }
+        }
+    }
+
+    /**
+     * Mezcla todas las filas pendientes con el arreglo principal, por ejemplo al
+     * terminar una carga, para que las consultas solo recorran un arreglo.
+     */
+    void build() {
+        flushTail();
+        flushRecent();
+    }
+
+    /**
+     * Obtiene una cota superior del número de filas con clave en [min, max], sin
+     * reunirlas.
+     *
+     * @param min Límite inferior, incluido
+     * @param max Límite superior, incluido
+     * @return Cantidad estimada de filas
+     */
+    int estimate(double min, double max) {
+        int total = Math.max(0, upperBound(keys, max) - lowerBound(keys, min))
+                + Math.max(0, upperBound(recentKeys, max) - lowerBound(recentKeys, min));
+        for (int i = 0; i < tailCount; i++) {
+            if (tailKeys[i] >= min && tailKeys[i] <= max) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las filas con clave en [min, max], ordenadas por clave y, en los empates,
+     * por identificador.
+     *
+     * @param min Límite inferior, incluido
+     * @param max Límite superior, incluido
+     * @return Identificadores de fila, sin repetidos
+     */
+    int[] rowsInOrder(double min, double max) {
+        int mainFrom = lowerBound(keys, min);
+        int mainTo = Math.max(mainFrom, upperBound(keys, max));
+        int recentFrom = lowerBound(recentKeys, min);
+        int recentTo = Math.max(recentFrom, upperBound(recentKeys, max));
+
+        // La cola no está ordenada: se ordenan solo sus entradas dentro del rango
+        int tailMatches = 0;
+        double[] matchKeys = new double[tailCount];
+        int[] matchRows = new int[tailCount];
+        for (int i = 0; i < tailCount; i++) {
+            if (tailKeys[i] >= min && tailKeys[i] <= max) {
+                matchKeys[tailMatches] = tailKeys[i];
+                matchRows[tailMatches++] = tailRows[i];
+            }
+        }
+        sort(matchKeys, matchRows, tailMatches);
+
+        int[] result = new int[(mainTo - mainFrom) + (recentTo - recentFrom) + tailMatches];
+        int count = 0;
+        double lastKey = 0;
+        int lastRow = -1;
+        int i = mainFrom;
+        int j = recentFrom;
+        int k = 0;
+        while (i < mainTo || j < recentTo || k < tailMatches) {
+            double key;
+            int row;
+            if (i < mainTo && (j == recentTo || compare(keys[i], rows[i], recentKeys[j], recentRows[j]) <= 0)
+                    && (k == tailMatches || compare(keys[i], rows[i], matchKeys[k], matchRows[k]) <= 0)) {
+                key = keys[i];
+                row = rows[i++];
+            } else if (j < recentTo
+                    && (k == tailMatches || compare(recentKeys[j], recentRows[j], matchKeys[k], matchRows[k]) <= 0)) {
+                key = recentKeys[j];
+                row = recentRows[j++];
+            } else {
+                key = matchKeys[k];
+                row = matchRows[k++];
+            }
+            // Una fila que volvió a un valor anterior puede aparecer en dos partes
+            boolean repeated = row == lastRow && Double.compare(key, lastKey) == 0;
+            if (!repeated && Double.compare(key, currentKey.applyAsDouble(row)) == 0) {
+                result[count++] = row;
+                lastKey = key;
+                lastRow = row;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Obtiene las filas con clave en [min, max], ordenadas por identificador.
+     *
+     * @param min Límite inferior, incluido
+     * @param max Límite superior, incluido
+     * @return Lista de filas
+     */
+    PostingList rowsBetween(double min, double max) {
+        int[] ids = rowsInOrder(min, max);
+        Arrays.sort(ids);
+        PostingList result = new PostingList();
+        for (int id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene la posición de la primera clave mayor o igual que min.
+     */
+    private static int lowerBound(double[] keys, double min) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] < min) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Obtiene la posición siguiente a la última clave menor o igual que max.
+     */
+    private static int upperBound(double[] keys, double max) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle] <= max) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ordena la cola y la mezcla con el búfer ordenado.
+     */
+    private void flushTail() {
+        if (tailCount == 0) {
+            return;
+        }
+        sort(tailKeys, tailRows, tailCount);
+        double[] mergedKeys = new double[recentKeys.length + tailCount];
+        int[] mergedRows = new int[mergedKeys.length];
+        int count = merge(recentKeys, recentRows, recentKeys.length, tailKeys, tailRows, tailCount,
+                          mergedKeys, mergedRows);
+        recentKeys = Arrays.copyOf(mergedKeys, count);
+        recentRows = Arrays.copyOf(mergedRows, count);
+        if (tailKeys.length > INITIAL_CAPACITY) {
+            tailKeys = new double[INITIAL_CAPACITY];
+            tailRows = new int[INITIAL_CAPACITY];
+        }
+        tailCount = 0;
+    }
+
+    /**
+     * Mezcla el búfer ordenado con el arreglo principal.
+     */
+    private void flushRecent() {
+        if (recentKeys.length == 0) {
+            return;
+        }
+        double[] mergedKeys = new double[keys.length + recentKeys.length];
+        int[] mergedRows = new int[mergedKeys.length];
+        int count = merge(keys, rows, keys.length, recentKeys, recentRows, recentKeys.length,
+                          mergedKeys, mergedRows);
+        keys = Arrays.copyOf(mergedKeys, count);
+        rows = Arrays.copyOf(mergedRows, count);
+        recentKeys = new double[0];
+        recentRows = new int[0];
+    }
+
+    /**
+     * Mezcla dos partes ordenadas, descartando las entradas que ya no corresponden al
+     * valor actual de su fila y las repetidas.
+     *
+     * @return Número de entradas escritas en los arreglos de salida
+     */
+    private int merge(double[] keys1, int[] rows1, int count1, double[] keys2, int[] rows2, int count2,
+                      double[] mergedKeys, int[] mergedRows) {
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count1 || j < count2) {
+            double key;
+            int row;
+            if (j == count2 || (i < count1 && compare(keys1[i], rows1[i], keys2[j], rows2[j]) <= 0)) {
+                key = keys1[i];
+                row = rows1[i++];
+            } else {
+                key = keys2[j];
+                row = rows2[j++];
+            }
+            boolean current = Double.compare(key, currentKey.applyAsDouble(row)) == 0;
+            boolean repeated = count > 0 && mergedRows[count - 1] == row
+                    && Double.compare(mergedKeys[count - 1], key) == 0;
+            if (current && !repeated) {
+                mergedKeys[count] = key;
+                mergedRows[count] = row;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int compare(double key1, int row1, double key2, int row2) {
+        int byKey = Double.compare(key1, key2);
+        return byKey != 0 ? byKey : Integer.compare(row1, row2);
+    }
+
+    /**
+     * Ordena por mezcla dos arreglos paralelos por (clave, fila).
+     */
+    private static void sort(double[] keys, int[] rows, int count) {
+        double[] keyBuffer = new double[count];
+        int[] rowBuffer = new int[count];
+        for (int width = 1; width < count; width *= 2) {
+            for (int start = 0; start < count - width; start += 2 * width) {
+                int middle = start + width;
+                int end = Math.min(start + 2 * width, count);
+                int i = start;
+                int j = middle;
+                int k = start;
+                while (i < middle && j < end) {
+                    if (compare(keys[i], rows[i], keys[j], rows[j]) <= 0) {
+                        keyBuffer[k] = keys[i];
+                        rowBuffer[k++] = rows[i++];
+                    } else {
+                        keyBuffer[k] = keys[j];
+                        rowBuffer[k++] = rows[j++];
+                    }
+                }
+                while (i < middle) {
+                    keyBuffer[k] = keys[i];
+                    rowBuffer[k++] = rows[i++];
+                }
+                while (j < end) {
+                    keyBuffer[k] = keys[j];
+                    rowBuffer[k++] = rows[j++];
+                }
+                System.arraycopy(keyBuffer, start, keys, start, end - start);
+                System.arraycopy(rowBuffer, start, rows, start, end - start);
+            }
+        }
+    }
+}
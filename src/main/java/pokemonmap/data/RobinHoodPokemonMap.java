@@ -0,0 +1,368 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Map de nombre a Pokémon con direccionamiento abierto (Robin Hood) sobre
+ *              arreglos planos, sin un nodo por entrada.
+ */
+package pokemonmap.data;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Tabla hash de direccionamiento abierto con sondeo lineal y desplazamiento Robin Hood.
+ * Los códigos hash de las claves se guardan en un arreglo de enteros y cada clave con su
+ * valor en posiciones vecinas de un segundo arreglo, así que una entrada ocupa tres
+ * posiciones de arreglo en lugar de un nodo de HashMap, y una búsqueda exitosa lee una
+ * línea de caché de cada arreglo.
+ * <p>
+ * Al buscar se recorren enteros consecutivos del arreglo de códigos y solo se compara la
+ * cadena cuando los códigos coinciden. Al insertar, una entrada que quedó más lejos de
+ * su posición ideal toma el lugar de otra más cercana a la suya; así las distancias
+ * quedan parejas y una búsqueda fallida se detiene en cuanto encuentra una entrada más
+ * cercana a su posición que la distancia recorrida. Al eliminar, las entradas siguientes
+ * retroceden una posición, sin dejar marcas de borrado.
+ * <p>
+ * No admite claves null. El recorrido no sigue ningún orden particular y no es seguro
+ * para varios hilos, igual que HashMap.
+ */
+public class RobinHoodPokemonMap extends AbstractMap<String, Pokemon> {
+    private static final int MIN_CAPACITY = 16;
+    // El arreglo de entradas mide el doble de la capacidad
+    private static final int MAX_CAPACITY = 1 << 29;
+    // Ocupación máxima antes de duplicar la tabla, como fracción de 8
+    private static final int MAX_LOAD_EIGHTHS = 7;
+    // Código que marca una posición vacía; los códigos guardados nunca valen 0
+    private static final int EMPTY = 0;
+
+    private int[] hashes;
+    // Clave en la posición 2i y valor en la 2i + 1 para la entrada de la posición i
+    private Object[] entries;
+    private int mask;
+    private int threshold;
+    private int size;
+    private EntrySet entrySet;
+    private Values valuesView;
+
+    /**
+     * Crea una tabla vacía.
+     */
+    public RobinHoodPokemonMap() {
+        this(0);
+    }
+
+    /**
+     * Crea una tabla con espacio para un número esperado de entradas, de modo que la
+     * carga no tenga que agrandarla.
+     *
+     * @param expectedSize Número esperado de entradas
+     * @throws IllegalArgumentException si el número esperado es negativo
+     */
+    public RobinHoodPokemonMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public Pokemon get(Object key) {
+        int slot = find(key);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    @Override
+    public Pokemon put(String key, Pokemon value) {
+        int slot = find(key);
+        if (slot >= 0) {
+            Pokemon previous = valueAt(slot);
+            entries[2 * slot + 1] = value;
+            return previous;
+        }
+        if (size >= threshold) {
+            allocate(hashes.length * 2);
+        }
+        insert(hash(key), key, value);
+        size++;
+        return null;
+    }
+
+    @Override
+    public Pokemon remove(Object key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        Pokemon previous = valueAt(slot);
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(hashes, EMPTY);
+        Arrays.fill(entries, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Pokemon>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Collection<Pokemon> values() {
+        if (valuesView == null) {
+            valuesView = new Values();
+        }
+        return valuesView;
+    }
+
+    /**
+     * Obtiene la posición de una clave, o -1 si no está.
+     */
+    private int find(Object key) {
+        if (key == null) {
+            throw new NullPointerException("RobinHoodPokemonMap no admite claves null");
+        }
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        int hash = hash((String) key);
+        int slot = hash & mask;
+        for (int distance = 0; ; distance++) {
+            int stored = hashes[slot];
+            // Una entrada más cercana a su posición indica que la clave no está
+            if (stored == EMPTY || ((slot - stored) & mask) < distance) {
+                return -1;
+            }
+            if (stored == hash && key.equals(entries[2 * slot])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Coloca una entrada nueva, desplazando las que están más cerca de su posición ideal.
+     */
+    private void insert(int hash, Object key, Object value) {
+        int slot = hash & mask;
+        for (int distance = 0; ; distance++) {
+            int stored = hashes[slot];
+            if (stored == EMPTY) {
+                hashes[slot] = hash;
+                entries[2 * slot] = key;
+                entries[2 * slot + 1] = value;
+                return;
+            }
+            int storedDistance = (slot - stored) & mask;
+            if (storedDistance < distance) {
+                Object displacedKey = entries[2 * slot];
+                Object displacedValue = entries[2 * slot + 1];
+                hashes[slot] = hash;
+                entries[2 * slot] = key;
+                entries[2 * slot + 1] = value;
+                hash = stored;
+                key = displacedKey;
+                value = displacedValue;
+                distance = storedDistance;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Elimina la entrada de una posición y retrocede las siguientes que no están en su
+     * posición ideal.
+     */
+    private void removeAt(int slot) {
+        int next = (slot + 1) & mask;
+        while (hashes[next] != EMPTY && ((next - hashes[next]) & mask) != 0) {
+            hashes[slot] = hashes[next];
+            entries[2 * slot] = entries[2 * next];
+            entries[2 * slot + 1] = entries[2 * next + 1];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = EMPTY;
+        entries[2 * slot] = null;
+        entries[2 * slot + 1] = null;
+        size--;
+    }
+
+    /**
+     * Crea arreglos de la capacidad dada y vuelve a insertar las entradas existentes.
+     */
+    private void allocate(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("La tabla alcanzó su capacidad máxima");
+        }
+        int[] oldHashes = hashes;
+        Object[] oldEntries = entries;
+        hashes = new int[capacity];
+        entries = new Object[2 * capacity];
+        mask = capacity - 1;
+        threshold = (int) ((long) capacity * MAX_LOAD_EIGHTHS / 8);
+        if (oldHashes != null) {
+            for (int i = 0; i < oldHashes.length; i++) {
+                if (oldHashes[i] != EMPTY) {
+                    insert(oldHashes[i], oldEntries[2 * i], oldEntries[2 * i + 1]);
+                }
+            }
+        }
+    }
+
+    private Pokemon valueAt(int slot) {
+        return (Pokemon) entries[2 * slot + 1];
+    }
+
+    /**
+     * Obtiene la menor potencia de dos que admite un número de entradas sin pasar de la
+     * ocupación máxima.
+     */
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, ((long) expectedSize * 8 + MAX_LOAD_EIGHTHS - 1) / MAX_LOAD_EIGHTHS + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Tamaño esperado demasiado grande: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Mezcla el código hash de la cadena para repartir también los bits bajos, que son
+     * los que eligen la posición.
+     */
+    private static int hash(String key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return hash == EMPTY ? 1 : hash;
+    }
+
+    /**
+     * Recorre las posiciones ocupadas. Empieza después de una posición vacía: como las
+     * entradas solo retroceden hasta la primera posición vacía, eliminar durante el
+     * recorrido nunca mueve una entrada ya visitada a una posición por visitar.
+     */
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private final int start = firstEmptySlot();
+        private int visited;
+        private int remaining = size;
+        private int current = -1;
+
+        abstract T element(int slot);
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int slot = (start + visited++) & mask;
+            while (hashes[slot] == EMPTY) {
+                slot = (start + visited++) & mask;
+            }
+            remaining--;
+            current = slot;
+            return element(slot);
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(current);
+            // Una entrada siguiente pudo retroceder a esta posición y aún no se ha visitado
+            if (hashes[current] != EMPTY) {
+                visited--;
+            }
+            current = -1;
+        }
+
+        private int firstEmptySlot() {
+            int slot = 0;
+            while (hashes[slot] != EMPTY) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Vista de las posiciones ocupadas como entradas del Map.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, Pokemon>> {
+        @Override
+        public Iterator<Entry<String, Pokemon>> iterator() {
+            return new SlotIterator<Entry<String, Pokemon>>() {
+                @Override
+                Entry<String, Pokemon> element(int slot) {
+                    return new SimpleImmutableEntry<>((String) entries[2 * slot], valueAt(slot));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            RobinHoodPokemonMap.this.clear();
+        }
+    }
+
+    /**
+     * Vista de los valores, sin crear una entrada por Pokémon.
+     */
+    private final class Values extends AbstractCollection<Pokemon> {
+        @Override
+        public Iterator<Pokemon> iterator() {
+            return new SlotIterator<Pokemon>() {
+                @Override
+                Pokemon element(int slot) {
+                    return valueAt(slot);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            RobinHoodPokemonMap.this.clear();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Diccionario de cadenas que se usa durante la carga de datos para que
+ *              los valores repetidos (tipos, clasificación, habilidades, etc.) compartan
+ *              una sola instancia.
+ */
+package pokemonmap.data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Diccionario que canonicaliza cadenas: para cada valor distinto conserva una sola
+ * instancia y devuelve siempre esa misma. Se usa al cargar las columnas de baja
+ * cardinalidad (type1, type2, classification, abilities y legendaryStatus), de modo
+ * que miles de Pokémon comparten unas pocas cadenas en lugar de tener una copia cada uno.
+ * Lleva estadísticas de las cadenas reutilizadas y de una estimación de los bytes
+ * ahorrados. Es seguro para usarse desde varios hilos, como en la carga en paralelo.
+ */
+public class StringPool {
+    // Cabecera del objeto String más cabecera del arreglo de bytes en una JVM de 64 bits
+    private static final int STRING_OVERHEAD = 24 + 16;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Devuelve la instancia canónica de una cadena.
+     * Si es la primera vez que aparece el valor, la propia cadena se vuelve la canónica.
+     *
+     * @param value Cadena a canonicalizar (puede ser null)
+     * @return La instancia compartida con el mismo contenido, o null si value es null
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        lookups.increment();
+
+        String canonical = values.get(value);
+        if (canonical == null) {
+            canonical = values.putIfAbsent(value, value);
+            if (canonical == null) {
+                return value;
+            }
+        }
+
+        if (canonical != value) {
+            reused.increment();
+            bytesSaved.add(estimateSize(value));
+        }
+        return canonical;
+    }
+
+    /**
+     * Obtiene el número de valores distintos del diccionario.
+     *
+     * @return Cantidad de cadenas canónicas
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Obtiene el número de cadenas que se reemplazaron por una instancia ya existente.
+     *
+     * @return Cantidad de cadenas reutilizadas
+     */
+    public long getReusedCount() {
+        return reused.sum();
+    }
+
+    /**
+     * Obtiene una estimación de la memoria ahorrada al compartir instancias.
+     *
+     * @return Bytes que habrían ocupado las copias descartadas
+     */
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Genera un resumen legible de la deduplicación realizada.
+     *
+     * @return Texto con los valores distintos, las cadenas reutilizadas y los bytes ahorrados
+     */
+    public String report() {
+        return String.format("Diccionario de cadenas: %d valores distintos, %d de %d cadenas reutilizadas, "
+                + "~%.1f KB ahorrados", size(), getReusedCount(), lookups.sum(), getBytesSaved() / 1024.0);
+    }
+
+    /**
+     * Estima el tamaño en memoria de una cadena, considerando las cadenas compactas
+     * (un byte por carácter si todos son Latin-1) y el alineamiento a 8 bytes.
+     */
+    private static long estimateSize(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long size = STRING_OVERHEAD + (long) value.length() * bytesPerChar;
+        return (size + 7) & ~7L;
+    }
+}
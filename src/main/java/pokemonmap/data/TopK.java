@@ -0,0 +1,192 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Selección de los k mejores elementos de un recorrido con un montículo
+ *              acotado, sin ordenar ni copiar todos los elementos.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Conserva los k primeros elementos según un orden mientras se recorren los demás.
+ * El montículo guarda en la raíz el peor de los conservados, así que cada elemento
+ * nuevo se compara una sola vez con él y solo entra si es mejor; el costo total es
+ * O(n log k) con memoria O(k).
+ * <p>
+ * Los empates se resuelven por orden de llegada, igual que en un ordenamiento estable.
+ * Dos selecciones parciales se pueden combinar, de modo que un recorrido en paralelo
+ * da el mismo resultado que uno secuencial; {@link #collector} las usa con streams.
+ *
+ * @param <T> Tipo de los elementos
+ */
+final class TopK<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private final Comparator<? super T> order;
+    // Montículo con el peor elemento conservado en la raíz
+    private Object[] elements;
+    // Orden de llegada de cada elemento, para desempatar
+    private long[] sequences;
+    private int size;
+    private long seen;
+
+    /**
+     * Crea una selección vacía.
+     *
+     * @param k Número de elementos a conservar
+     * @param order Orden de los elementos; los primeros son los que se conservan
+     * @throws IllegalArgumentException si k es negativo
+     */
+    TopK(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de resultados no puede ser negativo: " + k);
+        }
+        this.k = k;
+        this.order = order;
+        int capacity = Math.min(k, INITIAL_CAPACITY);
+        this.elements = new Object[capacity];
+        this.sequences = new long[capacity];
+    }
+
+    /**
+     * Crea un colector que deja los k primeros elementos de un stream, en orden.
+     *
+     * @param k Número de elementos a conservar
+     * @param order Orden de los elementos
+     * @return Colector que produce una lista de a lo sumo k elementos
+     * @throws IllegalArgumentException si k es negativo
+     */
+    static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> order) {
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de resultados no puede ser negativo: " + k);
+        }
+        return Collector.of(() -> new TopK<T>(k, order), TopK::offer,
+                            (left, right) -> left.merge(right), TopK::toList);
+    }
+
+    /**
+     * Ofrece un elemento; se conserva si está entre los k primeros vistos hasta ahora.
+     *
+     * @param element Elemento recorrido
+     */
+    void offer(T element) {
+        insert(element, seen++);
+    }
+
+    /**
+     * Agrega los elementos de otra selección, recorrida después de esta.
+     *
+     * @param other Selección de los elementos siguientes
+     * @return Esta selección
+     */
+    TopK<T> merge(TopK<T> other) {
+        long offset = seen;
+        for (int i = 0; i < other.size; i++) {
+            insert(other.element(i), offset + other.sequences[i]);
+        }
+        seen += other.seen;
+        return this;
+    }
+
+    /**
+     * Obtiene los elementos conservados, del primero al último según el orden. Vacía
+     * la selección, así que se llama una sola vez al terminar el recorrido.
+     *
+     * @return Lista de a lo sumo k elementos
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toList() {
+        // Se extrae el peor repetidamente y se coloca al final
+        Object[] sorted = new Object[size];
+        while (size > 0) {
+            sorted[size - 1] = elements[0];
+            size--;
+            elements[0] = elements[size];
+            sequences[0] = sequences[size];
+            elements[size] = null;
+            siftDown(0);
+        }
+        List<T> result = new ArrayList<>(sorted.length);
+        for (Object element : sorted) {
+            result.add((T) element);
+        }
+        return result;
+    }
+
+    private void insert(T element, long sequence) {
+        if (size < k) {
+            if (size == elements.length) {
+                int capacity = (int) Math.min(k, size * 2L);
+                elements = Arrays.copyOf(elements, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+            }
+            elements[size] = element;
+            sequences[size] = sequence;
+            siftUp(size++);
+        } else if (k > 0 && worse(0, element, sequence)) {
+            elements[0] = element;
+            sequences[0] = sequence;
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(index, element(parent), sequences[parent])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && worse(child + 1, element(child), sequences[child])) {
+                child++;
+            }
+            if (!worse(child, element(index), sequences[index])) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    /**
+     * Indica si el elemento de una posición va después de otro elemento.
+     */
+    private boolean worse(int index, T element, long sequence) {
+        int comparison = order.compare(element(index), element);
+        return comparison > 0 || (comparison == 0 && sequences[index] > sequence);
+    }
+
+    private void swap(int i, int j) {
+        Object element = elements[i];
+        elements[i] = elements[j];
+        elements[j] = element;
+        long sequence = sequences[i];
+        sequences[i] = sequences[j];
+        sequences[j] = sequence;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int index) {
+        return (T) elements[index];
+    }
+}
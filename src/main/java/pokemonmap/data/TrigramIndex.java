@@ -0,0 +1,262 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Índice de trigramas sobre los nombres de los Pokémon para buscar
+ *              nombres parecidos a uno mal escrito.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de trigramas (grupos de tres caracteres consecutivos, sin distinguir
+ * mayúsculas) sobre los nombres. Cada nombre se rellena con dos espacios a cada lado,
+ * de modo que también cuentan su inicio y su final.
+ * <p>
+ * Cada edición altera a lo sumo cuatro trigramas del nombre buscado (tres al insertar,
+ * borrar o cambiar una letra; cuatro al intercambiar dos letras vecinas). Si el nombre
+ * tiene m trigramas distintos, cualquier nombre a distancia d o menos comparte al menos
+ * m - 4d de ellos, así que aparece en alguna de las 4d + 1 listas más cortas. Solo esos
+ * candidatos se comparan con la distancia de edición acotada; nunca se recorren todos
+ * los nombres.
+ */
+final class TrigramIndex {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final char PADDING = ' ';
+    // Trigramas que puede alterar una sola edición
+    private static final int GRAMS_PER_EDIT = 4;
+
+    private final Map<Long, GramList> postings = new HashMap<>();
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Un nombre encontrado y su distancia de edición al nombre buscado.
+     */
+    static final class Match {
+        final String name;
+        final int distance;
+
+        Match(String name, int distance) {
+            this.name = name;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Lista de los nombres que contienen un trigrama. Como los identificadores se
+     * agregan en orden creciente, se guardan las diferencias entre identificadores
+     * consecutivos con longitud variable (7 bits por byte): la mayoría ocupa uno o dos
+     * bytes en lugar de cuatro.
+     */
+    private static final class GramList {
+        private byte[] data = new byte[4];
+        private int length;
+        private int size;
+        private int last;
+
+        void add(int id) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length + (data.length >> 1) + 5);
+            }
+            int delta = id - last;
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) (delta & 0x7F | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+            last = id;
+            size++;
+        }
+
+        /**
+         * Copia los identificadores de la lista a partir de una posición del arreglo.
+         *
+         * @return La posición siguiente al último identificador copiado
+         */
+        int copyTo(int[] target, int offset) {
+            int id = 0;
+            int position = 0;
+            while (position < length) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += delta;
+                target[offset++] = id;
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * Agrega un nombre al índice. Cada nombre debe agregarse una sola vez.
+     *
+     * @param name Nombre del Pokémon
+     */
+    void add(String name) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        int id = size++;
+        names[id] = name;
+        for (long trigram : trigrams(name)) {
+            postings.computeIfAbsent(trigram, key -> new GramList()).add(id);
+        }
+    }
+
+    /**
+     * Busca los nombres más parecidos a uno dado.
+     * La distancia es la de Damerau-Levenshtein restringida (cambiar, insertar, borrar o
+     * intercambiar dos letras vecinas cuesta 1), sin distinguir mayúsculas. Para nombres
+     * muy cortos la distancia máxima se reduce hasta la que el índice puede garantizar.
+     *
+     * @param query Nombre buscado
+     * @param maxDistance Distancia máxima permitida
+     * @param limit Número máximo de resultados
+     * @return Los nombres encontrados, del más parecido al menos parecido
+     */
+    List<Match> similar(String query, int maxDistance, int limit) {
+        long[] grams = trigrams(query);
+        int distance = Math.min(maxDistance, (grams.length - 1) / GRAMS_PER_EDIT);
+        List<Match> matches = new ArrayList<>();
+        if (distance < 0 || limit == 0) {
+            return matches;
+        }
+
+        // Las 4d + 1 listas más cortas; un trigrama ausente es una lista vacía
+        GramList[] lists = new GramList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list == null ? 0 : list.size));
+        int total = 0;
+        for (int i = 0; i <= GRAMS_PER_EDIT * distance; i++) {
+            total += lists[i] == null ? 0 : lists[i].size;
+        }
+        int[] candidates = new int[total];
+        int count = 0;
+        for (int i = 0; i <= GRAMS_PER_EDIT * distance; i++) {
+            if (lists[i] != null) {
+                count = lists[i].copyTo(candidates, count);
+            }
+        }
+        Arrays.sort(candidates);
+
+        char[] folded = fold(query);
+        int[][] rows = new int[3][folded.length + 1];
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && candidates[i] == candidates[i - 1]) {
+                continue;
+            }
+            String name = names[candidates[i]];
+            int found = distance(folded, name, distance, rows);
+            if (found <= distance) {
+                matches.add(new Match(name, found));
+            }
+        }
+
+        matches.sort(Comparator.<Match>comparingInt(match -> match.distance)
+                .thenComparing(match -> match.name, String.CASE_INSENSITIVE_ORDER));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Obtiene los trigramas distintos de un nombre relleno, codificados en un long.
+     */
+    private static long[] trigrams(String name) {
+        int length = name.length() + 4;
+        long[] grams = new long[length - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = (long) paddedAt(name, i) << 32 | (long) paddedAt(name, i + 1) << 16 | paddedAt(name, i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static char paddedAt(String name, int index) {
+        int position = index - 2;
+        return position < 0 || position >= name.length() ? PADDING : fold(name.charAt(position));
+    }
+
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static char[] fold(String text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(text.charAt(i));
+        }
+        return folded;
+    }
+
+    /**
+     * Calcula la distancia de Damerau-Levenshtein restringida, limitada a la franja de
+     * ancho max alrededor de la diagonal. Deja de calcular en cuanto toda una fila
+     * supera max.
+     *
+     * @return La distancia, o max + 1 si es mayor que max
+     */
+    private static int distance(char[] query, String name, int max, int[][] rows) {
+        int queryLength = query.length;
+        int nameLength = name.length();
+        if (Math.abs(queryLength - nameLength) > max) {
+            return max + 1;
+        }
+        int[] before = rows[0];
+        int[] previous = rows[1];
+        int[] current = rows[2];
+        for (int i = 0; i <= queryLength; i++) {
+            previous[i] = i;
+        }
+        char last = 0;
+        for (int j = 1; j <= nameLength; j++) {
+            char c = fold(name.charAt(j - 1));
+            int from = Math.max(1, j - max);
+            int to = Math.min(queryLength, j + max);
+            current[from - 1] = from == 1 ? j : max + 1;
+            int rowMin = current[from - 1];
+            for (int i = from; i <= to; i++) {
+                int value = Math.min(previous[i - 1] + (query[i - 1] == c ? 0 : 1),
+                                     Math.min(previous[i], current[i - 1]) + 1);
+                if (i > 1 && j > 1 && query[i - 1] == last && query[i - 2] == c) {
+                    value = Math.min(value, before[i - 2] + 1);
+                }
+                current[i] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < queryLength) {
+                current[to + 1] = max + 1;
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+            last = c;
+        }
+        return Math.min(previous[queryLength], max + 1);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Agrupación de Pokémon por tipo primario que se mantiene ordenada al
+ *              agregar cada Pokémon, para listarlos por tipo sin ordenar.
+ */
+package pokemonmap.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Grupos de Pokémon por tipo primario. Los tipos se guardan en un TreeMap, ordenados
+ * alfabéticamente, y cada grupo guarda sus Pokémon por nombre en orden de inserción
+ * (o por nombre, si así se pide). Listar todos los Pokémon ordenados por tipo es un
+ * recorrido lineal de los grupos, con el mismo resultado que un ordenamiento estable
+ * con {@link Pokemon#BY_TYPE1}.
+ */
+final class TypeBuckets {
+    private final boolean nameOrder;
+    private final Map<String, Map<String, Pokemon>> buckets = new TreeMap<>();
+    private final Map<String, String> typeByName = new HashMap<>();
+
+    /**
+     * Crea grupos vacíos.
+     *
+     * @param nameOrder true para ordenar cada grupo por nombre, false para conservar
+     *                  el orden de inserción
+     */
+    TypeBuckets(boolean nameOrder) {
+        this.nameOrder = nameOrder;
+    }
+
+    /**
+     * Agrega un Pokémon a su grupo, o lo mueve si ya estaba con otro tipo.
+     * Un Pokémon reemplazado con el mismo tipo conserva su posición.
+     *
+     * @param pokemon El Pokémon a agregar
+     */
+    void add(Pokemon pokemon) {
+        String name = pokemon.getName();
+        String previousType = typeByName.put(name, pokemon.getType1());
+        if (previousType != null && !previousType.equals(pokemon.getType1())) {
+            remove(name, previousType);
+        }
+        buckets.computeIfAbsent(pokemon.getType1(),
+                type -> nameOrder ? new TreeMap<>() : new LinkedHashMap<>()).put(name, pokemon);
+    }
+
+    /**
+     * Quita un Pokémon de su grupo, si está.
+     *
+     * @param name Nombre del Pokémon a quitar
+     */
+    void remove(String name) {
+        String type = typeByName.remove(name);
+        if (type != null) {
+            remove(name, type);
+        }
+    }
+
+    /**
+     * Quita todos los Pokémon de los grupos.
+     */
+    void clear() {
+        buckets.clear();
+        typeByName.clear();
+    }
+
+    /**
+     * Obtiene todos los Pokémon ordenados por tipo primario.
+     *
+     * @return Lista nueva con los Pokémon de todos los grupos, en orden
+     */
+    List<Pokemon> sortedByType1() {
+        List<Pokemon> result = new ArrayList<>(typeByName.size());
+        for (Map<String, Pokemon> bucket : buckets.values()) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene los nombres de todos los Pokémon ordenados por tipo primario.
+     *
+     * @return Lista nueva con los nombres de todos los grupos, en orden
+     */
+    List<String> namesSortedByType1() {
+        List<String> result = new ArrayList<>(typeByName.size());
+        for (Map<String, Pokemon> bucket : buckets.values()) {
+            result.addAll(bucket.keySet());
+        }
+        return result;
+    }
+
+    private void remove(String name, String type) {
+        Map<String, Pokemon> bucket = buckets.get(type);
+        bucket.remove(name);
+        if (bucket.isEmpty()) {
+            buckets.remove(type);
+        }
+    }
+}
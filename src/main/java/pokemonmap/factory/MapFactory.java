@@ -6,7 +6,9 @@
  * Autor: Denil José Parada Cabrera - 24761
  * Fecha: 12/03/2025
  * Descripción: Implementación del patrón Factory para crear diferentes tipos de Map.
- *              Permite seleccionar entre HashMap, TreeMap y LinkedHashMap en tiempo de ejecución.
+ *              Permite seleccionar entre HashMap, TreeMap, LinkedHashMap, la tabla Robin
+ *              Hood, los Map concurrentes, el hash perfecto congelado y los almacenes por
+ *              columnas y fuera del heap en tiempo de ejecución.
  */
 package pokemonmap.factory;
 
@@ -14,7 +16,13 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.TreeMap;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import pokemonmap.data.ColumnarPokemonStore;
+import pokemonmap.data.FrozenPerfectHashMap;
+import pokemonmap.data.OffHeapPokemonStore;
 import pokemonmap.data.Pokemon;
+import pokemonmap.data.RobinHoodPokemonMap;
 
 /**
  * Factory para crear diferentes implementaciones de Map.
@@ -22,22 +30,58 @@ import pokemonmap.data.Pokemon;
  * diferentes implementaciones de Map según se requiera.
  */
 public class MapFactory {
+    // Factor de carga y capacidad inicial por defecto de HashMap y LinkedHashMap
+    private static final float HASH_LOAD_FACTOR = 0.75f;
+    private static final int DEFAULT_HASH_CAPACITY = 16;
     
     /**
      * Crea una implementación específica de Map basada en el tipo solicitado.
      * 
-     * @param mapType El tipo de Map que se desea crear (HASH_MAP, TREE_MAP, LINKED_HASH_MAP)
+     * @param mapType El tipo de Map que se desea crear (HASH_MAP, TREE_MAP, LINKED_HASH_MAP, COLUMNAR, OFF_HEAP, ROBIN_HOOD,
+     *                CONCURRENT_HASH_MAP, CONCURRENT_SKIP_LIST_MAP, FROZEN_PERFECT_HASH)
      * @return Un nuevo Map vacío del tipo especificado
      * @throws IllegalArgumentException si el tipo de mapa no es soportado
      */
     public static Map<String, Pokemon> createMap(MapType mapType) {
+        return createMap(mapType, 0);
+    }
+    
+    /**
+     * Crea una implementación específica de Map con espacio para un número esperado de
+     * Pokémon, de modo que las tablas hash no tengan que agrandarse durante la carga.
+     * TreeMap, ConcurrentSkipListMap y los almacenes por columnas y fuera del heap
+     * ignoran el tamaño esperado.
+     * 
+     * @param mapType El tipo de Map que se desea crear
+     * @param expectedSize Número esperado de Pokémon
+     * @return Un nuevo Map vacío del tipo especificado
+     * @throws IllegalArgumentException si el tipo de mapa no es soportado o el tamaño es negativo
+     */
+    public static Map<String, Pokemon> createMap(MapType mapType, int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo: " + expectedSize);
+        }
+        int hashCapacity = Math.max(DEFAULT_HASH_CAPACITY, (int) Math.ceil(expectedSize / HASH_LOAD_FACTOR));
         switch (mapType) {
             case HASH_MAP:
-                return new HashMap<>();
+                return new HashMap<>(hashCapacity);
             case TREE_MAP:
                 return new TreeMap<>();
             case LINKED_HASH_MAP:
-                return new LinkedHashMap<>();
+                return new LinkedHashMap<>(hashCapacity);
+            case COLUMNAR:
+                return new ColumnarPokemonStore();
+            case OFF_HEAP:
+                return new OffHeapPokemonStore();
+            case ROBIN_HOOD:
+                return new RobinHoodPokemonMap(expectedSize);
+            case CONCURRENT_HASH_MAP:
+                // ConcurrentHashMap recibe el número de entradas y calcula su propia capacidad
+                return new ConcurrentHashMap<>(Math.max(DEFAULT_HASH_CAPACITY, expectedSize));
+            case CONCURRENT_SKIP_LIST_MAP:
+                return new ConcurrentSkipListMap<>();
+            case FROZEN_PERFECT_HASH:
+                return new FrozenPerfectHashMap(expectedSize);
             default:
                 throw new IllegalArgumentException("Tipo de mapa no soportado");
         }
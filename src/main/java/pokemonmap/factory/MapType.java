@@ -33,7 +33,44 @@ public enum MapType {
      * LinkedHashMap: implementación que combina HashMap y lista enlazada.
      * Mantiene el orden de inserción con tiempo de acceso O(1).
      */
-    LINKED_HASH_MAP(3, "LinkedHashMap");
+    LINKED_HASH_MAP(3, "LinkedHashMap"),
+    
+    /**
+     * Almacén por columnas: guarda cada atributo en un arreglo propio y construye los
+     * Pokémon al consultarlos. Los recorridos por habilidad y por tipo son secuenciales.
+     */
+    COLUMNAR(4, "Columnar"),
+    
+    /**
+     * Almacén fuera del heap: guarda los registros en memoria directa y en el heap solo
+     * mantiene un índice compacto de nombres. Pensado para catálogos muy grandes.
+     */
+    OFF_HEAP(5, "Off-heap"),
+    
+    /**
+     * Tabla Robin Hood: direccionamiento abierto sobre arreglos planos de claves, valores
+     * y códigos hash, sin un nodo por entrada. Acceso O(1) sin orden garantizado.
+     */
+    ROBIN_HOOD(6, "Robin Hood"),
+    
+    /**
+     * ConcurrentHashMap: tabla hash que admite lecturas sin bloqueo mientras otros hilos
+     * insertan. Acceso O(1) sin orden garantizado.
+     */
+    CONCURRENT_HASH_MAP(7, "ConcurrentHashMap"),
+    
+    /**
+     * ConcurrentSkipListMap: lista de saltos que mantiene las claves ordenadas, como
+     * TreeMap, y admite lecturas sin bloqueo mientras otros hilos insertan. Acceso O(log n).
+     */
+    CONCURRENT_SKIP_LIST_MAP(8, "ConcurrentSkipListMap"),
+    
+    /**
+     * Hash perfecto congelado: al terminar la carga construye una función hash perfecta
+     * mínima sobre los nombres, de modo que cada búsqueda revisa una sola posición. Después
+     * no admite más Pokémon.
+     */
+    FROZEN_PERFECT_HASH(9, "Hash perfecto congelado");
 
     private final int value;
     private final String name;
@@ -12,17 +12,30 @@
 package pokemonmap.gui;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import pokemonmap.data.DatasetDelta;
 import pokemonmap.data.Pokemon;
 import pokemonmap.data.PokemonCollection;
 import pokemonmap.data.PokemonData;
 import pokemonmap.factory.MapType;
+import pokemonmap.util.BinarySnapshot;
 import pokemonmap.util.CSVReader;
+import pokemonmap.util.DatasetReloader;
+import pokemonmap.util.LoadProgress;
+import pokemonmap.util.LoadProgressListener;
 
 /**
  * Interfaz gráfica de usuario para la aplicación de gestión de Pokémon.
@@ -42,6 +55,9 @@ public class PokemonGUI extends JFrame {
     private JTextArea outputTextArea;
     private JComboBox<String> mapTypeComboBox;
     private JTextField inputTextField;
+    private JPopupMenu suggestionsPopup;
+    private DefaultListModel<String> suggestionsModel;
+    private JList<String> suggestionsList;
     private JButton loadDataButton;
     private JButton addPokemonButton;
     private JButton showPokemonButton;
@@ -52,6 +68,15 @@ public class PokemonGUI extends JFrame {
     private JLabel statusLabel;
     private JPanel headerPanel;
     
+    // Recarga en caliente del archivo CSV cargado
+    private DatasetReloader reloader;
+    private Path loadedCsvFile;
+    
+    // Número máximo de nombres sugeridos mientras se escribe
+    private static final int MAX_SUGGESTIONS = 8;
+    // Número máximo de nombres parecidos sugeridos cuando un nombre no existe
+    private static final int MAX_SIMILAR_NAMES = 3;
+    
     // Ruta por defecto al archivo CSV
     private static final String DEFAULT_CSV_PATH = "src/main/resources/pokemon_data_pokeapi.csv";
 
@@ -146,7 +171,11 @@ public class PokemonGUI extends JFrame {
         JLabel mapTypeLabel = new JLabel("Tipo de Map:");
         mapTypeLabel.setForeground(Color.BLACK);
         
-        mapTypeComboBox = new JComboBox<>(new String[]{"HashMap", "TreeMap", "LinkedHashMap"});
+        String[] mapTypeNames = new String[MapType.values().length];
+        for (MapType type : MapType.values()) {
+            mapTypeNames[type.ordinal()] = type.getName();
+        }
+        mapTypeComboBox = new JComboBox<>(mapTypeNames);
         mapTypeComboBox.setPreferredSize(new Dimension(150, 30));
         
         // Botón para cargar datos
@@ -161,6 +190,16 @@ public class PokemonGUI extends JFrame {
         inputTextField = new JTextField(20);
         inputTextField.setPreferredSize(new Dimension(200, 30));
         
+        // Lista de sugerencias bajo el campo de texto; no toma el foco para que se
+        // pueda seguir escribiendo
+        suggestionsModel = new DefaultListModel<>();
+        suggestionsList = new JList<>(suggestionsModel);
+        suggestionsList.setFocusable(false);
+        suggestionsList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionsPopup = new JPopupMenu();
+        suggestionsPopup.setFocusable(false);
+        suggestionsPopup.add(new JScrollPane(suggestionsList));
+        
         // Agregar componentes al panel
         controlPanel.add(mapTypeLabel);
         controlPanel.add(mapTypeComboBox);
@@ -299,28 +338,35 @@ public class PokemonGUI extends JFrame {
         // Cargar datos
         loadDataButton.addActionListener(e -> {
             int selectedIndex = mapTypeComboBox.getSelectedIndex();
-            MapType mapType = MapType.fromValue(selectedIndex + 1);
+            MapType mapType = MapType.values()[selectedIndex];
             
             outputTextArea.setText("Cargando datos con " + mapType.getName() + "...\n");
             
             // Ejecutar en un hilo separado para no bloquear la UI
-            SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+            SwingWorker<Void, LoadProgress> worker = new SwingWorker<Void, LoadProgress>() {
                 @Override
                 protected Void doInBackground() throws Exception {
                     try {
-                        loadPokemonDataAutomatically(mapType);
+                        loadPokemonDataAutomatically(mapType, progress -> publish(progress));
                     } catch (Exception ex) {
                         throw ex;
                     }
                     return null;
                 }
                 
+                @Override
+                protected void process(List<LoadProgress> chunks) {
+                    // Solo interesa el avance más reciente
+                    statusLabel.setText("Cargando datos: " + chunks.get(chunks.size() - 1));
+                }
+                
                 @Override
                 protected void done() {
                     try {
                         get(); // Esto lanzará la excepción si ocurrió durante doInBackground
                         outputTextArea.append("Datos cargados correctamente. " + 
                                              pokemonData.size() + " Pokémon disponibles.\n");
+                        outputTextArea.append(pokemonData.getStringPool().report() + "\n");
                         statusLabel.setText("Datos cargados: " + pokemonData.size() + " Pokémon disponibles");
                         
                         // Habilitar botones individualmente en lugar de usar toggleButtonsEnabled
@@ -333,6 +379,7 @@ public class PokemonGUI extends JFrame {
                         
                         mapTypeComboBox.setEnabled(false);
                         loadDataButton.setEnabled(false);
+                        startReloader(mapType);
                     } catch (Exception ex) {
                         outputTextArea.append("Error al cargar datos: " + ex.getMessage() + "\n");
                         statusLabel.setText("Error al cargar datos");
@@ -369,12 +416,14 @@ public class PokemonGUI extends JFrame {
                 return;
             }
             
-            if (!pokemonData.containsPokemon(pokemonName)) {
+            Pokemon found = pokemonData.lookupIgnoreCase(pokemonName);
+            if (found == null) {
                 JOptionPane.showMessageDialog(this, 
-                    "El Pokémon '" + pokemonName + "' no existe en los datos.", 
+                    notFoundMessage(pokemonName), 
                     "Pokémon no encontrado", JOptionPane.ERROR_MESSAGE);
                 return;
             }
+            pokemonName = found.getName();
             
             if (userCollection.containsPokemon(pokemonName)) {
                 JOptionPane.showMessageDialog(this, 
@@ -405,10 +454,10 @@ public class PokemonGUI extends JFrame {
                 return;
             }
             
-            Pokemon pokemon = pokemonData.getPokemon(pokemonName);
+            Pokemon pokemon = pokemonData.lookupIgnoreCase(pokemonName);
             if (pokemon == null) {
                 JOptionPane.showMessageDialog(this, 
-                    "El Pokémon '" + pokemonName + "' no existe en los datos.", 
+                    notFoundMessage(pokemonName), 
                     "Pokémon no encontrado", JOptionPane.ERROR_MESSAGE);
                 return;
             }
@@ -428,7 +477,7 @@ public class PokemonGUI extends JFrame {
             sb.append("Estado Legendario: ").append(pokemon.getLegendaryStatus()).append("\n");
             
             outputTextArea.setText(sb.toString());
-            statusLabel.setText("Mostrando datos de " + pokemonName);
+            statusLabel.setText("Mostrando datos de " + pokemon.getName());
         });
         
         // Mostrar colección del usuario ordenada por tipo
@@ -492,7 +541,32 @@ public class PokemonGUI extends JFrame {
                     "Campo vacío", JOptionPane.WARNING_MESSAGE);
                 return;
             }
-            
+
+            // Varias habilidades separadas por "|" se buscan en una sola pasada
+            if (ability.contains("|")) {
+                List<String> abilities = new ArrayList<>();
+                for (String part : ability.split("\\|")) {
+                    if (!part.trim().isEmpty()) {
+                        abilities.add(part.trim());
+                    }
+                }
+                Map<String, List<Pokemon>> byAbility = pokemonData.getPokemonsByAbilities(abilities);
+                StringBuilder sb = new StringBuilder();
+                int total = 0;
+                for (Map.Entry<String, List<Pokemon>> entry : byAbility.entrySet()) {
+                    sb.append("Pokémon con la habilidad '").append(entry.getKey()).append("' (")
+                      .append(entry.getValue().size()).append("):\n");
+                    for (Pokemon pokemon : entry.getValue()) {
+                        sb.append("- ").append(pokemon.getName()).append("\n");
+                    }
+                    sb.append("\n");
+                    total += entry.getValue().size();
+                }
+                outputTextArea.setText(sb.toString());
+                statusLabel.setText("Se buscaron " + byAbility.size() + " habilidades; " + total + " coincidencias en total");
+                return;
+            }
+
             List<Pokemon> matchingPokemons = pokemonData.getPokemonsByAbility(ability);
             
             if (matchingPokemons.isEmpty()) {
@@ -523,7 +597,7 @@ public class PokemonGUI extends JFrame {
                 StringBuilder sb = new StringBuilder();
                 sb.append("Listado completo de todos los Pokémon disponibles:\n\n");
                 
-                // Obtener todos los Pokémon (no ordenados, en el orden del Map)
+                // Obtener todos los Pokémon sin ordenar: por nombre con los Map ordenados, si no en orden de inserción
                 int count = 0;
                 for (Pokemon pokemon : pokemonData.getAllPokemons()) {
                     count++;
@@ -536,11 +610,63 @@ public class PokemonGUI extends JFrame {
             });
         }
         
-        // Acción al presionar Enter en el campo de texto
+        // Sugerir nombres con cada cambio del texto
+        inputTextField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(() -> updateSuggestions());
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(() -> updateSuggestions());
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Los cambios de atributos no modifican el texto
+            }
+        });
+        
+        suggestionsList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                acceptSuggestion();
+            }
+        });
+        
+        // Acción al presionar Enter en el campo de texto; las flechas recorren las sugerencias
         inputTextField.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
+                if (suggestionsPopup.isVisible()) {
+                    int selected = suggestionsList.getSelectedIndex();
+                    switch (e.getKeyCode()) {
+                        case KeyEvent.VK_DOWN:
+                            suggestionsList.setSelectedIndex(Math.min(selected + 1, suggestionsModel.size() - 1));
+                            e.consume();
+                            return;
+                        case KeyEvent.VK_UP:
+                            suggestionsList.setSelectedIndex(Math.max(selected - 1, 0));
+                            e.consume();
+                            return;
+                        case KeyEvent.VK_ESCAPE:
+                            suggestionsPopup.setVisible(false);
+                            e.consume();
+                            return;
+                        case KeyEvent.VK_ENTER:
+                            if (selected >= 0) {
+                                acceptSuggestion();
+                                e.consume();
+                                return;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    suggestionsPopup.setVisible(false);
                     // Si los botones están habilitados, ejecutar la acción de mostrar datos
                     if (showPokemonButton.isEnabled()) {
                         showPokemonButton.doClick();
@@ -550,26 +676,91 @@ public class PokemonGUI extends JFrame {
         });
     }
     
+    /**
+     * Arma el mensaje para un nombre que no existe, sugiriendo los nombres más
+     * parecidos por si se escribió mal.
+     * 
+     * @param pokemonName El nombre escrito
+     * @return El mensaje a mostrar
+     */
+    private String notFoundMessage(String pokemonName) {
+        String message = "El Pokémon '" + pokemonName + "' no existe en los datos.";
+        List<Pokemon> similar = pokemonData.fuzzyLookup(pokemonName, MAX_SIMILAR_NAMES);
+        if (similar.isEmpty()) {
+            return message;
+        }
+        StringBuilder sb = new StringBuilder(message).append("\n¿Quisiste decir: ");
+        for (int i = 0; i < similar.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append(similar.get(i).getName());
+        }
+        return sb.append("?").toString();
+    }
+    
+    /**
+     * Muestra bajo el campo de texto los nombres que empiezan con lo escrito.
+     * Solo se sugiere cuando los datos ya terminaron de cargarse.
+     */
+    private void updateSuggestions() {
+        String prefix = inputTextField.getText().trim();
+        if (prefix.isEmpty() || !showPokemonButton.isEnabled()) {
+            suggestionsPopup.setVisible(false);
+            return;
+        }
+        
+        List<String> names = pokemonData.completions(prefix, MAX_SUGGESTIONS);
+        if (names.isEmpty() || (names.size() == 1 && names.get(0).equals(prefix))) {
+            suggestionsPopup.setVisible(false);
+            return;
+        }
+        
+        suggestionsModel.clear();
+        for (String name : names) {
+            suggestionsModel.addElement(name);
+        }
+        suggestionsList.setVisibleRowCount(names.size());
+        suggestionsPopup.pack();
+        if (!suggestionsPopup.isVisible()) {
+            suggestionsPopup.show(inputTextField, 0, inputTextField.getHeight());
+        }
+        inputTextField.requestFocusInWindow();
+    }
+    
+    /**
+     * Reemplaza el texto escrito por la sugerencia seleccionada.
+     */
+    private void acceptSuggestion() {
+        String selected = suggestionsList.getSelectedValue();
+        if (selected != null) {
+            inputTextField.setText(selected);
+        }
+        suggestionsPopup.setVisible(false);
+    }
+    
     /**
      * Carga automáticamente los datos de Pokémon desde varias ubicaciones posibles.
      * 
      * @param mapType El tipo de Map a utilizar
+     * @param listener Receptor del avance de la carga
      * @throws IOException si no se puede cargar el archivo CSV
      */
-    private void loadPokemonDataAutomatically(MapType mapType) throws IOException {
+    private void loadPokemonDataAutomatically(MapType mapType, LoadProgressListener listener) throws IOException {
         pokemonData = new PokemonData(mapType);
         
         // Primero intentamos cargar desde el classpath
         try {
-            pokemonData = CSVReader.readPokemonsFromResource("pokemon_data_pokeapi.csv", pokemonData);
+            pokemonData = CSVReader.readPokemonsFromResourceCached("pokemon_data_pokeapi.csv", pokemonData,
+                    BinarySnapshot.defaultLocation("pokemon_data_pokeapi.csv"), listener);
             userCollection = new PokemonCollection(pokemonData);
+            loadedCsvFile = resourceFile("pokemon_data_pokeapi.csv");
             return;
         } catch (IOException e) {
             // Si falla, intentamos con la ruta por defecto
             File defaultFile = new File(DEFAULT_CSV_PATH);
             if (defaultFile.exists()) {
-                pokemonData = CSVReader.readPokemonsFromCSV(DEFAULT_CSV_PATH, pokemonData);
+                pokemonData = CSVReader.readPokemonsFromCSVCached(DEFAULT_CSV_PATH, pokemonData,
+                        BinarySnapshot.defaultLocation(DEFAULT_CSV_PATH), listener);
                 userCollection = new PokemonCollection(pokemonData);
+                loadedCsvFile = defaultFile.toPath();
                 return;
             }
             
@@ -578,8 +769,10 @@ public class PokemonGUI extends JFrame {
             File csvFile = findCsvFile(currentDir, "pokemon_data_pokeapi.csv");
             
             if (csvFile != null) {
-                pokemonData = CSVReader.readPokemonsFromCSV(csvFile.getAbsolutePath(), pokemonData);
+                pokemonData = CSVReader.readPokemonsFromCSVCached(csvFile.getAbsolutePath(), pokemonData,
+                        BinarySnapshot.defaultLocation(csvFile.getAbsolutePath()), listener);
                 userCollection = new PokemonCollection(pokemonData);
+                loadedCsvFile = csvFile.toPath();
                 return;
             }
             
@@ -632,11 +825,14 @@ public class PokemonGUI extends JFrame {
         
         // Crear las instancias de datos
         pokemonData = new PokemonData(mapType);
-        pokemonData = CSVReader.readPokemonsFromCSV(filePath, pokemonData);
+        pokemonData = CSVReader.readPokemonsFromCSVCached(filePath, pokemonData,
+                BinarySnapshot.defaultLocation(filePath));
         userCollection = new PokemonCollection(pokemonData);
+        loadedCsvFile = Paths.get(filePath);
         
         outputTextArea.append("Datos cargados correctamente desde " + filePath + ". " + 
                              pokemonData.size() + " Pokémon disponibles.\n");
+        outputTextArea.append(pokemonData.getStringPool().report() + "\n");
         statusLabel.setText("Datos cargados: " + pokemonData.size() + " Pokémon disponibles");
         
         // Habilitar botones individualmente en lugar de usar toggleButtonsEnabled
@@ -649,6 +845,64 @@ public class PokemonGUI extends JFrame {
         
         mapTypeComboBox.setEnabled(false);
         loadDataButton.setEnabled(false);
+        startReloader(mapType);
+    }
+    
+    /**
+     * Obtiene el archivo del sistema que corresponde a un recurso del classpath.
+     * 
+     * @param resourcePath Ruta al recurso
+     * @return El archivo del recurso, o null si el recurso no es un archivo (por ejemplo, dentro de un JAR)
+     */
+    private Path resourceFile(String resourcePath) {
+        URL url = getClass().getClassLoader().getResource(resourcePath);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Comienza a vigilar el archivo CSV cargado para recargarlo cuando cambie.
+     * 
+     * @param mapType El tipo de Map con el que se crean las nuevas versiones
+     */
+    private void startReloader(MapType mapType) {
+        if (loadedCsvFile == null || reloader != null) {
+            return;
+        }
+        
+        reloader = new DatasetReloader(loadedCsvFile, mapType, pokemonData,
+                (data, delta) -> SwingUtilities.invokeLater(() -> applyReload(data, delta)));
+        try {
+            reloader.start();
+            outputTextArea.append("Se recargarán los datos automáticamente cuando cambie " + loadedCsvFile.getFileName() + ".\n");
+        } catch (IOException e) {
+            System.err.println("No se pudo vigilar el archivo " + loadedCsvFile + ": " + e.getMessage());
+            reloader = null;
+        }
+    }
+    
+    /**
+     * Reemplaza los datos por una nueva versión recargada y revalida la colección del usuario.
+     * Se ejecuta en el hilo de eventos de Swing.
+     * 
+     * @param data La nueva versión de los datos
+     * @param delta Las diferencias con la versión anterior
+     */
+    private void applyReload(PokemonData data, DatasetDelta delta) {
+        pokemonData = data;
+        List<String> removed = userCollection.rebind(data);
+        
+        outputTextArea.append("Datos recargados desde " + loadedCsvFile.getFileName() + ": " + delta + ".\n");
+        if (!removed.isEmpty()) {
+            outputTextArea.append("Ya no existen y se quitaron de tu colección: " + String.join(", ", removed) + "\n");
+        }
+        statusLabel.setText("Datos recargados: " + data.size() + " Pokémon disponibles");
     }
     
     /**
@@ -0,0 +1,324 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Formato binario compacto para guardar y recuperar los datos de Pokémon
+ *              ya procesados, evitando volver a parsear el CSV en cada inicio.
+ */
+package pokemonmap.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.StringPool;
+
+/**
+ * Lee y escribe instantáneas binarias de una colección de Pokémon.
+ * <p>
+ * El archivo tiene un encabezado de tamaño fijo seguido de una carga útil:
+ * <ul>
+ *   <li>Encabezado: identificador, versión del formato, tamaño y fecha de modificación
+ *       del CSV de origen, número de registros, número de cadenas y un CRC32 que cubre
+ *       los campos anteriores del encabezado y la carga.</li>
+ *   <li>Tabla de cadenas: cada texto distinto una sola vez (longitud y bytes UTF-8).</li>
+ *   <li>Columnas: un arreglo por atributo; los de texto guardan índices a la tabla y
+ *       los numéricos guardan los valores primitivos.</li>
+ * </ul>
+ * Al leer, el archivo se mapea en memoria y solo se acepta si la versión, los datos del
+ * CSV de origen y el checksum coinciden, y si la tabla de cadenas y las columnas ocupan
+ * exactamente el resto del archivo; en cualquier otro caso se ignora y el llamador
+ * debe volver a cargar el CSV.
+ */
+public final class BinarySnapshot {
+    private static final int MAGIC = 0x504B534E; // "PKSN"
+    private static final int VERSION = 2;
+    // Campos del encabezado que cubre el checksum: todos menos el checksum mismo
+    private static final int CHECKED_HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+    private static final int HEADER_SIZE = CHECKED_HEADER_SIZE + 8;
+    // Bytes de las columnas por registro: ocho de tipo int y dos de tipo double
+    private static final int ROW_SIZE = 8 * 4 + 2 * 8;
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Obtiene la ubicación por defecto de la instantánea de un archivo de datos,
+     * dentro del directorio ".pokemonmap" del usuario. El nombre incluye un hash de la
+     * ruta absoluta, para que dos CSV con el mismo nombre en carpetas distintas no
+     * compartan instantánea.
+     *
+     * @param sourceName Ruta del archivo CSV de origen; las relativas se resuelven
+     *                   contra el directorio actual
+     * @return Ruta donde se guarda la instantánea
+     */
+    public static Path defaultLocation(String sourceName) {
+        Path source = Paths.get(sourceName).toAbsolutePath().normalize();
+        String fileName = source.getFileName().toString();
+        return Paths.get(System.getProperty("user.home"), ".pokemonmap",
+                         fileName + "-" + pathHash(source) + ".snapshot");
+    }
+
+    /**
+     * Escribe una instantánea con los Pokémon indicados.
+     * El archivo se escribe primero en un temporal y luego se reemplaza de forma atómica,
+     * de modo que un lector nunca ve una instantánea a medio escribir.
+     *
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @param pokemons Pokémon a guardar
+     * @param sourceSize Tamaño en bytes del CSV de origen
+     * @param sourceLastModified Fecha de modificación del CSV de origen (milisegundos)
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    public static void write(Path snapshotFile, Collection<Pokemon> pokemons,
+                             long sourceSize, long sourceLastModified) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIds = new HashMap<>();
+        int count = pokemons.size();
+        int[][] textColumns = new int[6][count];
+        int[] pokedexNumbers = new int[count];
+        double[] heights = new double[count];
+        double[] weights = new double[count];
+        int[] generations = new int[count];
+
+        int row = 0;
+        for (Pokemon pokemon : pokemons) {
+            textColumns[0][row] = stringId(pokemon.getName(), strings, stringIds);
+            textColumns[1][row] = stringId(pokemon.getType1(), strings, stringIds);
+            textColumns[2][row] = stringId(pokemon.getType2(), strings, stringIds);
+            textColumns[3][row] = stringId(pokemon.getClassification(), strings, stringIds);
+            textColumns[4][row] = stringId(pokemon.getAbilities(), strings, stringIds);
+            textColumns[5][row] = stringId(pokemon.getLegendaryStatus(), strings, stringIds);
+            pokedexNumbers[row] = pokemon.getPokedexNumber();
+            heights[row] = pokemon.getHeight();
+            weights[row] = pokemon.getWeight();
+            generations[row] = pokemon.getGeneration();
+            row++;
+        }
+
+        Path parent = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION)
+              .putLong(sourceSize).putLong(sourceLastModified)
+              .putInt(count).putInt(strings.size());
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 0, CHECKED_HEADER_SIZE);
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                OutputStream channelStream = Channels.newOutputStream(channel);
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(channelStream), crc);
+                DataOutputStream out = new DataOutputStream(checked);
+
+                for (String text : strings) {
+                    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                writeInts(out, textColumns[0]); // name
+                writeInts(out, pokedexNumbers);
+                writeInts(out, textColumns[1]); // type1
+                writeInts(out, textColumns[2]); // type2
+                writeInts(out, textColumns[3]); // classification
+                writeDoubles(out, heights);
+                writeDoubles(out, weights);
+                writeInts(out, textColumns[4]); // abilities
+                writeInts(out, generations);
+                writeInts(out, textColumns[5]); // legendaryStatus
+                out.flush();
+
+                header.putLong(crc.getValue()).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+            try {
+                Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Carga una instantánea en el objeto PokemonData si sigue siendo válida.
+     * La instantánea se descarta si no existe, si fue escrita con otra versión del formato,
+     * si el CSV de origen cambió de tamaño o de fecha, si el checksum no coincide o si
+     * el número de registros y de cadenas no corresponde al tamaño del archivo. Todo se
+     * verifica antes de agregar el primer Pokémon, así que en esos casos no se agrega
+     * ninguno.
+     *
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @param sourceSize Tamaño actual en bytes del CSV de origen
+     * @param sourceLastModified Fecha de modificación actual del CSV de origen (milisegundos)
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @return true si la instantánea era válida y se cargó, false en caso contrario
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static boolean read(Path snapshotFile, long sourceSize, long sourceLastModified,
+                               PokemonData pokemonData) throws IOException {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return false;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getLong() != sourceSize || buffer.getLong() != sourceLastModified) {
+                return false;
+            }
+            int count = buffer.getInt();
+            int stringCount = buffer.getInt();
+            long checksum = buffer.getLong();
+
+            CRC32 crc = new CRC32();
+            ByteBuffer checkedHeader = buffer.duplicate();
+            checkedHeader.position(0).limit(CHECKED_HEADER_SIZE);
+            crc.update(checkedHeader);
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                return false;
+            }
+
+            // Cada cadena ocupa al menos los 4 bytes de su longitud
+            if (count < 0 || stringCount < 0 || (long) stringCount * 4 > buffer.remaining()) {
+                return false;
+            }
+            String[] strings = new String[stringCount];
+            byte[] bytes = new byte[64];
+            for (int i = 0; i < stringCount; i++) {
+                if (buffer.remaining() < 4) {
+                    return false;
+                }
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    return false;
+                }
+                if (bytes.length < length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                buffer.get(bytes, 0, length);
+                strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            if (buffer.remaining() != (long) ROW_SIZE * count) {
+                return false;
+            }
+
+            // Las columnas se leen por posición absoluta, sin copiarlas a arreglos
+            int names = buffer.position();
+            int pokedexNumbers = names + 4 * count;
+            int types1 = pokedexNumbers + 4 * count;
+            int types2 = types1 + 4 * count;
+            int classifications = types2 + 4 * count;
+            int heights = classifications + 4 * count;
+            int weights = heights + 8 * count;
+            int abilities = weights + 8 * count;
+            int generations = abilities + 4 * count;
+            int legendaryStatuses = generations + 4 * count;
+            for (int column : new int[]{names, types1, types2, classifications, abilities, legendaryStatuses}) {
+                for (int row = 0; row < count; row++) {
+                    int id = buffer.getInt(column + 4 * row);
+                    if (id < 0 || id >= stringCount) {
+                        return false;
+                    }
+                }
+            }
+
+            // La tabla ya no tiene repetidos; el diccionario solo unifica las instancias
+            // con las de otros datos cargados en la misma colección
+            StringPool pool = pokemonData.getStringPool();
+            for (int row = 0; row < count; row++) {
+                pokemonData.addPokemon(new Pokemon(
+                    strings[buffer.getInt(names + 4 * row)],
+                    buffer.getInt(pokedexNumbers + 4 * row),
+                    pool.intern(strings[buffer.getInt(types1 + 4 * row)]),
+                    pool.intern(strings[buffer.getInt(types2 + 4 * row)]),
+                    pool.intern(strings[buffer.getInt(classifications + 4 * row)]),
+                    buffer.getDouble(heights + 8 * row),
+                    buffer.getDouble(weights + 8 * row),
+                    pool.intern(strings[buffer.getInt(abilities + 4 * row)]),
+                    buffer.getInt(generations + 4 * row),
+                    pool.intern(strings[buffer.getInt(legendaryStatuses + 4 * row)])
+                ));
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Calcula los primeros 64 bits del SHA-256 de la ruta, en hexadecimal.
+     */
+    private static String pathHash(Path source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Toda implementación de Java debe incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int stringId(String text, List<String> strings, Map<String, Integer> stringIds) {
+        String value = text == null ? "" : text;
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.add(value);
+            stringIds.put(value, id);
+        }
+        return id;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double value : values) {
+            out.writeDouble(value);
+        }
+    }
+}
@@ -11,15 +11,28 @@
 package pokemonmap.util;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import pokemonmap.data.Pokemon;
 import pokemonmap.data.PokemonData;
+import pokemonmap.data.StringPool;
 
 /**
  * Clase utilitaria para leer y procesar archivos CSV que contienen información de Pokémon.
@@ -28,7 +41,8 @@ import pokemonmap.data.PokemonData;
 public class CSVReader {
     
     /**
-     * Lee Pokémon desde un archivo CSV en el sistema de archivos.
+     * Lee Pokémon desde un archivo CSV en el sistema de archivos. Todos los métodos de
+     * esta clase leen el archivo como UTF-8, sin importar la codificación de la plataforma.
      * 
      * @param filePath Ruta al archivo CSV
      * @param pokemonData Objeto PokemonData donde se cargarán los datos
@@ -38,11 +52,183 @@ public class CSVReader {
     public static PokemonData readPokemonsFromCSV(String filePath, PokemonData pokemonData) throws IOException {
         Path path = Paths.get(filePath);
         
-        try (BufferedReader br = new BufferedReader(new FileReader(path.toFile()))) {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(path),
+                                                                          StandardCharsets.UTF_8))) {
             return processCSV(br, pokemonData);
         }
     }
     
+    /**
+     * Lee Pokémon desde un archivo CSV mapeándolo en memoria con {@link FileChannel#map}.
+     * Los campos se localizan directamente sobre los bytes del archivo y solo se crean
+     * objetos para los valores que se conservan, evitando decodificar cada línea a String.
+     * Es la opción recomendada para archivos grandes.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static PokemonData readPokemonsFromCSVMapped(String filePath, PokemonData pokemonData) throws IOException {
+        return readPokemonsFromCSVMapped(filePath, pokemonData, MappedCSVCursor.WINDOW_SIZE);
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV mapeándolo en memoria por ventanas del tamaño
+     * indicado, en lugar de las ventanas de 64 MB por defecto.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param windowSize Tamaño máximo en bytes de cada ventana; cada línea debe caber en una
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo o una línea no cabe en una ventana
+     * @throws IllegalArgumentException si el tamaño de ventana no es positivo
+     * @see #readPokemonsFromCSVMapped(String, PokemonData)
+     */
+    public static PokemonData readPokemonsFromCSVMapped(String filePath, PokemonData pokemonData,
+                                                        int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de ventana debe ser positivo: " + windowSize);
+        }
+        Path path = Paths.get(filePath);
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedCSVCursor cursor = new MappedCSVCursor(channel, 0, channel.size(), pokemonData.getStringPool(),
+                                                         windowSize);
+            Pokemon pokemon;
+            while ((pokemon = cursor.next()) != null) {
+                pokemonData.addPokemon(pokemon);
+            }
+        }
+        
+        pokemonData.completeLoad();
+        return pokemonData;
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV procesándolo en paralelo en el pool común
+     * de fork/join.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     * @see #readPokemonsFromCSVParallel(String, PokemonData, ForkJoinPool)
+     */
+    public static PokemonData readPokemonsFromCSVParallel(String filePath, PokemonData pokemonData) throws IOException {
+        return readPokemonsFromCSVParallel(filePath, pokemonData, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV procesándolo en paralelo.
+     * El archivo se divide en rangos de bytes alineados a registros que se procesan
+     * en el ForkJoinPool indicado; luego los resultados parciales se agregan en el
+     * orden del archivo al Map de pokemonData, de modo que el resultado es idéntico
+     * al de la lectura secuencial.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param pool Pool donde se ejecutan las tareas de lectura
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static PokemonData readPokemonsFromCSVParallel(String filePath, PokemonData pokemonData,
+                                                          ForkJoinPool pool) throws IOException {
+        // Unos cuatro bloques por hilo para equilibrar la carga entre núcleos
+        long size = Files.size(Paths.get(filePath));
+        long chunkSize = Math.max(ParallelCSVTask.MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4L));
+        return readPokemonsFromCSVParallel(filePath, pokemonData, pool, chunkSize);
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV procesándolo en paralelo, dividiendo el archivo
+     * hasta que cada bloque mida a lo sumo el tamaño indicado.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param pool Pool donde se ejecutan las tareas de lectura
+     * @param chunkSize Tamaño en bytes a partir del cual un bloque se divide
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     * @throws IllegalArgumentException si el tamaño de bloque no es positivo
+     * @see #readPokemonsFromCSVParallel(String, PokemonData, ForkJoinPool)
+     */
+    public static PokemonData readPokemonsFromCSVParallel(String filePath, PokemonData pokemonData,
+                                                          ForkJoinPool pool, long chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo: " + chunkSize);
+        }
+        Path path = Paths.get(filePath);
+        
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<List<Pokemon>> chunks = pool.invoke(new ParallelCSVTask(channel, 0, size, chunkSize, pokemonData.getStringPool()));
+            
+            for (List<Pokemon> chunk : chunks) {
+                for (Pokemon pokemon : chunk) {
+                    pokemonData.addPokemon(pokemon);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        pokemonData.completeLoad();
+        return pokemonData;
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV con un cargador en etapas: un hilo lee el archivo,
+     * varios hilos parsean lotes de líneas y el hilo actual los inserta en el Map, todo
+     * al mismo tiempo y comunicado por colas acotadas. Así la lectura del disco se
+     * superpone con el parseo y la inserción, y el avance puede reportarse con
+     * registros por segundo y porcentaje leído.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param listener Receptor del avance de la carga, o null
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static PokemonData readPokemonsFromCSVPipelined(String filePath, PokemonData pokemonData,
+                                                           LoadProgressListener listener) throws IOException {
+        return readPokemonsFromCSVPipelined(filePath, pokemonData, listener, parserThreads());
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV con el cargador en etapas y el número de hilos de
+     * parseo indicado.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param listener Receptor del avance de la carga, o null
+     * @param parserThreads Número de hilos de la etapa de parseo
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     * @throws IllegalArgumentException si el número de hilos no es positivo
+     * @see #readPokemonsFromCSVPipelined(String, PokemonData, LoadProgressListener)
+     */
+    public static PokemonData readPokemonsFromCSVPipelined(String filePath, PokemonData pokemonData,
+                                                           LoadProgressListener listener,
+                                                           int parserThreads) throws IOException {
+        if (parserThreads <= 0) {
+            throw new IllegalArgumentException("El número de hilos debe ser positivo: " + parserThreads);
+        }
+        Path path = Paths.get(filePath);
+        
+        new PipelinedCSVLoader(parserThreads).load(Files.newInputStream(path), Files.size(path), pokemonData, listener);
+        pokemonData.completeLoad();
+        return pokemonData;
+    }
+    
+    /**
+     * Calcula el número de hilos de parseo del cargador en etapas, reservando un
+     * núcleo para la lectura y otro para la inserción.
+     */
+    private static int parserThreads() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+    }
+    
     /**
      * Lee Pokémon desde un recurso en el classpath.
      * Si no encuentra el recurso, intenta buscarlo como un archivo en el sistema.
@@ -66,11 +252,234 @@ public class CSVReader {
             }
         }
         
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
             return processCSV(br, pokemonData);
         }
     }
     
+    /**
+     * Lee Pokémon desde un recurso del classpath usando una instantánea binaria como caché.
+     * Si existe una instantánea válida para la versión actual del recurso se carga
+     * directamente desde ella; si no, se lee el CSV y se guarda una nueva instantánea
+     * para el siguiente inicio. La instantánea se invalida automáticamente cuando cambia
+     * el tamaño o la fecha de modificación del CSV.
+     * 
+     * @param resourcePath Ruta al recurso
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el recurso o archivo
+     * @see BinarySnapshot
+     */
+    public static PokemonData readPokemonsFromResourceCached(String resourcePath, PokemonData pokemonData,
+                                                             Path snapshotFile) throws IOException {
+        return readPokemonsFromResourceCached(resourcePath, pokemonData, snapshotFile, null);
+    }
+    
+    /**
+     * Lee Pokémon desde un recurso del classpath usando una instantánea binaria como caché
+     * y reportando el avance de la carga.
+     * 
+     * @param resourcePath Ruta al recurso
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @param listener Receptor del avance de la carga, o null
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el recurso o archivo
+     * @see #readPokemonsFromResourceCached(String, PokemonData, Path)
+     */
+    public static PokemonData readPokemonsFromResourceCached(String resourcePath, PokemonData pokemonData,
+                                                             Path snapshotFile,
+                                                             LoadProgressListener listener) throws IOException {
+        URL url = CSVReader.class.getClassLoader().getResource(resourcePath);
+        
+        if (url == null) {
+            // Si no se encuentra en el classpath, intentar como ruta relativa
+            if (Files.exists(Paths.get(resourcePath))) {
+                return readPokemonsFromCSVCached(resourcePath, pokemonData, snapshotFile, listener);
+            }
+            throw new IOException("No se pudo encontrar el archivo: " + resourcePath);
+        }
+        
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return readPokemonsFromCSVCached(Paths.get(url.toURI()).toString(), pokemonData,
+                                                 snapshotFile, listener);
+            } catch (URISyntaxException e) {
+                // Si la URL no se puede convertir en ruta, leer el recurso como flujo
+            }
+        }
+        
+        // Consultar el tamaño y la fecha abre el recurso; se usa ese mismo flujo para
+        // leerlo y se cierra aunque la instantánea sea válida
+        URLConnection connection = url.openConnection();
+        try (InputStream in = connection.getInputStream()) {
+            long size = connection.getContentLengthLong();
+            long lastModified = connection.getLastModified();
+            
+            if (readSnapshot(snapshotFile, size, lastModified, pokemonData, listener)) {
+                return pokemonData;
+            }
+            
+            new PipelinedCSVLoader(parserThreads()).load(in, size, pokemonData, listener);
+            pokemonData.completeLoad();
+            saveSnapshot(snapshotFile, pokemonData, size, lastModified);
+            return pokemonData;
+        }
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV usando una instantánea binaria como caché.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     * @see #readPokemonsFromResourceCached(String, PokemonData, Path)
+     */
+    public static PokemonData readPokemonsFromCSVCached(String filePath, PokemonData pokemonData,
+                                                        Path snapshotFile) throws IOException {
+        return readPokemonsFromCSVCached(filePath, pokemonData, snapshotFile, null);
+    }
+    
+    /**
+     * Lee Pokémon desde un archivo CSV usando una instantánea binaria como caché
+     * y reportando el avance de la carga.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param snapshotFile Ruta del archivo de instantánea
+     * @param listener Receptor del avance de la carga, o null
+     * @return El objeto PokemonData con los datos cargados
+     * @throws IOException si ocurre un error al leer el archivo
+     * @see #readPokemonsFromResourceCached(String, PokemonData, Path)
+     */
+    public static PokemonData readPokemonsFromCSVCached(String filePath, PokemonData pokemonData,
+                                                        Path snapshotFile,
+                                                        LoadProgressListener listener) throws IOException {
+        Path path = Paths.get(filePath);
+        long size = Files.size(path);
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        
+        if (readSnapshot(snapshotFile, size, lastModified, pokemonData, listener)) {
+            return pokemonData;
+        }
+        
+        readPokemonsFromCSVPipelined(filePath, pokemonData, listener);
+        saveSnapshot(snapshotFile, pokemonData, size, lastModified);
+        return pokemonData;
+    }
+    
+    /**
+     * Carga la instantánea si es válida y, en ese caso, reporta la carga como completa.
+     */
+    private static boolean readSnapshot(Path snapshotFile, long size, long lastModified,
+                                        PokemonData pokemonData, LoadProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        if (!BinarySnapshot.read(snapshotFile, size, lastModified, pokemonData)) {
+            return false;
+        }
+        pokemonData.completeLoad();
+        if (listener != null) {
+            listener.onProgress(new LoadProgress(pokemonData.size(), size, size, System.nanoTime() - start));
+        }
+        return true;
+    }
+    
+    /**
+     * Guarda la instantánea de los datos recién cargados. Un error al guardarla no impide
+     * usar los datos, por lo que solo se reporta.
+     */
+    private static void saveSnapshot(Path snapshotFile, PokemonData pokemonData, long size, long lastModified) {
+        try {
+            BinarySnapshot.write(snapshotFile, pokemonData.getAllPokemons(), size, lastModified);
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la instantánea " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Crea un Stream que lee de forma perezosa los Pokémon de un archivo CSV.
+     * El archivo se mapea en memoria por ventanas y cada registro se convierte en
+     * Pokémon solo cuando el stream lo solicita, de modo que filtrar o agregar un
+     * archivo enorme requiere memoria constante. El Spliterator subyacente puede
+     * dividirse, por lo que el stream admite {@link Stream#parallel()}.
+     * El stream debe cerrarse (por ejemplo con try-with-resources) para liberar el archivo.
+     * 
+     * @param filePath Ruta al archivo CSV
+     * @return Stream con los Pokémon del archivo, en el orden del archivo
+     * @throws IOException si ocurre un error al abrir el archivo
+     */
+    public static Stream<Pokemon> streamPokemonsFromCSV(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        
+        try {
+            return StreamSupport.stream(new MappedCSVSpliterator(channel, 0, channel.size(), new StringPool()), false)
+                    .onClose(() -> closeUnchecked(channel));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Crea un Stream que lee de forma perezosa los Pokémon de un recurso del classpath.
+     * Si el recurso es un archivo del sistema se usa {@link #streamPokemonsFromCSV(String)};
+     * si está empaquetado (por ejemplo dentro de un JAR) se lee línea por línea.
+     * Si no se encuentra en el classpath, se intenta como ruta en el sistema de archivos.
+     * El stream debe cerrarse para liberar el recurso.
+     * 
+     * @param resourcePath Ruta al recurso
+     * @return Stream con los Pokémon del recurso, en el orden del archivo
+     * @throws IOException si no se encuentra el recurso o no se puede abrir
+     */
+    public static Stream<Pokemon> streamPokemonsFromResource(String resourcePath) throws IOException {
+        URL url = CSVReader.class.getClassLoader().getResource(resourcePath);
+        
+        if (url == null) {
+            if (Files.exists(Paths.get(resourcePath))) {
+                return streamPokemonsFromCSV(resourcePath);
+            }
+            throw new IOException("No se pudo encontrar el archivo: " + resourcePath);
+        }
+        
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return streamPokemonsFromCSV(Paths.get(url.toURI()).toString());
+            } catch (URISyntaxException e) {
+                // Si la URL no se puede convertir en ruta, leer el recurso como flujo
+            }
+        }
+        
+        BufferedReader br = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
+        try {
+            br.readLine(); // Leer encabezados
+        } catch (IOException e) {
+            br.close();
+            throw e;
+        }
+        
+        StringPool pool = new StringPool();
+        return br.lines()
+                .map(line -> parsePokemon(line, pool))
+                .filter(Objects::nonNull)
+                .onClose(() -> closeUnchecked(br));
+    }
+    
+    /**
+     * Cierra un recurso desde un manejador onClose, donde no se admiten excepciones verificadas.
+     * 
+     * @param closeable Recurso a cerrar
+     */
+    private static void closeUnchecked(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * Procesa un archivo CSV y carga los datos en el objeto PokemonData.
      * 
@@ -80,69 +489,42 @@ public class CSVReader {
      * @throws IOException si ocurre un error al leer el archivo
      */
     private static PokemonData processCSV(BufferedReader br, PokemonData pokemonData) throws IOException {
-        String line = br.readLine(); // Leer encabezados
+        CsvLineParser parser = new CsvLineParser(br);
+        parser.next(); // Leer encabezados
         
-        while ((line = br.readLine()) != null) {
-            String[] values = parseCsvLine(line);
-            
-            if (values.length >= 10) {
-                try {
-                    Pokemon pokemon = new Pokemon(
-                        values[0], // name
-                        Integer.parseInt(values[1]), // pokedexNumber
-                        values[2], // type1
-                        values[3], // type2
-                        values[4], // classification
-                        Double.parseDouble(values[5]), // height
-                        Double.parseDouble(values[6]), // weight
-                        values[7], // abilities
-                        Integer.parseInt(values[8]), // generation
-                        values[9]  // legendaryStatus
-                    );
-                    
+        while (parser.next()) {
+            try {
+                Pokemon pokemon = parser.toPokemon(pokemonData.getStringPool());
+                
+                if (pokemon != null) {
                     pokemonData.addPokemon(pokemon);
-                } catch (NumberFormatException e) {
-                    System.err.println("Error al parsear valores numéricos en la línea: " + line);
-                    // Opcionalmente, puedes lanzar la excepción o continuarla
-                    // throw e;
                 }
+            } catch (NumberFormatException e) {
+                System.err.println("Error al parsear valores numéricos en la línea: " + parser.line());
             }
         }
         
+        pokemonData.completeLoad();
         return pokemonData;
     }
     
     /**
-     * Parsea una línea de texto CSV en un array de valores.
-     * Maneja correctamente campos entrecomillados y comas dentro de los campos.
+     * Convierte una línea del CSV en un Pokémon usando el parser reutilizable del hilo actual.
      * 
-     * @param line Línea de texto CSV a parsear
-     * @return Array con los valores extraídos de la línea
+     * @param line Línea de texto CSV
+     * @param pool Diccionario para canonicalizar las columnas de baja cardinalidad
+     * @return El Pokémon de la línea, o null si la línea no tiene suficientes campos
+     *         o sus valores numéricos no son válidos
      */
-    private static String[] parseCsvLine(String line) {
-        // Implementación simple de parser CSV
-        // Considera usar una biblioteca como OpenCSV para un código de producción
-        if (line == null) return new String[0];
+    private static Pokemon parsePokemon(String line, StringPool pool) {
+        CsvLineParser parser = CsvLineParser.forCurrentThread();
+        parser.parse(line);
         
-        // Manejar campos entrecomillados y comas dentro de los campos
-        boolean inQuotes = false;
-        StringBuilder field = new StringBuilder();
-        java.util.List<String> fields = new java.util.ArrayList<>();
-        
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                fields.add(field.toString());
-                field = new StringBuilder();
-            } else {
-                field.append(c);
-            }
+        try {
+            return parser.toPokemon(pool);
+        } catch (NumberFormatException e) {
+            System.err.println("Error al parsear valores numéricos en la línea: " + line);
+            return null;
         }
-        
-        fields.add(field.toString());
-        return fields.toArray(new String[0]);
     }
 }
\ No newline at end of file
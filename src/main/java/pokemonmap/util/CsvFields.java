@@ -0,0 +1,262 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Rutinas para convertir los campos de un registro CSV directamente desde
+ *              los bytes del archivo o desde un buffer de caracteres, sin construir
+ *              cadenas intermedias.
+ */
+package pokemonmap.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Convierte rangos de bytes o de caracteres de un campo CSV en valores numéricos o en texto.
+ * Los caracteres de comilla se ignoran igual que en el parser de líneas original.
+ * Si el campo no tiene la forma simple esperada se recurre a {@link Integer#parseInt}
+ * o {@link Double#parseDouble} para conservar exactamente su semántica y sus errores.
+ */
+final class CsvFields {
+    // Potencias de 10 representables de forma exacta en un double
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private CsvFields() {
+    }
+
+    /**
+     * Convierte los bytes [from, to) del buffer en un entero.
+     *
+     * @param buffer Buffer con el contenido del archivo
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El valor entero del campo
+     * @throws NumberFormatException si el campo no es un entero válido
+     */
+    static int parseInt(ByteBuffer buffer, int from, int to) {
+        boolean negative = false;
+        boolean digits = false;
+        long value = 0;
+        int i = skipQuotes(buffer, from, to);
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                continue;
+            }
+            if (b < '0' || b > '9' || value > Integer.MAX_VALUE) {
+                return Integer.parseInt(decode(buffer, from, to));
+            }
+            value = value * 10 + (b - '0');
+            digits = true;
+        }
+        long signed = negative ? -value : value;
+        if (!digits || signed < Integer.MIN_VALUE || signed > Integer.MAX_VALUE) {
+            return Integer.parseInt(decode(buffer, from, to));
+        }
+        return (int) signed;
+    }
+
+    /**
+     * Convierte los bytes [from, to) del buffer en un double.
+     * Los valores de la forma [signo]dígitos[.dígitos] con menos de 16 dígitos
+     * significativos se calculan de forma exacta con una sola división; el resto
+     * se delega en {@link Double#parseDouble}.
+     *
+     * @param buffer Buffer con el contenido del archivo
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El valor double del campo
+     * @throws NumberFormatException si el campo no es un número válido
+     */
+    static double parseDouble(ByteBuffer buffer, int from, int to) {
+        boolean negative = false;
+        boolean digits = false;
+        boolean point = false;
+        int fractionDigits = 0;
+        long mantissa = 0;
+        int i = skipQuotes(buffer, from, to);
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                continue;
+            }
+            if (b == '.' && !point) {
+                point = true;
+            } else if (b >= '0' && b <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits = true;
+                if (point) {
+                    fractionDigits++;
+                }
+            } else {
+                return Double.parseDouble(decode(buffer, from, to));
+            }
+        }
+        if (!digits || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(decode(buffer, from, to));
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Decodifica los bytes [from, to) como texto UTF-8, sin las comillas.
+     *
+     * @param buffer Buffer con el contenido del archivo
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El texto del campo
+     */
+    static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b != '"') {
+                bytes[length++] = b;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Convierte los caracteres [from, to) del arreglo en un entero.
+     *
+     * @param chars Arreglo con el contenido de la línea
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El valor entero del campo
+     * @throws NumberFormatException si el campo no es un entero válido
+     */
+    static int parseInt(char[] chars, int from, int to) {
+        boolean negative = false;
+        boolean digits = false;
+        long value = 0;
+        int i = skipQuotes(chars, from, to);
+        if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        for (; i < to; i++) {
+            char c = chars[i];
+            if (c == '"') {
+                continue;
+            }
+            if (c < '0' || c > '9' || value > Integer.MAX_VALUE) {
+                return Integer.parseInt(decode(chars, from, to));
+            }
+            value = value * 10 + (c - '0');
+            digits = true;
+        }
+        long signed = negative ? -value : value;
+        if (!digits || signed < Integer.MIN_VALUE || signed > Integer.MAX_VALUE) {
+            return Integer.parseInt(decode(chars, from, to));
+        }
+        return (int) signed;
+    }
+
+    /**
+     * Convierte los caracteres [from, to) del arreglo en un double, con la misma
+     * estrategia que {@link #parseDouble(ByteBuffer, int, int)}.
+     *
+     * @param chars Arreglo con el contenido de la línea
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El valor double del campo
+     * @throws NumberFormatException si el campo no es un número válido
+     */
+    static double parseDouble(char[] chars, int from, int to) {
+        boolean negative = false;
+        boolean digits = false;
+        boolean point = false;
+        int fractionDigits = 0;
+        long mantissa = 0;
+        int i = skipQuotes(chars, from, to);
+        if (i < to && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        for (; i < to; i++) {
+            char c = chars[i];
+            if (c == '"') {
+                continue;
+            }
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits = true;
+                if (point) {
+                    fractionDigits++;
+                }
+            } else {
+                return Double.parseDouble(decode(chars, from, to));
+            }
+        }
+        if (!digits || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(decode(chars, from, to));
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Construye el texto de los caracteres [from, to) del arreglo, sin las comillas.
+     *
+     * @param chars Arreglo con el contenido de la línea
+     * @param from Posición inicial (inclusiva)
+     * @param to Posición final (exclusiva)
+     * @return El texto del campo
+     */
+    static String decode(char[] chars, int from, int to) {
+        int quotes = 0;
+        for (int i = from; i < to; i++) {
+            if (chars[i] == '"') {
+                quotes++;
+            }
+        }
+        if (quotes == 0) {
+            return new String(chars, from, to - from);
+        }
+        if (quotes == 2 && chars[from] == '"' && chars[to - 1] == '"') {
+            return new String(chars, from + 1, to - from - 2); // Campo entrecomillado simple
+        }
+
+        StringBuilder text = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            if (chars[i] != '"') {
+                text.append(chars[i]);
+            }
+        }
+        return text.toString();
+    }
+
+    private static int skipQuotes(ByteBuffer buffer, int from, int to) {
+        while (from < to && buffer.get(from) == '"') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int skipQuotes(char[] chars, int from, int to) {
+        while (from < to && chars[from] == '"') {
+            from++;
+        }
+        return from;
+    }
+}
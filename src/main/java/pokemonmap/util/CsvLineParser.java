@@ -0,0 +1,294 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Parser de líneas CSV que reutiliza sus buffers entre líneas y lee los
+ *              campos numéricos directamente de los caracteres, sin crear cadenas
+ *              intermedias.
+ */
+package pokemonmap.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.StringPool;
+
+/**
+ * Parser de líneas CSV sin asignaciones por línea.
+ * Lee los caracteres en un buffer propio que se reutiliza, localiza los límites de
+ * cada campo (respetando las comillas) y solo crea objetos para los valores de texto
+ * que se solicitan; los campos numéricos se convierten directamente desde el buffer.
+ * Una instancia no es segura para varios hilos; {@link #forCurrentThread()} devuelve
+ * una instancia reutilizable propia de cada hilo.
+ */
+public class CsvLineParser {
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MAX_FIELDS = 16;
+    private static final ThreadLocal<CsvLineParser> PER_THREAD = ThreadLocal.withInitial(CsvLineParser::new);
+
+    private Reader reader;
+    private char[] buffer = new char[INITIAL_BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean skipLineFeed;
+    private int lineStart;
+    private int lineEnd;
+    private int fieldCount;
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+
+    /**
+     * Crea un parser sin fuente de datos, para usarlo con {@link #parse(CharSequence)}.
+     */
+    public CsvLineParser() {
+    }
+
+    /**
+     * Crea un parser que lee líneas de un Reader con {@link #next()}.
+     *
+     * @param reader Fuente de los caracteres del CSV
+     */
+    public CsvLineParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Obtiene la instancia reutilizable del hilo actual.
+     * Está pensada para convertir líneas sueltas con {@link #parse(CharSequence)}.
+     *
+     * @return El parser asociado al hilo actual
+     */
+    public static CsvLineParser forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Avanza a la siguiente línea del Reader y localiza sus campos.
+     * Reconoce los mismos finales de línea que {@link java.io.BufferedReader#readLine()}.
+     *
+     * @return true si se leyó una línea, false si se llegó al final de los datos
+     * @throws IOException si ocurre un error al leer
+     */
+    public boolean next() throws IOException {
+        int scan = position;
+        while (true) {
+            if (skipLineFeed && scan < limit) {
+                skipLineFeed = false;
+                if (buffer[scan] == '\n') {
+                    scan++;
+                    position = scan;
+                }
+            }
+
+            for (; scan < limit; scan++) {
+                char c = buffer[scan];
+                if (c == '\n' || c == '\r') {
+                    lineStart = position;
+                    lineEnd = scan;
+                    position = scan + 1;
+                    skipLineFeed = c == '\r';
+                    split();
+                    return true;
+                }
+            }
+
+            if (endOfInput) {
+                if (position == limit) {
+                    return false;
+                }
+                lineStart = position;
+                lineEnd = limit;
+                position = limit;
+                split();
+                return true;
+            }
+
+            scan -= position;
+            fill();
+        }
+    }
+
+    /**
+     * Localiza los campos de una línea ya leída. El contenido se copia al buffer
+     * interno, que solo crece si la línea no cabe.
+     *
+     * @param line Línea de texto CSV, sin el salto de línea
+     */
+    public void parse(CharSequence line) {
+        int length = line.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+        if (line instanceof String) {
+            ((String) line).getChars(0, length, buffer, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                buffer[i] = line.charAt(i);
+            }
+        }
+        reader = null;
+        position = limit = length;
+        endOfInput = true;
+        skipLineFeed = false;
+        lineStart = 0;
+        lineEnd = length;
+        split();
+    }
+
+    /**
+     * Obtiene el número de campos de la línea actual.
+     *
+     * @return Cantidad de campos, incluyendo los vacíos
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Obtiene el texto de un campo de la línea actual, sin las comillas.
+     *
+     * @param field Índice del campo (desde 0)
+     * @return El texto del campo
+     */
+    public String text(int field) {
+        checkField(field);
+        return CsvFields.decode(buffer, fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * Obtiene el valor entero de un campo de la línea actual sin crear cadenas.
+     *
+     * @param field Índice del campo (desde 0)
+     * @return El valor entero del campo
+     * @throws NumberFormatException si el campo no es un entero válido
+     */
+    public int intValue(int field) {
+        checkField(field);
+        return CsvFields.parseInt(buffer, fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * Obtiene el valor double de un campo de la línea actual sin crear cadenas.
+     *
+     * @param field Índice del campo (desde 0)
+     * @return El valor double del campo
+     * @throws NumberFormatException si el campo no es un número válido
+     */
+    public double doubleValue(int field) {
+        checkField(field);
+        return CsvFields.parseDouble(buffer, fieldStarts[field], fieldEnds[field]);
+    }
+
+    /**
+     * Obtiene el texto completo de la línea actual, por ejemplo para mensajes de error.
+     *
+     * @return La línea actual
+     */
+    public String line() {
+        return new String(buffer, lineStart, lineEnd - lineStart);
+    }
+
+    /**
+     * Construye un Pokémon con los campos de la línea actual.
+     *
+     * @return El Pokémon de la línea, o null si la línea tiene menos de 10 campos
+     * @throws NumberFormatException si algún campo numérico no es válido
+     */
+    public Pokemon toPokemon() {
+        return toPokemon(null);
+    }
+
+    /**
+     * Construye un Pokémon con los campos de la línea actual, canonicalizando las
+     * columnas de baja cardinalidad con el diccionario indicado.
+     *
+     * @param pool Diccionario de cadenas, o null para no canonicalizar
+     * @return El Pokémon de la línea, o null si la línea tiene menos de 10 campos
+     * @throws NumberFormatException si algún campo numérico no es válido
+     */
+    public Pokemon toPokemon(StringPool pool) {
+        if (fieldCount < 10) {
+            return null;
+        }
+        return new Pokemon(
+            text(0), // name
+            intValue(1), // pokedexNumber
+            text(2, pool), // type1
+            text(3, pool), // type2
+            text(4, pool), // classification
+            doubleValue(5), // height
+            doubleValue(6), // weight
+            text(7, pool), // abilities
+            intValue(8), // generation
+            text(9, pool)  // legendaryStatus
+        );
+    }
+
+    private String text(int field, StringPool pool) {
+        String value = text(field);
+        return pool == null ? value : pool.intern(value);
+    }
+
+    /**
+     * Localiza los límites de los campos de la línea actual respetando las comillas.
+     */
+    private void split() {
+        boolean inQuotes = false;
+        int count = 0;
+        int fieldStart = lineStart;
+
+        for (int i = lineStart; i < lineEnd; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                if (count < MAX_FIELDS) {
+                    fieldStarts[count] = fieldStart;
+                    fieldEnds[count] = i;
+                }
+                count++;
+                fieldStart = i + 1;
+            }
+        }
+
+        if (count < MAX_FIELDS) {
+            fieldStarts[count] = fieldStart;
+            fieldEnds[count] = lineEnd;
+        }
+        fieldCount = count + 1;
+    }
+
+    /**
+     * Mueve la línea incompleta al inicio del buffer (ampliándolo si está lleno) y
+     * lee más caracteres a continuación.
+     */
+    private void fill() throws IOException {
+        int pending = limit - position;
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, pending);
+        } else if (pending == buffer.length) {
+            char[] larger = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, pending);
+            buffer = larger;
+        }
+        position = 0;
+        limit = pending;
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= Math.min(fieldCount, MAX_FIELDS)) {
+            throw new IndexOutOfBoundsException("Campo inexistente: " + field);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Servicio que vigila el archivo CSV de origen y, cuando cambia, carga la
+ *              nueva versión en segundo plano y la publica sin reiniciar la aplicación.
+ */
+package pokemonmap.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import pokemonmap.data.DatasetDelta;
+import pokemonmap.data.PokemonData;
+import pokemonmap.factory.MapType;
+
+/**
+ * Recarga en caliente los datos de Pokémon.
+ * Un hilo en segundo plano usa un {@link WatchService} sobre el directorio del CSV;
+ * cuando el archivo cambia, espera a que termine de escribirse, lo carga en un objeto
+ * PokemonData nuevo, calcula las diferencias con la versión actual y publica la nueva
+ * versión con un intercambio atómico.
+ * <p>
+ * Las versiones publicadas no se modifican nunca, así que quien esté leyendo una versión
+ * anterior sigue viendo datos consistentes; basta con volver a pedir {@link #current()}
+ * para ver la nueva.
+ */
+public class DatasetReloader implements Closeable {
+    /** Tiempo sin nuevos cambios que se espera antes de recargar el archivo. */
+    private static final long QUIET_PERIOD_MILLIS = 300;
+
+    /**
+     * Recibe las nuevas versiones de los datos después de cada recarga.
+     */
+    public interface ReloadListener {
+        /**
+         * Se invoca desde el hilo de recarga después de publicar una nueva versión.
+         *
+         * @param data La nueva versión de los datos
+         * @param delta Las diferencias con la versión anterior
+         */
+        void onReload(PokemonData data, DatasetDelta delta);
+    }
+
+    private final Path csvFile;
+    private final MapType mapType;
+    private final ReloadListener listener;
+    private final AtomicReference<PokemonData> current;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Crea el servicio de recarga para un archivo CSV.
+     *
+     * @param csvFile Archivo CSV a vigilar
+     * @param mapType Tipo de Map con el que se crean las nuevas versiones
+     * @param initialData Versión de los datos cargada actualmente
+     * @param listener Receptor de las nuevas versiones
+     */
+    public DatasetReloader(Path csvFile, MapType mapType, PokemonData initialData, ReloadListener listener) {
+        this.csvFile = csvFile.toAbsolutePath();
+        this.mapType = mapType;
+        this.listener = listener;
+        this.current = new AtomicReference<>(initialData);
+    }
+
+    /**
+     * Comienza a vigilar el archivo en un hilo en segundo plano.
+     *
+     * @throws IOException si no se puede registrar el directorio del archivo
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watchService = csvFile.getFileSystem().newWatchService();
+        csvFile.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        watcher = new Thread(this::watch, "pokemon-reloader");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Obtiene la versión de los datos publicada más recientemente.
+     *
+     * @return La versión actual de los datos
+     */
+    public PokemonData current() {
+        return current.get();
+    }
+
+    /**
+     * Carga el archivo de nuevo y publica la nueva versión si hay cambios.
+     * Si la carga falla se conserva la versión actual.
+     *
+     * @return Las diferencias publicadas, o null si no hubo cambios
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public DatasetDelta reload() throws IOException {
+        PokemonData previous = current.get();
+        // El archivo nuevo suele tener casi los mismos Pokémon que la versión actual
+        PokemonData loaded = CSVReader.readPokemonsFromCSVMapped(csvFile.toString(),
+                new PokemonData(mapType, previous.size()));
+        DatasetDelta delta = DatasetDelta.between(previous, loaded);
+
+        if (delta.isEmpty() || !current.compareAndSet(previous, loaded)) {
+            return null;
+        }
+        listener.onReload(loaded, delta);
+        return delta;
+    }
+
+    /**
+     * Deja de vigilar el archivo.
+     *
+     * @throws IOException si ocurre un error al cerrar el WatchService
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.interrupt();
+            watchService.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * Ciclo del hilo de vigilancia.
+     */
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+
+                // Esperar a que el archivo deje de cambiar antes de leerlo
+                while (changed) {
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                    if (key == null) {
+                        break;
+                    }
+                    drain(key);
+                }
+
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (IOException | RuntimeException e) {
+                        System.err.println("Error al recargar " + csvFile + ": " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Fin de la vigilancia
+        }
+    }
+
+    /**
+     * Consume los eventos de una clave y la vuelve a habilitar.
+     *
+     * @return true si alguno de los eventos corresponde al archivo vigilado
+     */
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && csvFile.getFileName().equals(context))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Estado del avance de una carga de datos: registros cargados, bytes
+ *              leídos y velocidad.
+ */
+package pokemonmap.util;
+
+/**
+ * Foto inmutable del avance de una carga de datos en un momento dado.
+ */
+public class LoadProgress {
+    private final long rowsLoaded;
+    private final long bytesRead;
+    private final long totalBytes;
+    private final long elapsedNanos;
+
+    /**
+     * Crea el estado de avance de una carga.
+     *
+     * @param rowsLoaded Registros agregados hasta el momento
+     * @param bytesRead Bytes del archivo leídos hasta el momento
+     * @param totalBytes Tamaño total del archivo, o -1 si se desconoce
+     * @param elapsedNanos Tiempo transcurrido desde el inicio de la carga
+     */
+    public LoadProgress(long rowsLoaded, long bytesRead, long totalBytes, long elapsedNanos) {
+        this.rowsLoaded = rowsLoaded;
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Obtiene el número de registros agregados hasta el momento.
+     *
+     * @return Cantidad de registros cargados
+     */
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    /**
+     * Obtiene el número de bytes del archivo leídos hasta el momento.
+     *
+     * @return Bytes leídos
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Obtiene el tamaño total del archivo.
+     *
+     * @return Tamaño en bytes, o -1 si se desconoce
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Calcula la velocidad promedio de la carga.
+     *
+     * @return Registros cargados por segundo
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos <= 0 ? 0 : rowsLoaded * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Calcula el porcentaje del archivo leído.
+     *
+     * @return Porcentaje entre 0 y 100, o -1 si se desconoce el tamaño del archivo
+     */
+    public double getPercentComplete() {
+        if (totalBytes <= 0) {
+            return -1;
+        }
+        return Math.min(100.0, bytesRead * 100.0 / totalBytes);
+    }
+
+    /**
+     * Genera un resumen legible del avance.
+     *
+     * @return Texto con los registros cargados, el porcentaje y la velocidad
+     */
+    @Override
+    public String toString() {
+        double percent = getPercentComplete();
+        return String.format("%,d registros%s - %,.0f registros/s", rowsLoaded,
+                percent < 0 ? "" : String.format(" (%.0f%%)", percent), getRowsPerSecond());
+    }
+}
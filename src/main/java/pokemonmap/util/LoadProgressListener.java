@@ -0,0 +1,24 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Interfaz para recibir el avance de una carga de datos.
+ */
+package pokemonmap.util;
+
+/**
+ * Recibe notificaciones del avance de una carga de datos.
+ * Las notificaciones llegan desde el hilo que realiza la carga.
+ */
+@FunctionalInterface
+public interface LoadProgressListener {
+    /**
+     * Se invoca cada vez que se agrega un lote de registros.
+     *
+     * @param progress Estado actual de la carga
+     */
+    void onProgress(LoadProgress progress);
+}
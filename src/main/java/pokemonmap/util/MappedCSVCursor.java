@@ -0,0 +1,245 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Cursor que recorre un rango de un archivo CSV mapeado en memoria y
+ *              construye los Pokémon directamente desde los bytes, sin decodificar
+ *              cada línea completa a String.
+ */
+package pokemonmap.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.StringPool;
+
+/**
+ * Recorre los registros de un rango [inicio, fin) de un archivo CSV usando
+ * {@link FileChannel#map}. Los límites de cada campo se localizan sobre el buffer
+ * mapeado y solo los campos de texto que se conservan se convierten en objetos;
+ * los numéricos se leen directamente de los bytes.
+ * El archivo se mapea por ventanas, por lo que admite archivos de más de 2 GB.
+ */
+final class MappedCSVCursor {
+    /** Tamaño máximo de cada ventana mapeada, salvo que se indique otro. */
+    static final int WINDOW_SIZE = 64 << 20;
+
+    private static final int FIELD_COUNT = 10;
+
+    private final FileChannel channel;
+    private final long end;
+    private final StringPool pool;
+    private final int windowSize;
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+    private long position;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLength;
+
+    /**
+     * Crea un cursor sobre el rango [start, end) del archivo.
+     * Si el rango comienza al inicio del archivo se omite la línea de encabezados.
+     *
+     * @param channel Canal abierto sobre el archivo CSV
+     * @param start Posición del primer byte del rango, alineada al inicio de un registro
+     * @param end Posición final (exclusiva) del rango, alineada al final de un registro
+     * @param pool Diccionario para canonicalizar las columnas de baja cardinalidad, o null
+     * @throws IOException si ocurre un error al mapear el archivo
+     */
+    MappedCSVCursor(FileChannel channel, long start, long end, StringPool pool) throws IOException {
+        this(channel, start, end, pool, WINDOW_SIZE);
+    }
+
+    /**
+     * Crea un cursor sobre el rango [start, end) del archivo con ventanas del tamaño
+     * indicado. Cada registro debe caber completo en una ventana.
+     *
+     * @param channel Canal abierto sobre el archivo CSV
+     * @param start Posición del primer byte del rango, alineada al inicio de un registro
+     * @param end Posición final (exclusiva) del rango, alineada al final de un registro
+     * @param pool Diccionario para canonicalizar las columnas de baja cardinalidad, o null
+     * @param windowSize Tamaño máximo en bytes de cada ventana mapeada
+     * @throws IOException si ocurre un error al mapear el archivo
+     */
+    MappedCSVCursor(FileChannel channel, long start, long end, StringPool pool, int windowSize) throws IOException {
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.position = start;
+        this.end = end;
+        this.pool = pool;
+        int headerEnd;
+        if (start == 0 && (headerEnd = locateRecord()) >= 0) {
+            position = windowStart + headerEnd + 1; // Omitir encabezados
+        }
+    }
+
+    /**
+     * Devuelve el siguiente Pokémon del rango. Las líneas con menos de 10 campos se
+     * ignoran y las que tienen valores numéricos inválidos se reportan y se omiten,
+     * igual que en la lectura con BufferedReader.
+     *
+     * @return El siguiente Pokémon o null si ya no quedan registros
+     * @throws IOException si ocurre un error al mapear el archivo
+     */
+    Pokemon next() throws IOException {
+        int recordEnd;
+        while ((recordEnd = locateRecord()) >= 0) {
+            int from = (int) (position - windowStart);
+            int to = recordEnd;
+            position = windowStart + recordEnd + 1;
+
+            // Con "\r\n" queda un registro vacío entre ambos caracteres, que se ignora
+            if (splitFields(from, to) >= FIELD_COUNT) {
+                try {
+                    return toPokemon();
+                } catch (NumberFormatException e) {
+                    System.err.println("Error al parsear valores numéricos en la línea: "
+                            + CsvFields.decode(window, from, to));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve la posición absoluta del siguiente byte sin leer.
+     *
+     * @return La posición actual del cursor en el archivo
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * Busca la posición del primer registro que comienza en o después de la posición dada.
+     * Como el formato no admite saltos de línea dentro de los campos, cualquier '\n' o
+     * '\r' es un límite de registro, aunque haya comas entre comillas en la línea.
+     *
+     * @param channel Canal abierto sobre el archivo CSV
+     * @param position Posición aproximada en el archivo
+     * @param size Tamaño total del archivo
+     * @return La posición del inicio del siguiente registro, o size si no hay más
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    static long alignToRecord(FileChannel channel, long position, long size) throws IOException {
+        if (position <= 0) {
+            return 0;
+        }
+        long from = position - 1;
+        while (from < size) {
+            int length = (int) Math.min(WINDOW_SIZE, size - from);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, length);
+            for (int i = 0; i < length; i++) {
+                if (isLineBreak(buffer.get(i))) {
+                    return from + i + 1;
+                }
+            }
+            from += length;
+        }
+        return size;
+    }
+
+    /**
+     * Localiza el final del registro que comienza en la posición actual, remapeando
+     * la ventana si el registro no cabe completo en ella.
+     *
+     * @return Índice dentro de la ventana del byte que termina el registro, o -1 si no hay más
+     */
+    private int locateRecord() throws IOException {
+        if (position >= end) {
+            return -1;
+        }
+        if (window == null || position < windowStart || position >= windowStart + windowLength) {
+            map(position);
+        }
+
+        for (int i = (int) (position - windowStart); i < windowLength; i++) {
+            if (isLineBreak(window.get(i))) {
+                return i;
+            }
+        }
+
+        if (windowStart + windowLength < end) {
+            if (windowStart == position) {
+                throw new IOException("Registro demasiado grande en la posición " + position);
+            }
+            map(position);
+            return locateRecord();
+        }
+        return windowLength;
+    }
+
+    /**
+     * Indica si el byte termina una línea, con los mismos criterios que
+     * {@link java.io.BufferedReader#readLine()}.
+     */
+    private static boolean isLineBreak(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        windowLength = (int) Math.min(windowSize, end - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+    }
+
+    /**
+     * Localiza los límites de los campos de la línea [from, to) respetando las comillas.
+     *
+     * @return El número total de campos de la línea
+     */
+    private int splitFields(int from, int to) {
+        boolean inQuotes = false;
+        int count = 0;
+        int fieldStart = from;
+
+        for (int i = from; i < to; i++) {
+            byte b = window.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == ',' && !inQuotes) {
+                if (count < FIELD_COUNT) {
+                    fieldStarts[count] = fieldStart;
+                    fieldEnds[count] = i;
+                }
+                count++;
+                fieldStart = i + 1;
+            }
+        }
+
+        if (count < FIELD_COUNT) {
+            fieldStarts[count] = fieldStart;
+            fieldEnds[count] = to;
+        }
+        return count + 1;
+    }
+
+    private Pokemon toPokemon() {
+        return new Pokemon(
+            text(0), // name
+            CsvFields.parseInt(window, fieldStarts[1], fieldEnds[1]), // pokedexNumber
+            pooledText(2), // type1
+            pooledText(3), // type2
+            pooledText(4), // classification
+            CsvFields.parseDouble(window, fieldStarts[5], fieldEnds[5]), // height
+            CsvFields.parseDouble(window, fieldStarts[6], fieldEnds[6]), // weight
+            pooledText(7), // abilities
+            CsvFields.parseInt(window, fieldStarts[8], fieldEnds[8]), // generation
+            pooledText(9)  // legendaryStatus
+        );
+    }
+
+    private String text(int field) {
+        return CsvFields.decode(window, fieldStarts[field], fieldEnds[field]);
+    }
+
+    private String pooledText(int field) {
+        String value = text(field);
+        return pool == null ? value : pool.intern(value);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Spliterator que produce los Pokémon de un archivo CSV mapeado en memoria
+ *              bajo demanda y que puede dividirse para recorrerlo en paralelo.
+ */
+package pokemonmap.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.StringPool;
+
+/**
+ * Recorre de forma perezosa los registros del rango [start, end) de un archivo CSV.
+ * Solo se mantiene en memoria la ventana mapeada actual y el Pokémon en curso, por lo
+ * que el consumo de memoria no depende del tamaño del archivo.
+ * Antes de empezar el recorrido el rango puede dividirse en dos mitades alineadas a
+ * registros, lo que permite usarlo en streams paralelos.
+ */
+final class MappedCSVSpliterator implements Spliterator<Pokemon> {
+    /** Rango mínimo en bytes que se sigue dividiendo. */
+    private static final long MIN_SPLIT_SIZE = 64 << 10;
+    /** Tamaño promedio estimado de un registro, usado solo para estimar el número de elementos. */
+    private static final long AVERAGE_RECORD_SIZE = 80;
+
+    private final FileChannel channel;
+    private long start;
+    private final long end;
+    private final StringPool pool;
+    private MappedCSVCursor cursor;
+
+    /**
+     * Crea un spliterator sobre el rango [start, end) del archivo.
+     *
+     * @param channel Canal abierto sobre el archivo CSV
+     * @param start Inicio del rango, alineado a un registro
+     * @param end Fin del rango, alineado a un registro
+     * @param pool Diccionario de cadenas compartido por todas las divisiones, o null
+     */
+    MappedCSVSpliterator(FileChannel channel, long start, long end, StringPool pool) {
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Pokemon> action) {
+        try {
+            if (cursor == null) {
+                cursor = new MappedCSVCursor(channel, start, end, pool);
+            }
+            Pokemon pokemon = cursor.next();
+            if (pokemon == null) {
+                return false;
+            }
+            action.accept(pokemon);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<Pokemon> trySplit() {
+        // Solo se divide antes de empezar a recorrer el rango
+        if (cursor != null || end - start < MIN_SPLIT_SIZE) {
+            return null;
+        }
+        try {
+            long middle = MappedCSVCursor.alignToRecord(channel, start + (end - start) / 2, end);
+            if (middle <= start || middle >= end) {
+                return null;
+            }
+            Spliterator<Pokemon> prefix = new MappedCSVSpliterator(channel, start, middle, pool);
+            start = middle;
+            return prefix;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        long remaining = (cursor == null ? end - start : end - cursor.position());
+        return Math.max(0, remaining / AVERAGE_RECORD_SIZE);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+}
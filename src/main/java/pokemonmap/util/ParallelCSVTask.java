@@ -0,0 +1,89 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Tarea fork/join que divide un archivo CSV en rangos de bytes alineados
+ *              a registros y los procesa en paralelo.
+ */
+package pokemonmap.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.StringPool;
+
+/**
+ * Procesa el rango [start, end) de un archivo CSV dividiéndolo recursivamente en dos
+ * mitades hasta llegar a un tamaño de bloque manejable. Cada punto de corte se alinea
+ * al inicio del siguiente registro, de modo que ninguna línea (ni los campos entre
+ * comillas como "Overgrow, Chlorophyll") queda repartida entre dos bloques.
+ * El resultado conserva el orden del archivo: una lista de bloques, cada uno con los
+ * Pokémon de su rango en el orden en que aparecen.
+ */
+final class ParallelCSVTask extends RecursiveTask<List<List<Pokemon>>> {
+    private static final long serialVersionUID = 1L;
+
+    /** Tamaño mínimo de un bloque para que valga la pena dividirlo. */
+    static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final long start;
+    private final long end;
+    private final long chunkSize;
+    private final StringPool pool;
+
+    /**
+     * Crea una tarea para el rango [start, end) del archivo.
+     *
+     * @param channel Canal abierto sobre el archivo CSV
+     * @param start Inicio del rango, alineado a un registro
+     * @param end Fin del rango, alineado a un registro
+     * @param chunkSize Tamaño a partir del cual el rango se divide
+     * @param pool Diccionario de cadenas compartido por todas las tareas, o null
+     */
+    ParallelCSVTask(FileChannel channel, long start, long end, long chunkSize, StringPool pool) {
+        this.channel = channel;
+        this.start = start;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    @Override
+    protected List<List<Pokemon>> compute() {
+        try {
+            if (end - start > chunkSize) {
+                long middle = MappedCSVCursor.alignToRecord(channel, start + (end - start) / 2, end);
+                if (middle > start && middle < end) {
+                    ParallelCSVTask left = new ParallelCSVTask(channel, start, middle, chunkSize, pool);
+                    ParallelCSVTask right = new ParallelCSVTask(channel, middle, end, chunkSize, pool);
+                    left.fork();
+                    List<List<Pokemon>> rightChunks = right.compute();
+                    List<List<Pokemon>> chunks = left.join();
+                    chunks.addAll(rightChunks);
+                    return chunks;
+                }
+            }
+
+            List<Pokemon> pokemons = new ArrayList<>();
+            MappedCSVCursor cursor = new MappedCSVCursor(channel, start, end, pool);
+            Pokemon pokemon;
+            while ((pokemon = cursor.next()) != null) {
+                pokemons.add(pokemon);
+            }
+
+            List<List<Pokemon>> chunks = new ArrayList<>();
+            chunks.add(pokemons);
+            return chunks;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
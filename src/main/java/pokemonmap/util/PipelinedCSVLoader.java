@@ -0,0 +1,307 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Cargador de CSV en etapas (lectura, parseo e inserción) conectadas por
+ *              colas acotadas, para superponer la lectura del disco con el procesamiento.
+ */
+package pokemonmap.util;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.StringPool;
+
+/**
+ * Carga un CSV en tres etapas que trabajan al mismo tiempo:
+ * <ol>
+ *   <li>Lectura: un hilo lee líneas del archivo y las agrupa en lotes.</li>
+ *   <li>Parseo: uno o más hilos convierten cada lote de líneas en Pokémon.</li>
+ *   <li>Inserción: el hilo que invoca {@link #load} agrega los lotes al Map en el orden
+ *       original del archivo y reporta el avance.</li>
+ * </ol>
+ * Las etapas se comunican con colas acotadas: si una etapa posterior se atrasa, la
+ * anterior se bloquea en lugar de acumular el archivo completo en memoria. Además, la
+ * lectura no se adelanta más de {@link #WINDOW_PER_PARSER} lotes por hilo de parseo al
+ * último lote insertado, de modo que un hilo de parseo lento tampoco hace crecer sin
+ * límite los lotes que esperan su turno para insertarse.
+ */
+final class PipelinedCSVLoader {
+    /** Número de líneas por lote. */
+    static final int BATCH_SIZE = 4096;
+    /** Lotes en espera entre dos etapas, por cada hilo de parseo. */
+    private static final int QUEUE_SLOTS_PER_PARSER = 2;
+    /** Lotes leídos que aún no se han insertado, por cada hilo de parseo. */
+    static final int WINDOW_PER_PARSER = 2 * QUEUE_SLOTS_PER_PARSER;
+
+    private final int parserCount;
+    private final BlockingQueue<LineBatch> lines;
+    private final BlockingQueue<PokemonBatch> pokemons;
+    private final Semaphore window;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Lote de líneas leídas, numerado para conservar el orden del archivo.
+     */
+    private static final class LineBatch {
+        static final LineBatch END = new LineBatch(-1, null, 0, 0);
+
+        final long sequence;
+        final String[] lines;
+        final int count;
+        final long bytesRead;
+
+        LineBatch(long sequence, String[] lines, int count, long bytesRead) {
+            this.sequence = sequence;
+            this.lines = lines;
+            this.count = count;
+            this.bytesRead = bytesRead;
+        }
+    }
+
+    /**
+     * Lote de Pokémon ya parseados. Un lote con secuencia -1 indica que un hilo de
+     * parseo terminó.
+     */
+    private static final class PokemonBatch {
+        final long sequence;
+        final Pokemon[] pokemons;
+        final int count;
+        final long bytesRead;
+
+        PokemonBatch(long sequence, Pokemon[] pokemons, int count, long bytesRead) {
+            this.sequence = sequence;
+            this.pokemons = pokemons;
+            this.count = count;
+            this.bytesRead = bytesRead;
+        }
+    }
+
+    /**
+     * Flujo que cuenta los bytes leídos, para calcular el porcentaje de avance.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Crea un cargador con el número de hilos de parseo indicado.
+     *
+     * @param parserCount Número de hilos de la etapa de parseo
+     */
+    PipelinedCSVLoader(int parserCount) {
+        this.parserCount = Math.max(1, parserCount);
+        this.lines = new ArrayBlockingQueue<>(this.parserCount * QUEUE_SLOTS_PER_PARSER);
+        this.pokemons = new ArrayBlockingQueue<>(this.parserCount * QUEUE_SLOTS_PER_PARSER);
+        this.window = new Semaphore(this.parserCount * WINDOW_PER_PARSER);
+    }
+
+    /**
+     * Carga los Pokémon del flujo en el objeto PokemonData.
+     *
+     * @param input Flujo con el contenido del CSV; se cierra al terminar
+     * @param totalBytes Tamaño total del flujo, o -1 si se desconoce
+     * @param pokemonData Objeto PokemonData donde se cargarán los datos
+     * @param listener Receptor del avance, o null
+     * @throws IOException si ocurre un error al leer o procesar el archivo
+     */
+    void load(InputStream input, long totalBytes, PokemonData pokemonData,
+              LoadProgressListener listener) throws IOException {
+        long start = System.nanoTime();
+        ExecutorService stages = Executors.newFixedThreadPool(parserCount + 1, runnable -> {
+            Thread thread = new Thread(runnable, "pokemon-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (CountingInputStream counted = new CountingInputStream(input)) {
+            stages.execute(() -> read(counted));
+            for (int i = 0; i < parserCount; i++) {
+                stages.execute(() -> parse(pokemonData.getStringPool()));
+            }
+
+            Map<Long, PokemonBatch> pending = new HashMap<>();
+            long nextSequence = 0;
+            long rows = 0;
+            int finishedParsers = 0;
+
+            while (finishedParsers < parserCount) {
+                PokemonBatch batch = pokemons.take();
+                if (failure.get() != null) {
+                    break;
+                }
+                if (batch.sequence < 0) {
+                    finishedParsers++;
+                    continue;
+                }
+
+                // Los lotes pueden llegar desordenados; se insertan en el orden del archivo
+                pending.put(batch.sequence, batch);
+                while ((batch = pending.remove(nextSequence)) != null) {
+                    for (int i = 0; i < batch.count; i++) {
+                        pokemonData.addPokemon(batch.pokemons[i]);
+                    }
+                    rows += batch.count;
+                    nextSequence++;
+                    window.release();
+                    if (listener != null) {
+                        listener.onProgress(new LoadProgress(rows, batch.bytesRead, totalBytes, System.nanoTime() - start));
+                    }
+                }
+            }
+
+            if (listener != null && failure.get() == null) {
+                listener.onProgress(new LoadProgress(rows, Math.max(counted.count, totalBytes), totalBytes,
+                        System.nanoTime() - start));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Carga interrumpida", e);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            stages.shutdownNow();
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new IOException("Error al cargar los datos: " + error.getMessage(), error);
+        }
+    }
+
+    /**
+     * Etapa de lectura: agrupa las líneas del archivo en lotes. Siempre avisa el fin a
+     * los hilos de parseo, también si falla, salvo que la carga se haya cancelado.
+     */
+    private void read(CountingInputStream input) {
+        boolean cancelled = false;
+        try {
+            BufferedReader br = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            br.readLine(); // Leer encabezados
+
+            long sequence = 0;
+            String[] batch = new String[BATCH_SIZE];
+            int count = 0;
+            String line;
+            while ((line = br.readLine()) != null && failure.get() == null) {
+                batch[count++] = line;
+                if (count == BATCH_SIZE) {
+                    window.acquire();
+                    lines.put(new LineBatch(sequence++, batch, count, input.count));
+                    batch = new String[BATCH_SIZE];
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                window.acquire();
+                lines.put(new LineBatch(sequence, batch, count, input.count));
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (!cancelled) {
+                sendEnd();
+            }
+        }
+    }
+
+    private void sendEnd() {
+        try {
+            for (int i = 0; i < parserCount; i++) {
+                lines.put(LineBatch.END);
+            }
+        } catch (InterruptedException e) {
+            // La carga se canceló
+        }
+    }
+
+    /**
+     * Etapa de parseo: convierte cada lote de líneas en un lote de Pokémon. Siempre avisa
+     * su fin al hilo de inserción, también si falla, salvo que la carga se haya cancelado.
+     */
+    private void parse(StringPool pool) {
+        boolean cancelled = false;
+        try {
+            CsvLineParser parser = new CsvLineParser();
+            LineBatch batch;
+            while ((batch = lines.take()) != LineBatch.END) {
+                Pokemon[] parsed = new Pokemon[batch.count];
+                int count = 0;
+                for (int i = 0; i < batch.count; i++) {
+                    parser.parse(batch.lines[i]);
+                    try {
+                        Pokemon pokemon = parser.toPokemon(pool);
+                        if (pokemon != null) {
+                            parsed[count++] = pokemon;
+                        }
+                    } catch (NumberFormatException e) {
+                        System.err.println("Error al parsear valores numéricos en la línea: " + batch.lines[i]);
+                    }
+                }
+                pokemons.put(new PokemonBatch(batch.sequence, parsed, count, batch.bytesRead));
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (!cancelled) {
+                sendFinished();
+            }
+        }
+    }
+
+    private void sendFinished() {
+        try {
+            pokemons.put(new PokemonBatch(-1, null, 0, 0));
+        } catch (InterruptedException e) {
+            // La carga se canceló
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para ColumnarPokemonStore.
+ *              Verifica que el almacén por columnas se comporte igual que un
+ *              LinkedHashMap a través de la API de PokemonData.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.ColumnarPokemonStore;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para la clase ColumnarPokemonStore.
+ * Compara cada operación con los resultados de un PokemonData basado en LinkedHashMap.
+ */
+public class ColumnarPokemonStoreTest {
+    private PokemonData columnar;
+    private PokemonData reference;
+
+    /**
+     * Configuración inicial antes de cada prueba.
+     * Carga los mismos Pokémon en ambos tipos de almacén.
+     */
+    @BeforeEach
+    public void setUp() {
+        columnar = new PokemonData(MapType.COLUMNAR);
+        reference = new PokemonData(MapType.LINKED_HASH_MAP);
+
+        Pokemon[] pokemons = {
+            new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0,
+                        "Static, Lightning-rod", 1, "No"),
+            new Pokemon("Charizard", 6, "Fire", "Flying", "Flame Pokémon", 1.7, 90.5,
+                        "Blaze, Solar-power", 1, "No"),
+            new Pokemon("Bulbasaur", 1, "Grass", "Poison", "Seed Pokémon", 0.7, 6.9,
+                        "Overgrow, Chlorophyll", 1, "No"),
+            new Pokemon("Raichu", 26, "Electric", "", "Mouse Pokémon", 0.8, 30.0,
+                        "Static, Lightning-rod", 1, "No"),
+            new Pokemon("Charmander", 4, "Fire", "", "Lizard Pokémon", 0.6, 8.5,
+                        "Blaze, Solar-power", 1, "No")
+        };
+        for (Pokemon pokemon : pokemons) {
+            columnar.addPokemon(pokemon);
+            reference.addPokemon(pokemon);
+        }
+    }
+
+    /**
+     * Prueba que los Pokémon se reconstruyan con los mismos valores al consultarlos.
+     */
+    @Test
+    public void testGetReturnsEqualPokemon() {
+        for (Pokemon expected : reference.getAllPokemons()) {
+            assertEquals(expected, columnar.getPokemon(expected.getName()),
+                         "El Pokémon reconstruido debe ser igual al original");
+        }
+        assertNull(columnar.getPokemon("Mewtwo"), "No debería encontrar a Mewtwo");
+        assertEquals(new ArrayList<>(reference.getAllPokemons()), new ArrayList<>(columnar.getAllPokemons()),
+                     "El recorrido debe seguir el orden de inserción");
+    }
+
+    /**
+     * Prueba los recorridos por habilidad y por tipo contra el LinkedHashMap.
+     */
+    @Test
+    public void testScansMatchReference() {
+        for (String ability : new String[]{"Static", "blaze", "row", "Intimidate", ""}) {
+            assertEquals(reference.getPokemonsByAbility(ability), columnar.getPokemonsByAbility(ability),
+                         "La búsqueda por '" + ability + "' debe coincidir");
+        }
+        assertEquals(reference.getAllPokemonsSortedByType1(), columnar.getAllPokemonsSortedByType1(),
+                     "El ordenamiento por tipo debe coincidir, incluido el orden dentro de cada tipo");
+    }
+
+    /**
+     * Prueba el reemplazo y la eliminación de filas.
+     */
+    @Test
+    public void testReplaceAndRemove() {
+        Map<String, Pokemon> store = new ColumnarPokemonStore();
+        for (Pokemon pokemon : reference.getAllPokemons()) {
+            store.put(pokemon.getName(), pokemon);
+        }
+
+        Pokemon shiny = new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0,
+                                    "Static", 1, "No");
+        assertEquals("Static, Lightning-rod", store.put("Pikachu", shiny).getAbilities(),
+                     "put debe devolver el valor anterior");
+        assertEquals(shiny, store.get("Pikachu"), "El valor debe reemplazarse");
+        assertEquals(5, store.size(), "Reemplazar no debe cambiar el tamaño");
+
+        assertNotNull(store.remove("Charizard"), "Debería eliminar a Charizard");
+        assertFalse(store.containsKey("Charizard"), "Charizard ya no debería existir");
+        assertEquals(reference.getPokemon("Charmander"), store.get("Charmander"),
+                     "La fila movida debe seguir accesible");
+
+        Iterator<Pokemon> iterator = store.values().iterator();
+        List<String> visited = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Pokemon pokemon = iterator.next();
+            visited.add(pokemon.getName());
+            if (pokemon.getType1().equals("Electric")) {
+                iterator.remove();
+            }
+        }
+        assertEquals(4, visited.size(), "El iterador debe visitar cada Pokémon una vez");
+        assertEquals(2, store.size(), "Deberían quedar 2 Pokémon");
+        assertFalse(store.containsKey("Raichu"), "Raichu debería haberse eliminado");
+    }
+}
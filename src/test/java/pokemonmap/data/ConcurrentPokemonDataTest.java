@@ -0,0 +1,191 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para el uso de PokemonData desde varios hilos.
+ *              Verifica que las búsquedas y las versiones sean consistentes mientras otro
+ *              hilo agrega.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapFactory;
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.PokemonQuery;
+import pokemonmap.data.PokemonSnapshot;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pruebas de carga concurrente para la clase PokemonData.
+ * Un hilo agrega Pokémon en orden mientras varios hilos consultan. Como las
+ * inserciones son sucesivas, una búsqueda consistente siempre ve un prefijo de ellas:
+ * los Pokémon 1 a m completos, sin huecos ni repetidos.
+ */
+public class ConcurrentPokemonDataTest {
+    private static final int POKEMON_COUNT = 5_000;
+    private static final int READER_COUNT = 3;
+    private static final String[] TYPES = {"Water", "Fire", "Grass", "Electric"};
+
+    private static Pokemon pokemon(int number) {
+        return new Pokemon("Pokemon" + number, number, TYPES[number % TYPES.length], "", "Prueba",
+                           1.0 + number % 7, number, number % 2 == 0 ? "Blaze" : "Static",
+                           1 + number % 3, "No");
+    }
+
+    /**
+     * Prueba que el factory cree los Map concurrentes.
+     */
+    @Test
+    public void testCreateMap() {
+        assertTrue(MapFactory.createMap(MapType.CONCURRENT_HASH_MAP, 1_000) instanceof ConcurrentHashMap,
+                   "Debería crear un ConcurrentHashMap");
+        assertTrue(MapFactory.createMap(MapType.CONCURRENT_SKIP_LIST_MAP) instanceof ConcurrentSkipListMap,
+                   "Debería crear un ConcurrentSkipListMap");
+        assertEquals(MapType.CONCURRENT_SKIP_LIST_MAP, MapType.fromValue(8), "El valor 8 es el ConcurrentSkipListMap");
+    }
+
+    /**
+     * Prueba las búsquedas compuestas con un ConcurrentHashMap durante las inserciones.
+     */
+    @Test
+    public void testConcurrentHashMap() throws InterruptedException {
+        stress(MapType.CONCURRENT_HASH_MAP);
+    }
+
+    /**
+     * Prueba las búsquedas compuestas con un ConcurrentSkipListMap durante las
+     * inserciones; los empates deben seguir el orden por nombre.
+     */
+    @Test
+    public void testConcurrentSkipListMap() throws InterruptedException {
+        PokemonData data = stress(MapType.CONCURRENT_SKIP_LIST_MAP);
+        List<Pokemon> blaze = data.getPokemonsByAbility("blaze");
+        for (int i = 1; i < blaze.size(); i++) {
+            assertTrue(blaze.get(i - 1).getName().compareTo(blaze.get(i).getName()) < 0,
+                       "Los resultados deberían seguir el orden por nombre del Map");
+        }
+    }
+
+    /**
+     * Prueba que un Map no concurrente también quede protegido por PokemonData.
+     */
+    @Test
+    public void testHashMap() throws InterruptedException {
+        stress(MapType.HASH_MAP);
+    }
+
+    /**
+     * Agrega Pokémon desde un hilo mientras otros revisan que cada búsqueda vea un
+     * prefijo completo de las inserciones.
+     */
+    private static PokemonData stress(MapType mapType) throws InterruptedException {
+        PokemonData data = new PokemonData(mapType);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READER_COUNT; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    boolean last;
+                    do {
+                        last = !writing.get();
+                        checkConsistent(data);
+                    } while (!last);
+                } catch (Throwable failure) {
+                    failures.add(failure);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int number = 1; number <= POKEMON_COUNT; number++) {
+                    data.addPokemon(pokemon(number));
+                }
+            } catch (Throwable failure) {
+                failures.add(failure);
+            } finally {
+                writing.set(false);
+            }
+        });
+        writer.start();
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Búsqueda inconsistente con " + mapType + ": " + failures.peek());
+        assertEquals(POKEMON_COUNT, data.size(), "Deberían estar todos los Pokémon");
+        assertEquals(POKEMON_COUNT, data.getAllPokemonsSortedByType1().size(),
+                     "El ordenamiento final debería incluir todos los Pokémon");
+        return data;
+    }
+
+    private static void checkConsistent(PokemonData data) {
+        List<Pokemon> sorted = data.getAllPokemonsSortedByType1();
+        for (int i = 1; i < sorted.size(); i++) {
+            assertTrue(sorted.get(i - 1).getType1().compareTo(sorted.get(i).getType1()) <= 0,
+                       "La lista debería estar ordenada por tipo");
+        }
+        int seen = sorted.size();
+        assertPrefix(sorted, 1, 1, seen);
+
+        PokemonSnapshot snapshot = data.snapshot();
+        assertTrue(snapshot.size() >= seen, "La versión no debería ver menos Pokémon que una búsqueda anterior");
+        assertPrefix(snapshot.getPokemons(), 1, 1, snapshot.size());
+
+        List<Pokemon> blaze = data.getPokemonsByAbility("blaze");
+        int blazeCount = blaze.size();
+        assertPrefix(blaze, 2, 2, blazeCount);
+        assertTrue(2 * blazeCount >= seen - 1, "La búsqueda por habilidad no debería ver menos Pokémon que una anterior");
+
+        List<Pokemon> heaviest = data.topK(3, Comparator.comparingDouble(Pokemon::getWeight).reversed());
+        int newest = heaviest.isEmpty() ? 0 : heaviest.get(0).getPokedexNumber();
+        assertTrue(newest >= 2 * blazeCount, "El top-k no debería ver menos Pokémon que una búsqueda anterior");
+        for (int i = 0; i < heaviest.size(); i++) {
+            assertEquals(newest - i, heaviest.get(i).getPokedexNumber(), "El top-k debería ser consecutivo");
+        }
+
+        PokemonQuery.Result fire = data.query().type1("Fire").heightBetween(1.0, 8.0)
+                .orderBy(PokemonQuery.SortKey.POKEDEX_NUMBER).execute();
+        assertPrefix(fire.getPokemons(), 1, TYPES.length, fire.getPokemons().size());
+
+        for (int number = 1; number <= newest; number += 97) {
+            assertNotNull(data.getPokemon("Pokemon" + number), "Un Pokémon ya visto debería encontrarse por nombre");
+        }
+    }
+
+    /**
+     * Verifica que los números de Pokédex sean exactamente first, first + step, ... con
+     * count elementos, en cualquier orden.
+     */
+    private static void assertPrefix(List<Pokemon> pokemons, int first, int step, int count) {
+        Set<Integer> numbers = new HashSet<>();
+        for (Pokemon pokemon : pokemons) {
+            int number = pokemon.getPokedexNumber();
+            assertTrue(number >= first && (number - first) % step == 0 && (number - first) / step < count,
+                       "Número fuera del prefijo esperado: " + number);
+            assertTrue(numbers.add(number), "Pokémon repetido: " + number);
+        }
+        assertEquals(count, numbers.size(), "Faltan Pokémon en el resultado");
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para FrozenPerfectHashMap.
+ *              Verifica que el Map congelado encuentre cada nombre y rechace cambios.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.FrozenPerfectHashMap;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.util.CSVReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pruebas unitarias para la clase FrozenPerfectHashMap.
+ */
+public class FrozenPerfectHashMapTest {
+
+    private static Pokemon pokemon(String name) {
+        return new Pokemon(name, 1, "Normal", "", "Prueba", 1.0, 1.0, "Static", 1, "No");
+    }
+
+    /**
+     * Prueba que, congelado, el Map tenga las mismas entradas que un HashMap para
+     * varios tamaños, incluidos el vacío y nombres que comparten hashCode.
+     */
+    @Test
+    public void testMatchesHashMap() {
+        for (int size : new int[] {0, 1, 2, 7, 1_000, 50_000}) {
+            Map<String, Pokemon> reference = new HashMap<>();
+            FrozenPerfectHashMap frozen = new FrozenPerfectHashMap(size);
+            for (int i = 0; i < size; i++) {
+                String name = "Pokemon" + i;
+                reference.put(name, pokemon(name));
+                assertNull(frozen.put(name, reference.get(name)), "Cada nombre es nuevo");
+            }
+            frozen.freeze();
+            assertTrue(frozen.isFrozen(), "El Map debería quedar congelado");
+            assertEquals(reference, frozen, "Las entradas deben coincidir con " + size + " nombres");
+            for (int i = 0; i < size; i++) {
+                assertSame(reference.get("Pokemon" + i), frozen.get(new String("Pokemon" + i)),
+                           "Debería encontrar cada nombre");
+                assertFalse(frozen.containsKey("Ausente" + i), "Un nombre ausente no debería encontrarse");
+            }
+            Set<Pokemon> visited = new HashSet<>(frozen.values());
+            assertEquals(size, visited.size(), "El recorrido debería visitar cada Pokémon una vez");
+        }
+
+        // "Aa" y "BB" tienen el mismo hashCode
+        FrozenPerfectHashMap frozen = new FrozenPerfectHashMap();
+        frozen.put("Aa", pokemon("Aa"));
+        frozen.put("BB", pokemon("BB"));
+        frozen.put("AaBB", pokemon("AaBB"));
+        frozen.put("BBAa", pokemon("BBAa"));
+        frozen.freeze();
+        for (String name : new String[] {"Aa", "BB", "AaBB", "BBAa"}) {
+            assertEquals(name, frozen.get(name).getName(), "Debería separar nombres con el mismo hashCode");
+        }
+        assertNull(frozen.get("AaAa"), "Un nombre ausente con el mismo hashCode no debería encontrarse");
+    }
+
+    /**
+     * Prueba que el Map congelado rechace modificaciones.
+     */
+    @Test
+    public void testFrozenRejectsChanges() {
+        FrozenPerfectHashMap frozen = new FrozenPerfectHashMap();
+        frozen.put("Pikachu", pokemon("Pikachu"));
+        frozen.freeze();
+        frozen.freeze();
+        assertThrows(UnsupportedOperationException.class, () -> frozen.put("Raichu", pokemon("Raichu")),
+                     "No debería admitir inserciones");
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove("Pikachu"),
+                     "No debería admitir eliminaciones");
+        assertThrows(NullPointerException.class, () -> frozen.get(null), "No se admiten claves null");
+        assertEquals(1, frozen.size(), "El Map no debería cambiar");
+    }
+
+    /**
+     * Prueba que la carga desde CSV congele el Map y que después no se admitan más Pokémon.
+     */
+    @Test
+    public void testCompleteLoad() throws IOException {
+        PokemonData data = CSVReader.readPokemonsFromResource("pokemon_data_pokeapi.csv",
+                                                              new PokemonData(MapType.FROZEN_PERFECT_HASH));
+        assertTrue(data.size() > 0, "Debería cargar Pokémon");
+        for (Pokemon pokemon : data.getAllPokemons()) {
+            assertSame(pokemon, data.getPokemon(pokemon.getName()), "Debería encontrar cada Pokémon cargado");
+        }
+        assertFalse(data.containsPokemon("NoExiste"), "Un nombre ausente no debería encontrarse");
+        assertEquals(data.size(), data.getAllPokemonsSortedByType1().size(), "Los índices deberían funcionar");
+        assertThrows(UnsupportedOperationException.class, () -> data.addPokemon(pokemon("Nuevo")),
+                     "Después de la carga no se admiten más Pokémon");
+        assertFalse(data.containsPokemon("Nuevo"), "El Pokémon rechazado no debería quedar en la colección");
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para OffHeapPokemonStore.
+ *              Verifica que el almacén fuera del heap se comporte igual que un
+ *              LinkedHashMap a través de la API de PokemonData.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.OffHeapPokemonStore;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.PokemonSnapshot;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas unitarias para la clase OffHeapPokemonStore.
+ * Compara cada operación con los resultados de un PokemonData basado en LinkedHashMap.
+ */
+public class OffHeapPokemonStoreTest {
+    private PokemonData offHeap;
+    private PokemonData reference;
+
+    /**
+     * Configuración inicial antes de cada prueba.
+     * Carga los mismos Pokémon en ambos tipos de almacén.
+     */
+    @BeforeEach
+    public void setUp() {
+        offHeap = new PokemonData(MapType.OFF_HEAP);
+        reference = new PokemonData(MapType.LINKED_HASH_MAP);
+
+        Pokemon[] pokemons = {
+            new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0,
+                        "Static, Lightning-rod", 1, "No"),
+            new Pokemon("Charizard", 6, "Fire", "Flying", "Flame Pokémon", 1.7, 90.5,
+                        "Blaze, Solar-power", 1, "No"),
+            new Pokemon("Bulbasaur", 1, "Grass", "Poison", "Seed Pokémon", 0.7, 6.9,
+                        "Overgrow, Chlorophyll", 1, "No"),
+            new Pokemon("Raichu", 26, "Electric", "", "Mouse Pokémon", 0.8, 30.0,
+                        "Static, Lightning-rod", 1, "No"),
+            new Pokemon("Charmander", 4, "Fire", "", "Lizard Pokémon", 0.6, 8.5,
+                        "Blaze, Solar-power", 1, "No")
+        };
+        for (Pokemon pokemon : pokemons) {
+            offHeap.addPokemon(pokemon);
+            reference.addPokemon(pokemon);
+        }
+    }
+
+    /**
+     * Prueba que los Pokémon se reconstruyan con los mismos valores al consultarlos.
+     */
+    @Test
+    public void testGetReturnsEqualPokemon() {
+        for (Pokemon expected : reference.getAllPokemons()) {
+            assertEquals(expected, offHeap.getPokemon(expected.getName()),
+                         "El Pokémon reconstruido debe ser igual al original");
+        }
+        assertNull(offHeap.getPokemon("Mewtwo"), "No debería encontrar a Mewtwo");
+        assertEquals(new ArrayList<>(reference.getAllPokemons()), new ArrayList<>(offHeap.getAllPokemons()),
+                     "El recorrido debe seguir el orden de inserción");
+    }
+
+    /**
+     * Prueba los recorridos por habilidad y por tipo contra el LinkedHashMap.
+     */
+    @Test
+    public void testScansMatchReference() {
+        for (String ability : new String[]{"Static", "blaze", "row", "Intimidate", ""}) {
+            assertEquals(reference.getPokemonsByAbility(ability), offHeap.getPokemonsByAbility(ability),
+                         "La búsqueda por '" + ability + "' debe coincidir");
+        }
+        assertEquals(reference.getAllPokemonsSortedByType1(), offHeap.getAllPokemonsSortedByType1(),
+                     "El ordenamiento por tipo debe coincidir, incluido el orden dentro de cada tipo");
+    }
+
+    /**
+     * Prueba las búsquedas por nombre contra el LinkedHashMap, tanto con los nombres
+     * cargados antes de la primera búsqueda como con los agregados después.
+     */
+    @Test
+    public void testNameSearchesMatchReference() {
+        assertEquals(reference.lookupIgnoreCase("cHARIZARD"), offHeap.lookupIgnoreCase("cHARIZARD"),
+                     "La búsqueda sin mayúsculas debe coincidir");
+        assertEquals(reference.fuzzyLookup("Raichuu", 5), offHeap.fuzzyLookup("Raichuu", 5),
+                     "La búsqueda por parecido debe coincidir");
+
+        Pokemon charmeleon = new Pokemon("Charmeleon", 5, "Fire", "", "Flame Pokémon", 1.1, 19.0,
+                                         "Blaze, Solar-power", 1, "No");
+        offHeap.addPokemon(charmeleon);
+        reference.addPokemon(charmeleon);
+        assertEquals(reference.completions("char", 10), offHeap.completions("char", 10),
+                     "Las sugerencias deben incluir los nombres agregados después");
+        assertEquals(reference.fuzzyLookup("Charmelon", 5), offHeap.fuzzyLookup("Charmelon", 5),
+                     "La búsqueda por parecido debe incluir los nombres agregados después");
+        assertEquals(charmeleon, offHeap.lookupIgnoreCase("charmeleon"), "Debería encontrar a Charmeleon");
+    }
+
+    /**
+     * Prueba el reemplazo y la eliminación de registros.
+     */
+    @Test
+    public void testReplaceAndRemove() {
+        Map<String, Pokemon> store = new OffHeapPokemonStore();
+        for (Pokemon pokemon : reference.getAllPokemons()) {
+            store.put(pokemon.getName(), pokemon);
+        }
+
+        Pokemon shiny = new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0,
+                                    "Static", 1, "No");
+        assertEquals("Static, Lightning-rod", store.put("Pikachu", shiny).getAbilities(),
+                     "put debe devolver el valor anterior");
+        assertEquals(shiny, store.get("Pikachu"), "El valor debe reemplazarse");
+        assertEquals(5, store.size(), "Reemplazar no debe cambiar el tamaño");
+
+        assertNotNull(store.remove("Charizard"), "Debería eliminar a Charizard");
+        assertFalse(store.containsKey("Charizard"), "Charizard ya no debería existir");
+        assertEquals(reference.getPokemon("Charmander"), store.get("Charmander"),
+                     "Los demás registros deben seguir accesibles");
+
+        Iterator<Pokemon> iterator = store.values().iterator();
+        List<String> visited = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Pokemon pokemon = iterator.next();
+            visited.add(pokemon.getName());
+            if (pokemon.getType1().equals("Electric")) {
+                iterator.remove();
+            }
+        }
+        assertEquals(4, visited.size(), "El iterador debe visitar cada Pokémon una vez");
+        assertEquals(2, store.size(), "Deberían quedar 2 Pokémon");
+        assertFalse(store.containsKey("Raichu"), "Raichu debería haberse eliminado");
+    }
+
+    /**
+     * Prueba que los reemplazos repetidos no acumulen memoria directa: los registros
+     * inactivos se compactan y los activos conservan sus valores y su orden.
+     */
+    @Test
+    public void testCompactsDeadRecords() {
+        OffHeapPokemonStore store = new OffHeapPokemonStore();
+        StringBuilder longAbilities = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longAbilities.append("Ability").append(i).append(", ");
+        }
+        long written = 0;
+        long maxOffHeap = 0;
+        for (int round = 0; round < 300; round++) {
+            for (int i = 0; i < 50; i++) {
+                String abilities = longAbilities + "Round" + round;
+                store.put("Pokemon" + i, new Pokemon("Pokemon" + i, i, "Normal", "", "Test Pokémon",
+                                                     1.0, round, abilities, 1, "No"));
+                written += abilities.length();
+                maxOffHeap = Math.max(maxOffHeap, store.getOffHeapBytes());
+            }
+        }
+
+        assertTrue(maxOffHeap <= written / 2,
+                   "La memoria directa no debería crecer con los reemplazos: " + maxOffHeap + " de " + written);
+        assertTrue(store.getDeadBytes() <= store.getOffHeapBytes() / 2,
+                   "Los registros inactivos no deberían pasar de la mitad de la memoria");
+        assertEquals(50, store.size(), "Deberían quedar 50 Pokémon");
+        List<String> names = new ArrayList<>();
+        for (Pokemon pokemon : store.values()) {
+            names.add(pokemon.getName());
+            assertEquals(299.0, pokemon.getWeight(), "Cada Pokémon debería tener su último valor");
+            assertTrue(pokemon.getAbilities().endsWith("Round299"), "Los textos deberían conservarse");
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals("Pokemon" + i, names.get(i), "La compactación debería conservar el orden");
+            assertEquals(i, store.get("Pokemon" + i).getPokedexNumber(), "El índice debería apuntar al registro nuevo");
+        }
+        assertNotNull(store.remove("Pokemon0"), "Debería eliminar después de compactar");
+        assertFalse(store.containsKey("Pokemon0"), "Pokemon0 ya no debería existir");
+    }
+
+    /**
+     * Prueba que PokemonData no retenga en el heap los Pokémon reconstruidos de un
+     * almacén fuera del heap: ni al terminar la carga ni después de entregar una versión
+     * completa. Cada versión sigue siendo inmutable mientras se usa.
+     */
+    @Test
+    public void testSnapshotsAreNotRetained() {
+        for (MapType mapType : new MapType[]{MapType.OFF_HEAP, MapType.COLUMNAR}) {
+            PokemonData data = new PokemonData(mapType);
+            for (int i = 0; i < 20_000; i++) {
+                data.addPokemon(new Pokemon("Pokemon" + i, i, "Normal", "", "Test Pokémon",
+                                            1.0, 1.0, "Run-away", 1, "No"));
+            }
+            data.completeLoad();
+            List<WeakReference<Pokemon>> delivered = new ArrayList<>();
+            track(delivered, data.getAllPokemons());
+            assertCollected(mapType, delivered);
+
+            PokemonSnapshot before = data.snapshot();
+            data.addPokemon(new Pokemon("Mew", 151, "Psychic", "", "New Species Pokémon",
+                                        0.4, 4.0, "Synchronize", 1, "Mythical"));
+            assertEquals(20_000, before.size(), "Una versión no debería cambiar con las inserciones");
+            assertEquals(20_001, data.snapshot().size(), "La versión nueva debería incluir a Mew");
+        }
+    }
+
+    /**
+     * Prueba que el caché de búsquedas no retenga en el heap los Pokémon reconstruidos
+     * de un almacén fuera del heap, y que las búsquedas repetidas sigan siendo correctas.
+     */
+    @Test
+    public void testQueryResultsAreNotRetained() {
+        for (MapType mapType : new MapType[]{MapType.OFF_HEAP, MapType.COLUMNAR}) {
+            PokemonData data = new PokemonData(mapType);
+            for (int i = 0; i < 20_000; i++) {
+                data.addPokemon(new Pokemon("Pokemon" + i, i, i % 2 == 0 ? "Normal" : "Fire", "", "Test Pokémon",
+                                            1.0, 1.0, "Run-away", 1 + i % 3, "No"));
+            }
+            data.completeLoad();
+            List<WeakReference<Pokemon>> delivered = new ArrayList<>();
+            for (int repeat = 0; repeat < 2; repeat++) {
+                assertEquals(20_000, track(delivered, data.getAllPokemonsSortedByType1()),
+                             mapType + ": todos los Pokémon por tipo");
+                assertEquals(6_667, track(delivered, data.getPokemonsByGeneration(1)),
+                             mapType + ": Pokémon de la generación 1");
+                assertEquals(20_000, track(delivered, data.getPokemonsByAbility("run")),
+                             mapType + ": Pokémon con la habilidad");
+                assertEquals(20_000, track(delivered, data.getPokemonsByAbilities(Arrays.asList("away")).get("away")),
+                             mapType + ": Pokémon con la habilidad");
+            }
+            assertEquals(0, data.getQueryCache().size(), mapType + " no debería guardar resultados");
+            assertCollected(mapType, delivered);
+        }
+    }
+
+    /**
+     * Guarda una referencia débil a cada Pokémon entregado. Se recorre en un método
+     * aparte para que la colección no quede viva en una variable de la prueba.
+     *
+     * @return Número de Pokémon entregados
+     */
+    private static int track(List<WeakReference<Pokemon>> delivered, Collection<Pokemon> pokemons) {
+        for (Pokemon pokemon : pokemons) {
+            delivered.add(new WeakReference<>(pokemon));
+        }
+        return pokemons.size();
+    }
+
+    /**
+     * Verifica que casi todos los Pokémon entregados se puedan recolectar, es decir,
+     * que la colección no guarde referencias a ellos.
+     */
+    private static void assertCollected(MapType mapType, List<WeakReference<Pokemon>> delivered) {
+        int retained = 0;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            System.gc();
+            retained = (int) delivered.stream().filter(reference -> reference.get() != null).count();
+            if (retained < delivered.size() / 10) {
+                break;
+            }
+        }
+        assertTrue(retained < delivered.size() / 10,
+                   mapType + " no debería retener los Pokémon entregados: " + retained + " retenidos");
+    }
+
+    /**
+     * Prueba que el índice de nombres siga siendo correcto después de crecer y de
+     * eliminar muchas entradas.
+     */
+    @Test
+    public void testIndexAfterResizeAndRemovals() {
+        Map<String, Pokemon> store = new OffHeapPokemonStore();
+        for (int i = 0; i < 5000; i++) {
+            store.put("Pokemon" + i, new Pokemon("Pokemon" + i, i, "Normal", "", "Test Pokémon",
+                                                 1.0, 1.0, "Run-away", 1, "No"));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertNotNull(store.remove("Pokemon" + i), "Debería eliminar a Pokemon" + i);
+        }
+
+        assertEquals(2500, store.size(), "Deberían quedar 2500 Pokémon");
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(i % 2 == 1, store.containsKey("Pokemon" + i), "Pokemon" + i);
+        }
+        assertEquals(4999, store.get("Pokemon4999").getPokedexNumber(), "Los valores deben conservarse");
+    }
+}
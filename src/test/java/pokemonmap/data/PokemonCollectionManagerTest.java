@@ -0,0 +1,256 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para PokemonCollectionManager.
+ *              Verifica las colecciones de muchos usuarios usadas desde varios hilos.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonCollectionManager;
+import pokemonmap.data.PokemonData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pruebas unitarias para la clase PokemonCollectionManager.
+ */
+public class PokemonCollectionManagerTest {
+    private static final int POKEMON_COUNT = 40;
+    private static final int USER_COUNT = 2_000;
+    private static final int THREAD_COUNT = 8;
+    private static final String[] TYPES = {"Water", "Fire", "Grass", "Electric"};
+
+    private PokemonData pokemonData;
+    private PokemonCollectionManager manager;
+
+    private static Pokemon pokemon(int number) {
+        return new Pokemon("Pokemon" + number, number, TYPES[number % TYPES.length], "", "Prueba",
+                           1.0, 1.0, "Static", 1, "No");
+    }
+
+    /**
+     * Configuración inicial antes de cada prueba.
+     */
+    @BeforeEach
+    public void setUp() {
+        pokemonData = new PokemonData(MapType.HASH_MAP);
+        for (int number = 1; number <= POKEMON_COUNT; number++) {
+            pokemonData.addPokemon(pokemon(number));
+        }
+        manager = new PokemonCollectionManager(pokemonData);
+    }
+
+    /**
+     * Prueba que cada usuario tenga su propia colección y las operaciones por lotes.
+     */
+    @Test
+    public void testUserCollections() {
+        assertTrue(manager.addPokemon("ash", "Pokemon1"), "Debería agregar un Pokémon existente");
+        assertFalse(manager.addPokemon("ash", "Pokemon1"), "No debería agregar un Pokémon repetido");
+        assertTrue(manager.addPokemon("misty", "Pokemon1"), "Otro usuario debería poder agregarlo");
+
+        List<String> added = manager.addPokemons("ash", Arrays.asList("Pokemon2", "Pokemon1", "MissingNo", "Pokemon3"));
+        assertEquals(Arrays.asList("Pokemon2", "Pokemon3"), added,
+                     "Solo deberían agregarse los Pokémon nuevos que existen");
+        assertEquals(3, manager.getCollection("ash").size(), "Ash debería tener 3 Pokémon");
+        assertEquals(1, manager.getCollection("misty").size(), "Misty debería tener 1 Pokémon");
+
+        assertTrue(manager.removePokemon("ash", "Pokemon2"), "Debería quitar un Pokémon que el usuario tiene");
+        assertFalse(manager.removePokemon("ash", "Pokemon2"), "No debería quitarlo dos veces");
+        List<Pokemon> sorted = manager.getUserPokemonsSortedByType1("ash");
+        assertEquals(Arrays.asList("Pokemon3", "Pokemon1"),
+                     Arrays.asList(sorted.get(0).getName(), sorted.get(1).getName()),
+                     "Electric va antes de Fire en el orden por tipo");
+
+        assertFalse(manager.containsPokemon("brock", "Pokemon1"), "Un usuario nuevo no tiene Pokémon");
+        assertTrue(manager.getUserPokemonsSortedByType1("brock").isEmpty(), "Un usuario nuevo no tiene Pokémon");
+        assertEquals(2, manager.userCount(), "Las consultas no deberían crear colecciones");
+        assertTrue(manager.removeUser("misty"), "Debería eliminar la colección de Misty");
+        assertEquals(1, manager.userCount(), "Solo debería quedar Ash");
+    }
+
+    /**
+     * Prueba que al cambiar la colección principal se quiten de cada usuario los
+     * Pokémon que ya no existen.
+     */
+    @Test
+    public void testRebind() {
+        manager.addPokemons("ash", Arrays.asList("Pokemon1", "Pokemon2"));
+        manager.addPokemon("misty", "Pokemon1");
+
+        PokemonData reloaded = new PokemonData(MapType.HASH_MAP);
+        reloaded.addPokemon(pokemon(1));
+        Map<String, List<String>> removed = manager.rebind(reloaded);
+
+        assertEquals(Collections.singletonMap("ash", Collections.singletonList("Pokemon2")), removed,
+                     "Solo Ash debería perder el Pokémon que ya no existe");
+        assertFalse(manager.addPokemon("misty", "Pokemon3"), "Las colecciones deberían usar la nueva versión");
+    }
+
+    /**
+     * Prueba que eliminar a un usuario mientras se le agrega un Pokémon espere a que la
+     * inserción termine, en lugar de dejarla en una colección que ya no está en el gestor.
+     */
+    @Test
+    public void testRemoveUserWaitsForAdd() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PokemonCollectionManager blocking = new PokemonCollectionManager(blockingData("Pokemon1", entered, release, true));
+
+        AtomicBoolean added = new AtomicBoolean();
+        Thread adder = new Thread(() -> added.set(blocking.addPokemon("ash", "Pokemon1")));
+        adder.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS), "La inserción debería empezar");
+
+        AtomicBoolean removed = new AtomicBoolean();
+        Thread remover = new Thread(() -> removed.set(blocking.removeUser("ash")));
+        remover.start();
+        remover.join(200);
+        assertTrue(remover.isAlive(), "removeUser debería esperar a que termine la inserción");
+
+        release.countDown();
+        adder.join();
+        remover.join();
+        assertTrue(added.get(), "La inserción debería completarse");
+        assertTrue(removed.get(), "removeUser debería encontrar la colección con el Pokémon agregado");
+        assertEquals(0, blocking.userCount(), "Ash ya no debería tener colección");
+        assertTrue(blocking.addPokemon("ash", "Pokemon1"), "Después debería crearse una colección nueva");
+    }
+
+    /**
+     * Prueba que un usuario que se crea mientras se cambia la colección principal use la
+     * nueva versión, y que el resultado de rebind incluya a todos los usuarios.
+     */
+    @Test
+    public void testUsersCreatedDuringRebind() throws InterruptedException {
+        manager.addPokemons("ash", Arrays.asList("Pokemon1", "Pokemon2"));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // La nueva versión solo tiene a Pokemon1; la revalidación de Pokemon2 se detiene
+        PokemonData reloaded = blockingData("Pokemon2", entered, release, false);
+
+        List<Map<String, List<String>>> result = new ArrayList<>();
+        Thread rebinder = new Thread(() -> result.add(manager.rebind(reloaded)));
+        rebinder.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS), "rebind debería empezar a revalidar");
+
+        AtomicBoolean added = new AtomicBoolean(true);
+        Thread adder = new Thread(() -> added.set(manager.addPokemon("misty", "Pokemon2")));
+        adder.start();
+        adder.join(200);
+        assertTrue(adder.isAlive(), "Un usuario nuevo debería esperar a que termine rebind");
+
+        release.countDown();
+        rebinder.join();
+        adder.join();
+        assertEquals(Collections.singletonMap("ash", Collections.singletonList("Pokemon2")), result.get(0),
+                     "Solo Ash debería perder a Pokemon2");
+        assertFalse(added.get(), "Misty debería usar la nueva versión, que no tiene a Pokemon2");
+        assertTrue(manager.addPokemon("misty", "Pokemon1"), "Misty debería poder agregar a Pokemon1");
+    }
+
+    /**
+     * Crea una colección principal con Pokemon1 y, si se indica, con el Pokémon que
+     * detiene la consulta; la primera vez que se pregunta por él, avisa y espera.
+     */
+    private static PokemonData blockingData(String blockedName, CountDownLatch entered,
+                                            CountDownLatch release, boolean containsBlocked) {
+        PokemonData data = new PokemonData(MapType.HASH_MAP) {
+            @Override
+            public boolean containsPokemon(String name) {
+                if (name.equals(blockedName) && entered.getCount() > 0) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.containsPokemon(name);
+            }
+        };
+        data.addPokemon(pokemon(1));
+        if (containsBlocked && !blockedName.equals("Pokemon1")) {
+            data.addPokemon(new Pokemon(blockedName, 0, "Normal", "", "Prueba", 1.0, 1.0, "Static", 1, "No"));
+        }
+        return data;
+    }
+
+    /**
+     * Simula miles de usuarios a los que varios hilos agregan los mismos Pokémon a la
+     * vez, con inserciones individuales y por lotes. Cada Pokémon debe agregarse
+     * exactamente una vez a cada usuario.
+     */
+    @Test
+    public void testConcurrentUsers() throws InterruptedException {
+        AtomicInteger addedCount = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<String> names = new ArrayList<>();
+        for (int number = 1; number <= POKEMON_COUNT; number++) {
+            names.add("Pokemon" + number);
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            long seed = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    Random random = new Random(seed);
+                    List<String> order = new ArrayList<>(names);
+                    for (int user = 0; user < USER_COUNT; user++) {
+                        String userId = "user" + ((user + seed * 251) % USER_COUNT);
+                        Collections.shuffle(order, random);
+                        int half = POKEMON_COUNT / 2;
+                        for (String name : order.subList(0, half)) {
+                            if (manager.addPokemon(userId, name)) {
+                                addedCount.incrementAndGet();
+                            }
+                        }
+                        addedCount.addAndGet(manager.addPokemons(userId, order.subList(half, POKEMON_COUNT)).size());
+                        manager.containsPokemon(userId, order.get(0));
+                    }
+                } catch (Throwable failure) {
+                    failures.add(failure);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty(), () -> "Falló un hilo: " + failures.peek());
+        assertEquals(USER_COUNT, manager.userCount(), "Debería haber una colección por usuario");
+        assertEquals(USER_COUNT * POKEMON_COUNT, addedCount.get(),
+                     "Cada Pokémon debería agregarse exactamente una vez a cada usuario");
+        for (int user = 0; user < USER_COUNT; user++) {
+            List<Pokemon> sorted = manager.getUserPokemonsSortedByType1("user" + user);
+            assertEquals(POKEMON_COUNT, sorted.size(), "Cada usuario debería tener todos los Pokémon");
+            for (int i = 1; i < sorted.size(); i++) {
+                assertTrue(sorted.get(i - 1).getType1().compareTo(sorted.get(i).getType1()) <= 0,
+                           "La colección debería seguir ordenada por tipo");
+            }
+        }
+    }
+}
@@ -100,6 +100,38 @@ public class PokemonCollectionTest {
         assertEquals("Grass", sortedPokemons.get(2).getType1(), "El tercer Pokémon debería ser de tipo Grass");
     }
     
+    /**
+     * Prueba que el ordenamiento use el tipo actual de la colección principal cuando
+     * un Pokémon se reemplaza con otro tipo primario después de agregarlo.
+     */
+    @Test
+    public void testSortedByType1AfterCatalogueChange() {
+        userCollection.addPokemon("Pikachu");     // Electric
+        userCollection.addPokemon("Charizard");   // Fire
+        userCollection.addPokemon("Bulbasaur");   // Grass
+        assertEquals("Pikachu", userCollection.getUserPokemonsSortedByType1().get(0).getName(),
+                     "Pikachu debería ir primero como Electric");
+
+        pokemonData.addPokemon(new Pokemon("Pikachu", 25, "Water", "",
+                               "Mouse Pokémon", 0.4, 6.0,
+                               "Static, Lightning-rod", 1, "No"));
+        List<Pokemon> sortedPokemons = userCollection.getUserPokemonsSortedByType1();
+
+        assertEquals(3, sortedPokemons.size(), "La colección debería tener 3 Pokémon");
+        assertEquals("Charizard", sortedPokemons.get(0).getName(), "Fire debería ir primero");
+        assertEquals("Bulbasaur", sortedPokemons.get(1).getName(), "Grass debería ir segundo");
+        assertEquals("Pikachu", sortedPokemons.get(2).getName(), "Pikachu debería ir al final como Water");
+        assertEquals("Water", sortedPokemons.get(2).getType1(), "Debería devolver el Pokémon actual");
+
+        // Un reemplazo con el mismo tipo no cambia el orden
+        pokemonData.addPokemon(new Pokemon("Charizard", 6, "Fire", "Dragon",
+                               "Flame Pokémon", 1.7, 90.5,
+                               "Blaze, Solar-power", 1, "No"));
+        sortedPokemons = userCollection.getUserPokemonsSortedByType1();
+        assertEquals("Charizard", sortedPokemons.get(0).getName(), "Charizard debería seguir primero");
+        assertEquals("Dragon", sortedPokemons.get(0).getType2(), "Debería devolver el Charizard actual");
+    }
+
     /**
      * Prueba la funcionalidad de verificar si un Pokémon está en la colección.
      * Verifica que el método containsPokemon funcione correctamente.
@@ -18,8 +18,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import pokemonmap.factory.MapType;
 import pokemonmap.data.Pokemon;
 import pokemonmap.data.PokemonData;
+import pokemonmap.data.PokemonSnapshot;
+import pokemonmap.data.QueryCache;
 import java.util.List;
 import java.util.Collection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Pruebas unitarias para la clase PokemonData.
@@ -95,7 +107,50 @@ public class PokemonDataTest {
         assertFalse(pokemonData.containsPokemon("Mewtwo"), "No debería encontrar a Mewtwo");
         assertFalse(pokemonData.containsPokemon(""), "No debería encontrar una cadena vacía");
     }
-    
+
+    /**
+     * Prueba la búsqueda por nombre sin distinguir mayúsculas y las sugerencias por prefijo.
+     */
+    @Test
+    public void testLookupIgnoreCaseAndCompletions() {
+        assertEquals("Pikachu", pokemonData.lookupIgnoreCase("pIKACHU").getName(), "Debería encontrar a Pikachu");
+        assertNull(pokemonData.lookupIgnoreCase("pika"), "Un prefijo no es un nombre completo");
+
+        pokemonData.addPokemon(new Pokemon("Pichu", 172, "Electric", "",
+                               "Tiny Mouse Pokémon", 0.3, 2.0, "Static, Lightning-rod", 2, "No"));
+        pokemonData.addPokemon(new Pokemon("Pidgey", 16, "Normal", "Flying",
+                               "Tiny Bird Pokémon", 0.3, 1.8, "Keen-eye, Tangled-feet", 1, "No"));
+
+        List<String> names = pokemonData.completions("PI", 10);
+        assertEquals(List.of("Pichu", "Pidgey", "Pikachu"), names, "Las sugerencias deben estar en orden alfabético");
+        assertEquals(List.of("Pichu"), pokemonData.completions("pi", 1), "Debe respetarse el límite");
+        assertTrue(pokemonData.completions("Zz", 5).isEmpty(), "Ningún nombre empieza con Zz");
+
+        // Reemplazar un Pokémon no duplica su nombre
+        pokemonData.addPokemon(new Pokemon("Pichu", 172, "Electric", "",
+                               "Tiny Mouse Pokémon", 0.3, 2.0, "Static, Lightning-rod", 2, "No"));
+        assertEquals(3, pokemonData.completions("pi", 10).size(), "Pichu debe aparecer una sola vez");
+    }
+
+    /**
+     * Prueba la búsqueda de nombres parecidos a uno mal escrito.
+     */
+    @Test
+    public void testFuzzyLookup() {
+        assertEquals("Charizard", pokemonData.fuzzyLookup("Charizrd", 3).get(0).getName(),
+                     "Una letra faltante debería tolerarse");
+        assertEquals("Bulbasaur", pokemonData.fuzzyLookup("bulbasuar", 3).get(0).getName(),
+                     "Dos letras intercambiadas cuentan como una edición");
+        assertTrue(pokemonData.fuzzyLookup("Mewtwo", 3).isEmpty(), "Ningún nombre se parece a Mewtwo");
+        assertTrue(pokemonData.fuzzyLookup("Chrzrd", 1, 3).isEmpty(), "Tres ediciones superan la distancia máxima");
+
+        pokemonData.addPokemon(new Pokemon("Pichu", 172, "Electric", "",
+                               "Tiny Mouse Pokémon", 0.3, 2.0, "Static, Lightning-rod", 2, "No"));
+        List<Pokemon> similar = pokemonData.fuzzyLookup("Pikachuu", 5);
+        assertEquals(1, similar.size(), "Pichu está a más de dos ediciones de Pikachuu");
+        assertEquals("Pikachu", similar.get(0).getName(), "Debería sugerirse Pikachu");
+    }
+
     /**
      * Prueba la funcionalidad de ordenar los Pokémon por tipo primario.
      * Verifica que los Pokémon se ordenen correctamente por orden alfabético
@@ -166,6 +221,396 @@ public class PokemonDataTest {
         assertEquals(1, caseInsensitivePokemons.size(), "Debería encontrar 1 Pokémon con habilidad static (minúsculas)");
     }
     
+    /**
+     * Prueba la búsqueda por habilidad exacta y por subcadena con el índice de habilidades.
+     * Verifica que la búsqueda exacta no acepte coincidencias parciales y que los
+     * reemplazos actualicen el índice.
+     */
+    @Test
+    public void testGetPokemonsByAbilityExact() {
+        // Coincidencia exacta, sin distinguir mayúsculas
+        assertEquals(1, pokemonData.getPokemonsByAbility("solar-power", false).size(),
+                     "Debería encontrar a Charizard por su habilidad exacta");
+        assertEquals(0, pokemonData.getPokemonsByAbility("Solar", false).size(),
+                     "La búsqueda exacta no debería aceptar coincidencias parciales");
+        assertEquals(1, pokemonData.getPokemonsByAbility("Solar", true).size(),
+                     "La búsqueda por subcadena sí debería encontrar a Charizard");
+        
+        // Textos que abarcan varias habilidades se siguen resolviendo por subcadena
+        assertEquals(1, pokemonData.getPokemonsByAbility("Overgrow, Chloro").size(),
+                     "Debería encontrar a Bulbasaur con un texto que abarca dos habilidades");
+        
+        // Reemplazar un Pokémon actualiza sus habilidades en el índice
+        pokemonData.addPokemon(new Pokemon("Pikachu", 25, "Electric", "", 
+                               "Mouse Pokémon", 0.4, 6.0, "Lightning-rod", 1, "No"));
+        assertEquals(0, pokemonData.getPokemonsByAbility("Static", false).size(),
+                     "Pikachu ya no debería tener la habilidad Static");
+        assertEquals(1, pokemonData.getPokemonsByAbility("lightning-rod", false).size(),
+                     "Pikachu debería aparecer una sola vez con su nueva habilidad");
+    }
+
+    /**
+     * Prueba la búsqueda de varias habilidades a la vez.
+     * Verifica que cada habilidad tenga la misma lista que su búsqueda individual.
+     */
+    @Test
+    public void testGetPokemonsByAbilities() {
+        List<String> abilities = Arrays.asList("Blaze", "o", "static", "Overgrow, Chloro", "Intimidate", "Blaze");
+        Map<String, List<Pokemon>> byAbility = pokemonData.getPokemonsByAbilities(abilities);
+
+        assertEquals(Arrays.asList("Blaze", "o", "static", "Overgrow, Chloro", "Intimidate"),
+                     new ArrayList<>(byAbility.keySet()),
+                     "Debería conservar el orden recibido sin repetir habilidades");
+        for (Map.Entry<String, List<Pokemon>> entry : byAbility.entrySet()) {
+            assertEquals(pokemonData.getPokemonsByAbility(entry.getKey()), entry.getValue(),
+                         "Debería coincidir con la búsqueda individual de '" + entry.getKey() + "'");
+        }
+        assertEquals(3, byAbility.get("o").size(), "Todos los Pokémon tienen una 'o' en sus habilidades");
+        assertEquals(0, byAbility.get("Intimidate").size(), "No debería encontrar Pokémon con Intimidate");
+    }
+
+    /**
+     * Prueba las búsquedas por número de Pokédex, generación y estado legendario.
+     * Verifica que los índices secundarios respondan igual que un recorrido completo.
+     */
+    @Test
+    public void testSecondaryIndexes() {
+        pokemonData.addPokemon(new Pokemon("Mewtwo", 150, "Psychic", "", 
+                               "Genetic Pokémon", 2.0, 122.0, "Pressure, Unnerve", 1, "Yes"));
+        pokemonData.addPokemon(new Pokemon("Lucario", 448, "Fighting", "Steel", 
+                               "Aura Pokémon", 1.2, 54.0, "Steadfast, Inner-focus", 4, "No"));
+        
+        // Número de Pokédex y rangos (los huecos no producen resultados)
+        assertEquals("Pikachu", pokemonData.getPokemonsByPokedexNumber(25).get(0).getName(),
+                     "El número 25 debería ser Pikachu");
+        assertTrue(pokemonData.getPokemonsByPokedexNumber(151).isEmpty(), "No hay Pokémon con el número 151");
+        List<Pokemon> kanto = pokemonData.getPokemonsByPokedexRange(1, 151);
+        assertEquals(4, kanto.size(), "Deberían encontrarse 4 Pokémon entre el 1 y el 151");
+        assertEquals("Bulbasaur", kanto.get(0).getName(), "El rango debe estar ordenado por número");
+        assertEquals("Mewtwo", kanto.get(3).getName(), "El rango debe estar ordenado por número");
+        
+        // Generación y estado legendario
+        assertEquals(4, pokemonData.getPokemonsByGeneration(1).size(), "Deberían encontrarse 4 Pokémon de la generación 1");
+        assertEquals("Lucario", pokemonData.getPokemonsByGeneration(4).get(0).getName(), "Lucario es de la generación 4");
+        assertTrue(pokemonData.getPokemonsByGeneration(9).isEmpty(), "No hay Pokémon de la generación 9");
+        assertEquals(1, pokemonData.getLegendaryPokemons().size(), "Solo Mewtwo es legendario");
+        
+        // Reemplazar un Pokémon actualiza los índices
+        pokemonData.addPokemon(new Pokemon("Mewtwo", 150, "Psychic", "", 
+                               "Genetic Pokémon", 2.0, 122.0, "Pressure, Unnerve", 2, "No"));
+        assertTrue(pokemonData.getLegendaryPokemons().isEmpty(), "Mewtwo ya no debería ser legendario");
+        assertEquals(3, pokemonData.getPokemonsByGeneration(1).size(), "Mewtwo ya no es de la generación 1");
+    }
+
+    /**
+     * Prueba las búsquedas por rango de altura y de peso.
+     * Verifica los límites incluidos, el orden por valor y la actualización al reemplazar.
+     */
+    @Test
+    public void testRangeIndexes() {
+        List<Pokemon> small = pokemonData.getPokemonsByHeightRange(0.4, 0.7);
+        assertEquals(2, small.size(), "Los límites del rango deben estar incluidos");
+        assertEquals("Pikachu", small.get(0).getName(), "El rango debe estar ordenado por altura");
+        assertEquals("Bulbasaur", small.get(1).getName(), "El rango debe estar ordenado por altura");
+
+        List<Pokemon> heavy = pokemonData.getPokemonsByWeightRange(50.0, Double.POSITIVE_INFINITY);
+        assertEquals(1, heavy.size(), "Solo Charizard pesa más de 50 kg");
+        assertTrue(pokemonData.getPokemonsByWeightRange(10.0, 5.0).isEmpty(), "Un rango invertido no tiene resultados");
+
+        // Reemplazar un Pokémon mueve su fila en el índice
+        pokemonData.addPokemon(new Pokemon("Pikachu", 25, "Electric", "",
+                               "Mouse Pokémon", 0.4, 60.0,
+                               "Static, Lightning-rod", 1, "No"));
+        heavy = pokemonData.getPokemonsByWeightRange(50.0, Double.POSITIVE_INFINITY);
+        assertEquals(2, heavy.size(), "Pikachu ahora pesa más de 50 kg");
+        assertEquals("Pikachu", heavy.get(0).getName(), "El rango debe estar ordenado por peso");
+        assertTrue(pokemonData.getPokemonsByWeightRange(0.0, 6.5).isEmpty(), "El peso anterior ya no debe encontrarse");
+    }
+
+    /**
+     * Prueba búsquedas por rango intercaladas con inserciones y reemplazos, incluidos
+     * Pokémon que vuelven a una altura anterior, contra un recorrido de todos los Pokémon.
+     */
+    @Test
+    public void testRangeQueriesInterleavedWithInserts() {
+        PokemonData data = new PokemonData(MapType.HASH_MAP);
+        Map<String, Pokemon> reference = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 3000; i++) {
+            Pokemon pokemon = randomPokemon("Pokemon" + i, random);
+            data.addPokemon(pokemon);
+            reference.put(pokemon.getName(), pokemon);
+        }
+        data.completeLoad();
+
+        for (int step = 0; step < 2000; step++) {
+            String name = "Pokemon" + random.nextInt(step % 3 == 0 ? 5000 : 3000);
+            Pokemon pokemon = randomPokemon(name, random);
+            data.addPokemon(pokemon);
+            reference.put(name, pokemon);
+
+            double min = random.nextInt(20) / 10.0;
+            double max = min + random.nextInt(5) / 10.0;
+            List<Pokemon> expected = new ArrayList<>();
+            for (Pokemon candidate : reference.values()) {
+                if (candidate.getHeight() >= min && candidate.getHeight() <= max) {
+                    expected.add(candidate);
+                }
+            }
+            expected.sort(Comparator.comparingDouble(Pokemon::getHeight));
+            assertEquals(expected, data.getPokemonsByHeightRange(min, max),
+                         "El rango [" + min + ", " + max + "] debería coincidir en el paso " + step);
+        }
+        assertEquals(reference.size(), data.getPokemonsByWeightRange(0.0, Double.POSITIVE_INFINITY).size(),
+                     "Cada Pokémon debería aparecer una sola vez en el índice de peso");
+    }
+
+    /**
+     * Prueba sugerencias y búsquedas sin mayúsculas intercaladas con inserciones,
+     * contra un recorrido de todos los nombres.
+     */
+    @Test
+    public void testNameSearchesInterleavedWithInserts() {
+        PokemonData data = new PokemonData(MapType.HASH_MAP);
+        List<String> reference = new ArrayList<>();
+        Random random = new Random(7);
+        assertTrue(data.completions("a", 5).isEmpty(), "Sin Pokémon no hay sugerencias");
+        for (int step = 0; step < 3000; step++) {
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 4; i++) {
+                char letter = (char) ('a' + random.nextInt(4));
+                name.append(random.nextBoolean() ? Character.toUpperCase(letter) : letter);
+            }
+            if (!reference.contains(name.toString())) {
+                data.addPokemon(randomPokemon(name.toString(), random));
+                reference.add(name.toString());
+            }
+
+            String prefix = name.substring(0, 2).toLowerCase();
+            List<String> expected = new ArrayList<>();
+            for (String candidate : reference) {
+                if (candidate.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    expected.add(candidate);
+                }
+            }
+            expected.sort(String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder()));
+            expected = expected.subList(0, Math.min(5, expected.size()));
+            assertEquals(expected, data.completions(prefix, 5), "Sugerencias para " + prefix + " en el paso " + step);
+            assertEquals(name.toString(), data.lookupIgnoreCase(name.toString()).getName(),
+                         "Debería preferirse el nombre exacto en el paso " + step);
+            String lower = name.toString().toLowerCase();
+            String variant = null;
+            for (String candidate : reference) {
+                if (candidate.equalsIgnoreCase(lower) && (variant == null || candidate.compareTo(variant) < 0)) {
+                    variant = candidate;
+                }
+            }
+            String preferred = reference.contains(lower) ? lower : variant;
+            assertEquals(preferred, data.lookupIgnoreCase(lower).getName(),
+                         "Sin el nombre exacto debería devolver la primera variante en el paso " + step);
+            assertNull(data.lookupIgnoreCase(lower + "!"), "Un nombre distinto no debería encontrarse");
+        }
+    }
+
+    private static Pokemon randomPokemon(String name, Random random) {
+        // Pocas alturas distintas, para que haya empates y Pokémon que vuelven a una altura anterior
+        return new Pokemon(name, 1, "Normal", "", "Test Pokémon", random.nextInt(25) / 10.0,
+                           random.nextInt(10), "Run-away", 1, "No");
+    }
+
+    /**
+     * Prueba el caché de búsquedas.
+     * Verifica los aciertos, la invalidación al agregar Pokémon y el desalojo.
+     */
+    @Test
+    public void testQueryCache() {
+        QueryCache cache = pokemonData.getQueryCache();
+        List<Pokemon> first = pokemonData.getPokemonsByAbility("Blaze");
+        assertSame(first, pokemonData.getPokemonsByAbility("BLAZE"),
+                   "La misma búsqueda normalizada debería responderse desde el caché");
+        assertEquals(1, cache.getHitCount(), "Debería haber un acierto");
+        assertEquals(1, cache.getMissCount(), "Debería haber un fallo");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(first.get(0)),
+                     "Los resultados compartidos no deberían poder modificarse");
+
+        // Una búsqueda de varias habilidades reutiliza las que ya están guardadas
+        pokemonData.getPokemonsByAbilities(Arrays.asList("blaze", "Static"));
+        assertEquals(2, cache.getHitCount(), "Blaze debería salir del caché");
+        assertEquals(1, pokemonData.getPokemonsByAbility("static").size(), "Static debería estar guardada");
+        assertEquals(3, cache.getHitCount(), "Static debería salir del caché");
+
+        // Agregar un Pokémon invalida los resultados guardados
+        pokemonData.addPokemon(new Pokemon("Charmander", 4, "Fire", "",
+                               "Lizard Pokémon", 0.6, 8.5, "Blaze, Solar-power", 1, "No"));
+        assertEquals(0, cache.size(), "El caché debería vaciarse al modificar la colección");
+        assertEquals(2, pokemonData.getPokemonsByAbility("Blaze").size(),
+                     "El resultado debería incluir al Pokémon agregado");
+
+        // Se desalojan los resultados usados hace más tiempo
+        for (int generation = 0; generation <= QueryCache.DEFAULT_MAX_ENTRIES; generation++) {
+            pokemonData.getPokemonsByGeneration(generation);
+        }
+        assertEquals(QueryCache.DEFAULT_MAX_ENTRIES, cache.size(), "El caché no debería pasar de su límite");
+        assertTrue(cache.getEvictionCount() > 0, "Debería haberse desalojado algún resultado");
+    }
+
+    /**
+     * Prueba las búsquedas de los primeros k Pokémon, en total y por grupo.
+     */
+    @Test
+    public void testTopK() {
+        Comparator<Pokemon> heaviest = Comparator.comparingDouble(Pokemon::getWeight).reversed();
+        List<Pokemon> top = pokemonData.topK(2, heaviest);
+        assertEquals(2, top.size(), "Debería devolver solo 2 Pokémon");
+        assertEquals("Charizard", top.get(0).getName(), "Charizard es el más pesado");
+        assertEquals("Bulbasaur", top.get(1).getName(), "Bulbasaur es el segundo más pesado");
+        assertEquals(3, pokemonData.topK(10, heaviest).size(), "No hay más de 3 Pokémon");
+        assertTrue(pokemonData.topK(0, heaviest).isEmpty(), "Con k = 0 no hay resultados");
+        assertEquals("Bulbasaur", pokemonData.topK(1, heaviest, pokemon -> pokemon.getHeight() < 1.0).get(0).getName(),
+                     "Bulbasaur es el más pesado de los que miden menos de un metro");
+        assertThrows(IllegalArgumentException.class, () -> pokemonData.topK(-1, heaviest),
+                     "Un k negativo no es válido");
+
+        pokemonData.addPokemon(new Pokemon("Charmander", 4, "Fire", "",
+                               "Lizard Pokémon", 0.6, 8.5, "Blaze, Solar-power", 1, "No"));
+        Map<String, List<Pokemon>> byType = pokemonData.topKPerGroup(1, Comparator.comparingDouble(Pokemon::getHeight),
+                                                                     Pokemon::getType1);
+        assertEquals(3, byType.size(), "Debería haber un grupo por tipo primario");
+        assertEquals("Charmander", byType.get("Fire").get(0).getName(), "Charmander es el Fire más bajo");
+        assertEquals(1, byType.get("Fire").size(), "Cada grupo debería tener un solo Pokémon");
+    }
+
+    /**
+     * Prueba que la búsqueda de los primeros k en paralelo coincida con ordenar toda
+     * la colección, incluidos los empates.
+     */
+    @Test
+    public void testTopKParallel() {
+        PokemonData large = new PokemonData(MapType.LINKED_HASH_MAP);
+        for (int i = 0; i < 60_000; i++) {
+            large.addPokemon(new Pokemon("Pokemon" + i, i, i % 3 == 0 ? "Fire" : "Water", "",
+                             "Prueba", (i * 7919) % 1000 / 10.0, i % 50, "Static", 1 + i % 8, "No"));
+        }
+        Comparator<Pokemon> heaviest = Comparator.comparingDouble(Pokemon::getWeight).reversed();
+        List<Pokemon> sorted = new ArrayList<>(large.getAllPokemons());
+        sorted.sort(heaviest);
+        assertEquals(sorted.subList(0, 100), large.topK(100, heaviest),
+                     "Debería coincidir con un ordenamiento estable completo");
+
+        Map<Integer, List<Pokemon>> smallest = large.topKPerGroup(3, Comparator.comparingDouble(Pokemon::getHeight),
+                                                                  Pokemon::getGeneration);
+        assertEquals(8, smallest.size(), "Debería haber un grupo por generación");
+        for (Map.Entry<Integer, List<Pokemon>> entry : smallest.entrySet()) {
+            List<Pokemon> expected = new ArrayList<>();
+            for (Pokemon pokemon : large.getAllPokemons()) {
+                if (pokemon.getGeneration() == entry.getKey()) {
+                    expected.add(pokemon);
+                }
+            }
+            expected.sort(Comparator.comparingDouble(Pokemon::getHeight));
+            assertEquals(expected.subList(0, 3), entry.getValue(),
+                         "La generación " + entry.getKey() + " debería coincidir con un ordenamiento completo");
+        }
+    }
+
+    /**
+     * Prueba que una versión obtenida con snapshot no cambie con inserciones posteriores
+     * y que, sin inserciones, se reutilice la misma versión.
+     */
+    @Test
+    public void testSnapshot() {
+        PokemonSnapshot before = pokemonData.snapshot();
+        assertSame(before, pokemonData.snapshot(), "Sin inserciones debería devolver la misma versión");
+        assertEquals(3, before.size(), "La versión debería tener los 3 Pokémon");
+        assertThrows(UnsupportedOperationException.class, () -> before.getPokemons().add(null),
+                     "La versión no debería poder modificarse");
+
+        pokemonData.addPokemon(new Pokemon("Meowth", 52, "Normal", "", "Scratch Cat Pokémon",
+                                           0.4, 4.2, "Pickup, Technician", 1, "No"));
+        PokemonSnapshot after = pokemonData.snapshot();
+        assertEquals(3, before.size(), "La versión anterior no debería ver la inserción");
+        assertEquals(4, after.size(), "La versión nueva debería incluir la inserción");
+        assertTrue(after.getVersion() > before.getVersion(), "La versión nueva debería tener un número mayor");
+        assertSame(after.getPokemons(), pokemonData.getAllPokemons(), "getAllPokemons debería usar la versión actual");
+    }
+
+    /**
+     * Prueba que cada inserción publique una versión y que las versiones viejas no
+     * cambien con las inserciones y reemplazos posteriores, también si su lista se pide
+     * después. Con TREE_MAP las versiones siguen el orden por nombre y con HASH_MAP el
+     * de inserción.
+     */
+    @Test
+    public void testSnapshotVersions() {
+        for (MapType mapType : new MapType[] {MapType.TREE_MAP, MapType.HASH_MAP}) {
+            PokemonData data = new PokemonData(mapType);
+            Map<String, Pokemon> reference = mapType == MapType.TREE_MAP ? new TreeMap<>() : new LinkedHashMap<>();
+            List<PokemonSnapshot> snapshots = new ArrayList<>();
+            List<List<Pokemon>> expected = new ArrayList<>();
+            Random random = new Random(24);
+            for (int i = 0; i < 5_000; i++) {
+                // Uno de cada cinco reemplaza a un Pokémon que ya estaba
+                int number = i % 5 == 4 ? random.nextInt(i) * 7919 % 10_000 : i * 7919 % 10_000;
+                Pokemon pokemon = new Pokemon("Pokemon" + number, number, "Normal", "", "Prueba",
+                                              1.0, i, "Static", 1, "No");
+                data.addPokemon(pokemon);
+                reference.put(pokemon.getName(), pokemon);
+                assertEquals(data.getVersion(), data.snapshot().getVersion(), "Cada inserción debería publicar su versión");
+                if (i % 250 == 0) {
+                    snapshots.add(data.snapshot());
+                    expected.add(new ArrayList<>(reference.values()));
+                }
+            }
+            data.completeLoad();
+            assertEquals(new ArrayList<>(reference.values()), data.getAllPokemons(),
+                         "La versión actual de " + mapType + " debería seguir el orden esperado");
+            for (int v = snapshots.size() - 1; v >= 0; v--) {
+                assertEquals(expected.get(v), snapshots.get(v).getPokemons(),
+                             "La versión " + v + " de " + mapType + " no debería cambiar");
+            }
+        }
+    }
+
+    /**
+     * Prueba que las lecturas de la versión actual no esperen a una inserción en curso:
+     * mientras otro hilo inserta, devuelven la versión que publicó la inserción anterior.
+     */
+    @Test
+    public void testSnapshotDoesNotWaitForInsert() throws InterruptedException {
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pokemonData.addPokemon(new Pokemon("Meowth", 52, "Normal", "", "Scratch Cat Pokémon",
+                                           0.4, 4.2, "Pickup, Technician", 1, "No"));
+        long published = pokemonData.getVersion();
+        Pokemon slow = new Pokemon("Persian", 53, "Normal", "", "Classy Cat Pokémon",
+                                   1.0, 32.0, "Limber, Technician", 1, "No") {
+            @Override
+            public String getAbilities() {
+                // Los índices leen las habilidades con el candado de escritura tomado
+                inserting.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getAbilities();
+            }
+        };
+        Thread writer = new Thread(() -> pokemonData.addPokemon(slow));
+        writer.start();
+        try {
+            assertTrue(inserting.await(10, TimeUnit.SECONDS), "La inserción debería empezar");
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertEquals(published, pokemonData.snapshot().getVersion(), "Debería devolver la versión anterior");
+                assertEquals(4, pokemonData.getAllPokemons().size(), "No debería ver la inserción a medias");
+            }, "La lectura no debería esperar a la inserción");
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+        assertEquals(5, pokemonData.getAllPokemons().size(), "Al terminar debería verse la inserción");
+    }
+
     /**
      * Prueba la funcionalidad de obtener el tamaño de la colección.
      * Verifica que el método size devuelva el número correcto de Pokémon.
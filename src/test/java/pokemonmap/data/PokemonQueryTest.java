@@ -0,0 +1,156 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para PokemonQuery.
+ *              Verifica las consultas compuestas, su orden, su límite y el plan
+ *              elegido por el planificador.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.PokemonQuery;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para la clase PokemonQuery.
+ */
+public class PokemonQueryTest {
+    private PokemonData pokemonData;
+
+    /**
+     * Configuración inicial antes de cada prueba.
+     * Crea datos de prueba con Pokémon de varios tipos y generaciones.
+     */
+    @BeforeEach
+    public void setUp() {
+        pokemonData = new PokemonData(MapType.LINKED_HASH_MAP);
+        pokemonData.addPokemon(new Pokemon("Charmander", 4, "Fire", "", "Lizard Pokémon",
+                               0.6, 8.5, "Blaze, Solar-power", 1, "No"));
+        pokemonData.addPokemon(new Pokemon("Charizard", 6, "Fire", "Flying", "Flame Pokémon",
+                               1.7, 90.5, "Blaze, Solar-power", 1, "No"));
+        pokemonData.addPokemon(new Pokemon("Moltres", 146, "Fire", "Flying", "Flame Pokémon",
+                               2.0, 60.0, "Pressure, Flame-body", 1, "Yes"));
+        pokemonData.addPokemon(new Pokemon("Pidgeot", 18, "Normal", "Flying", "Bird Pokémon",
+                               1.5, 39.5, "Keen-eye, Tangled-feet, Big-pecks", 1, "No"));
+        pokemonData.addPokemon(new Pokemon("Ho-oh", 250, "Fire", "Flying", "Rainbow Pokémon",
+                               3.8, 199.0, "Pressure, Regenerator", 2, "Yes"));
+        pokemonData.addPokemon(new Pokemon("Blaziken", 257, "Fire", "Fighting", "Blaze Pokémon",
+                               1.9, 52.0, "Blaze, Speed-boost", 3, "No"));
+    }
+
+    /**
+     * Prueba que las condiciones se combinen y que el resultado siga el orden de inserción.
+     */
+    @Test
+    public void testCombinedConditions() {
+        List<Pokemon> result = pokemonData.query()
+                .type("flying")
+                .generation(1)
+                .heightBetween(1.0, 2.0)
+                .list();
+
+        assertEquals(3, result.size(), "Deberían encontrarse 3 Pokémon voladores de la generación 1 entre 1 y 2 m");
+        assertEquals("Charizard", result.get(0).getName(), "El resultado debe seguir el orden de inserción");
+        assertEquals("Moltres", result.get(1).getName(), "El resultado debe seguir el orden de inserción");
+        assertEquals("Pidgeot", result.get(2).getName(), "El resultado debe seguir el orden de inserción");
+
+        assertEquals(1, pokemonData.query().ability("blaze").legendary(false).generation(3).list().size(),
+                     "Solo Blaziken cumple las tres condiciones");
+        assertTrue(pokemonData.query().type1("Water").list().isEmpty(), "No hay Pokémon de tipo Water");
+    }
+
+    /**
+     * Prueba que, con Map de tipo hash, el resultado siga el orden de inserción con
+     * cualquier plan: recorrido completo, filtros sin índice o intersección de índices,
+     * igual que la lista de todos los Pokémon.
+     */
+    @Test
+    public void testSameOrderAcrossPlans() {
+        for (MapType mapType : new MapType[] {MapType.HASH_MAP, MapType.ROBIN_HOOD, MapType.CONCURRENT_HASH_MAP}) {
+            PokemonData data = new PokemonData(mapType);
+            List<String> inserted = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String name = "Pokémon" + (i * 7919 % 1000);
+                data.addPokemon(new Pokemon(name, i + 1, "Fire", "", "Prueba Pokémon",
+                                            1.0, 10.0, "Blaze", 1, "No"));
+                inserted.add(name);
+            }
+            assertNotEquals(inserted, new ArrayList<>(new HashSet<>(inserted)),
+                            "La prueba necesita nombres cuyo orden de hash no sea el de inserción");
+
+            assertEquals(inserted, names(new ArrayList<>(data.getAllPokemons())), "Todos los Pokémon con " + mapType);
+            assertEquals(inserted, names(data.query().list()), "Recorrido completo con " + mapType);
+            assertEquals(inserted, names(data.query().where("peso positivo", p -> p.getWeight() > 0).list()),
+                         "Filtro sin índice con " + mapType);
+            assertEquals(inserted, names(data.query().type1("Fire").generation(1).list()),
+                         "Intersección de índices con " + mapType);
+            assertEquals(inserted.subList(0, 5), names(data.query().limit(5).list()),
+                         "Recorrido con límite con " + mapType);
+        }
+    }
+
+    private static List<String> names(List<Pokemon> pokemons) {
+        List<String> names = new ArrayList<>();
+        for (Pokemon pokemon : pokemons) {
+            names.add(pokemon.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Prueba el orden y el límite de los resultados.
+     */
+    @Test
+    public void testOrderAndLimit() {
+        List<Pokemon> heaviest = pokemonData.query()
+                .type1("Fire")
+                .orderByDescending(PokemonQuery.SortKey.WEIGHT)
+                .limit(2)
+                .list();
+
+        assertEquals(2, heaviest.size(), "El límite debe respetarse");
+        assertEquals("Ho-oh", heaviest.get(0).getName(), "Ho-oh es el más pesado");
+        assertEquals("Charizard", heaviest.get(1).getName(), "Charizard es el segundo más pesado");
+
+        List<Pokemon> byGeneration = pokemonData.query()
+                .orderByDescending(PokemonQuery.SortKey.GENERATION)
+                .orderBy(PokemonQuery.SortKey.NAME)
+                .list();
+        assertEquals("Blaziken", byGeneration.get(0).getName(), "La generación 3 va primero");
+        assertEquals("Charizard", byGeneration.get(2).getName(), "Los empates se ordenan por nombre");
+    }
+
+    /**
+     * Prueba que el planificador empiece por el índice más selectivo y deje como
+     * filtro las condiciones sin índice.
+     */
+    @Test
+    public void testExplain() {
+        PokemonQuery query = pokemonData.query()
+                .type("fire")
+                .legendary(true)
+                .where("nombre corto", pokemon -> pokemon.getName().length() <= 5);
+        String plan = query.explain();
+
+        assertTrue(plan.indexOf("legendary") < plan.indexOf("type1 o type2"),
+                   "El índice de legendarios (2 filas) debe usarse antes que el de tipo (5 filas):\n" + plan);
+        assertTrue(plan.contains("Filtro nombre corto (sin índice)"), "La condición sin índice debe revisarse en los registros");
+
+        PokemonQuery.Result result = query.execute();
+        assertEquals(1, result.getPokemons().size(), "Solo Ho-oh cumple todas las condiciones");
+        assertEquals(2, result.getExaminedRecords(), "Solo deben revisarse los 2 legendarios");
+        assertTrue(result.getElapsedNanos() > 0, "Debe medirse el tiempo de la consulta");
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para RobinHoodPokemonMap.
+ *              Verifica que la tabla Robin Hood se comporte igual que un HashMap.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.RobinHoodPokemonMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Pruebas unitarias para la clase RobinHoodPokemonMap.
+ * Compara cada operación con un HashMap.
+ */
+public class RobinHoodPokemonMapTest {
+
+    private static Pokemon pokemon(String name) {
+        return new Pokemon(name, 1, "Normal", "", "Prueba", 1.0, 1.0, "Static", 1, "No");
+    }
+
+    /**
+     * Prueba inserciones, reemplazos y eliminaciones aleatorias contra un HashMap,
+     * incluidas las que obligan a agrandar la tabla.
+     */
+    @Test
+    public void testMatchesHashMap() {
+        Map<String, Pokemon> table = new RobinHoodPokemonMap();
+        Map<String, Pokemon> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            String name = "Pokemon" + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(name), table.remove(name), "remove debe devolver lo mismo");
+            } else {
+                Pokemon value = pokemon(name);
+                assertEquals(reference.put(name, value), table.put(name, value), "put debe devolver lo mismo");
+            }
+        }
+        assertEquals(reference.size(), table.size(), "Los tamaños deben coincidir");
+        assertEquals(reference, table, "Las entradas deben coincidir");
+        for (int i = 0; i < 5_000; i++) {
+            String name = "Pokemon" + i;
+            assertSame(reference.get(name), table.get(name), "get debe coincidir para " + name);
+        }
+        assertNull(table.get(42), "Una clave que no es cadena no debería encontrarse");
+        assertThrows(NullPointerException.class, () -> table.get(null), "No se admiten claves null");
+    }
+
+    /**
+     * Prueba que el iterador visite cada entrada una vez aunque se eliminen entradas
+     * durante el recorrido.
+     */
+    @Test
+    public void testIteratorRemove() {
+        Map<String, Pokemon> table = new RobinHoodPokemonMap(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            table.put("Pokemon" + i, pokemon("Pokemon" + i));
+        }
+
+        Set<String> visited = new HashSet<>();
+        Iterator<Pokemon> iterator = table.values().iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next().getName();
+            assertTrue(visited.add(name), name + " no debería visitarse dos veces");
+            if (name.hashCode() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(1_000, visited.size(), "El iterador debe visitar cada Pokémon una vez");
+        for (String name : visited) {
+            assertEquals(name.hashCode() % 2 != 0, table.containsKey(name),
+                         "Solo deberían quedar los Pokémon no eliminados");
+        }
+    }
+
+    /**
+     * Prueba la tabla a través de PokemonData, con el tamaño esperado.
+     */
+    @Test
+    public void testPokemonData() {
+        PokemonData data = new PokemonData(MapType.ROBIN_HOOD, 3);
+        data.addPokemon(new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0,
+                                    "Static, Lightning-rod", 1, "No"));
+        data.addPokemon(new Pokemon("Charizard", 6, "Fire", "Flying", "Flame Pokémon", 1.7, 90.5,
+                                    "Blaze, Solar-power", 1, "No"));
+        assertEquals("Pikachu", data.getPokemon("Pikachu").getName(), "Debería encontrar a Pikachu");
+        assertEquals(1, data.getPokemonsByAbility("blaze").size(), "Debería encontrar a Charizard por habilidad");
+        assertEquals("Electric", data.getAllPokemonsSortedByType1().get(0).getType1(),
+                     "El ordenamiento por tipo debería funcionar sin cambios");
+        assertThrows(IllegalArgumentException.class, () -> new PokemonData(MapType.ROBIN_HOOD, -1),
+                     "Un tamaño esperado negativo no es válido");
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para StringPool.
+ *              Verifica que los valores iguales compartan una instancia y las estadísticas.
+ */
+package test.java.pokemonmap.data;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.data.StringPool;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pruebas unitarias para la clase StringPool.
+ */
+public class StringPoolTest {
+
+    /**
+     * Prueba que los valores iguales se devuelvan como la primera instancia vista.
+     */
+    @Test
+    public void testCanonicalInstance() {
+        StringPool pool = new StringPool();
+        String fire = new String("Fire");
+        assertSame(fire, pool.intern(fire), "La primera instancia se vuelve la canónica");
+        assertSame(fire, pool.intern(new String("Fire")), "Un valor igual debería devolver la canónica");
+        assertSame(fire, pool.intern(fire), "La canónica se devuelve a sí misma");
+        assertNotSame(fire, pool.intern(new String("Water")), "Un valor distinto tiene su propia instancia");
+        assertNull(pool.intern(null), "null se devuelve sin cambios");
+    }
+
+    /**
+     * Prueba las cantidades del resumen: valores distintos, cadenas reutilizadas,
+     * búsquedas y bytes ahorrados.
+     */
+    @Test
+    public void testReportCounts() {
+        StringPool pool = new StringPool();
+        String fire = new String("Fire");
+        pool.intern(fire);
+        pool.intern(new String("Fire"));
+        pool.intern(new String("Fire"));
+        pool.intern(fire);
+        pool.intern(new String("Pokémon"));
+        pool.intern(new String("Pokémon"));
+        pool.intern(null);
+
+        assertEquals(2, pool.size(), "Debería haber 2 valores distintos");
+        assertEquals(3, pool.getReusedCount(), "Solo las copias distintas de la canónica se reutilizan");
+        // Cada copia: 40 bytes de cabeceras más un byte por carácter Latin-1, alineado a 8
+        assertEquals(2 * 48 + 48, pool.getBytesSaved(), "Los bytes ahorrados deberían sumar las copias");
+        String report = pool.report();
+        assertTrue(report.contains("2 valores distintos"), "El resumen debería incluir los valores distintos");
+        assertTrue(report.contains("3 de 6 cadenas reutilizadas"),
+                   "El resumen debería incluir las reutilizadas de las búsquedas sin null");
+    }
+
+    /**
+     * Prueba que varios hilos que canonicalizan el mismo valor obtengan la misma instancia.
+     */
+    @Test
+    public void testConcurrentIntern() throws InterruptedException {
+        StringPool pool = new StringPool();
+        Queue<String> seen = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    String canonical = pool.intern(new String("Type" + (i % 10)));
+                    if (i % 10 == 0) {
+                        seen.add(canonical);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(10, pool.size(), "Debería haber 10 valores distintos");
+        assertEquals(4 * 10_000 - 10, pool.getReusedCount(), "Todas menos las canónicas se reutilizan");
+        assertSame(pool.intern(new String("Type0")), pool.intern(new String("Type0")),
+                   "Después de la carga concurrente cada valor tiene una sola instancia");
+        String type0 = pool.intern("Type0");
+        for (String canonical : seen) {
+            assertSame(type0, canonical, "Todos los hilos deberían obtener la misma instancia de Type0");
+        }
+    }
+}
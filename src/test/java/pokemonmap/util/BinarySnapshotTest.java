@@ -0,0 +1,199 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para BinarySnapshot.
+ *              Verifica que las instantáneas se recuperen tal como se guardaron y que
+ *              se descarten cuando están dañadas o cuando cambia el CSV.
+ */
+package test.java.pokemonmap.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.util.BinarySnapshot;
+import pokemonmap.util.CSVReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Pruebas unitarias para la clase BinarySnapshot.
+ */
+public class BinarySnapshotTest {
+    private static final String HEADER = "Name,Pokedex Number,Type1,Type2,Classification,"
+            + "Height (m),Weight (kg),Abilities,Generation,Legendary Status\n";
+
+    // Posiciones en el encabezado: identificador, versión, tamaño y fecha del CSV van antes
+    private static final int COUNT_OFFSET = 4 + 4 + 8 + 8;
+    private static final int CHECKSUM_OFFSET = COUNT_OFFSET + 4 + 4;
+
+    @TempDir
+    Path tempDir;
+
+    private static List<Pokemon> sample() {
+        return Arrays.asList(
+            new Pokemon("Bulbasaur", 1, "Grass", "Poison", "Seed Pokémon", 0.7, 6.9, "Overgrow, Chlorophyll", 1, "No"),
+            new Pokemon("Pikachu", 25, "Electric", "", "Mouse Pokémon", 0.4, 6.0, "Static, Lightning-rod", 1, "No"),
+            new Pokemon("Mewtwo", 150, "Psychic", "", "Genetic Pokémon", 2.0, 122.0, "Pressure, Unnerve", 1, "Legendary"));
+    }
+
+    private static List<Pokemon> read(Path snapshot, long size, long lastModified, List<Pokemon> loaded)
+            throws IOException {
+        PokemonData data = new PokemonData(MapType.LINKED_HASH_MAP);
+        assertEquals(loaded != null, BinarySnapshot.read(snapshot, size, lastModified, data),
+                     loaded != null ? "La instantánea debería aceptarse" : "La instantánea debería descartarse");
+        return new ArrayList<>(data.getAllPokemons());
+    }
+
+    /**
+     * Prueba que una instantánea se lea con los mismos Pokémon, en el mismo orden.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path snapshot = tempDir.resolve("data.snapshot");
+        BinarySnapshot.write(snapshot, sample(), 1234, 5678);
+        assertEquals(sample(), read(snapshot, 1234, 5678, sample()), "Los Pokémon deberían coincidir");
+
+        BinarySnapshot.write(snapshot, new ArrayList<>(), 0, 0);
+        assertEquals(new ArrayList<>(), read(snapshot, 0, 0, new ArrayList<>()),
+                     "Una instantánea vacía debería reemplazar a la anterior");
+    }
+
+    /**
+     * Prueba que se descarte una instantánea con otro tamaño o fecha del CSV, dañada o
+     * inexistente, sin agregar ningún Pokémon.
+     */
+    @Test
+    public void testRejectsInvalid() throws IOException {
+        Path snapshot = tempDir.resolve("data.snapshot");
+        BinarySnapshot.write(snapshot, sample(), 1234, 5678);
+        assertTrue(read(snapshot, 1235, 5678, null).isEmpty(), "Otro tamaño del CSV invalida la instantánea");
+        assertTrue(read(snapshot, 1234, 5679, null).isEmpty(), "Otra fecha del CSV invalida la instantánea");
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 5] ^= 1;
+        Files.write(snapshot, bytes);
+        assertTrue(read(snapshot, 1234, 5678, null).isEmpty(), "Un checksum distinto invalida la instantánea");
+
+        Files.write(snapshot, Arrays.copyOf(bytes, 10));
+        assertTrue(read(snapshot, 1234, 5678, null).isEmpty(), "Un archivo truncado se descarta");
+        assertTrue(read(tempDir.resolve("missing.snapshot"), 1234, 5678, null).isEmpty(),
+                   "Un archivo inexistente se descarta");
+    }
+
+    /**
+     * Prueba que se descarte, sin agregar ningún Pokémon, una instantánea cuyo
+     * encabezado no corresponde a la carga: sin recalcular el checksum, y también con un
+     * checksum recalculado que ya no detecta el cambio.
+     */
+    @Test
+    public void testRejectsInconsistentHeader() throws IOException {
+        Path snapshot = tempDir.resolve("data.snapshot");
+        BinarySnapshot.write(snapshot, sample(), 1234, 5678);
+        byte[] original = Files.readAllBytes(snapshot);
+
+        byte[] bytes = original.clone();
+        ByteBuffer.wrap(bytes).putInt(COUNT_OFFSET, 2);
+        Files.write(snapshot, bytes);
+        assertTrue(read(snapshot, 1234, 5678, null).isEmpty(), "El checksum debería cubrir el encabezado");
+
+        for (int count : new int[]{2, 4, -1, Integer.MAX_VALUE}) {
+            Files.write(snapshot, withChecksum(original, COUNT_OFFSET, count));
+            assertTrue(read(snapshot, 1234, 5678, null).isEmpty(),
+                       "Un número de registros de " + count + " no corresponde al archivo");
+        }
+        for (int stringCount : new int[]{1, -1, Integer.MAX_VALUE}) {
+            Files.write(snapshot, withChecksum(original, COUNT_OFFSET + 4, stringCount));
+            assertTrue(read(snapshot, 1234, 5678, null).isEmpty(),
+                       "Un número de cadenas de " + stringCount + " no corresponde al archivo");
+        }
+        // El nombre del último registro apunta fuera de la tabla de cadenas
+        int stringCount = ByteBuffer.wrap(original).getInt(COUNT_OFFSET + 4);
+        int lastName = original.length - 48 * 3 + 4 * 2;
+        Files.write(snapshot, withChecksum(original, lastName, stringCount));
+        assertTrue(read(snapshot, 1234, 5678, null).isEmpty(), "Un índice fuera de la tabla invalida la instantánea");
+
+        Files.write(snapshot, withChecksum(original, COUNT_OFFSET, 3));
+        assertEquals(sample(), read(snapshot, 1234, 5678, sample()), "Sin cambios la instantánea sigue siendo válida");
+    }
+
+    /**
+     * Copia una instantánea con un entero cambiado y el checksum recalculado como lo
+     * calcula el formato: los campos del encabezado anteriores al checksum y la carga.
+     */
+    private static byte[] withChecksum(byte[] original, int offset, int value) {
+        byte[] bytes = original.clone();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(offset, value);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, CHECKSUM_OFFSET);
+        crc.update(bytes, CHECKSUM_OFFSET + 8, bytes.length - CHECKSUM_OFFSET - 8);
+        buffer.putLong(CHECKSUM_OFFSET, crc.getValue());
+        return bytes;
+    }
+
+    /**
+     * Prueba que la lectura con caché use la instantánea mientras el CSV no cambie y
+     * vuelva a leer el CSV cuando cambia.
+     */
+    @Test
+    public void testCachedReadFollowsCsv() throws IOException {
+        Path csv = tempDir.resolve("pokemon.csv");
+        Path snapshot = tempDir.resolve("pokemon.snapshot");
+        Files.write(csv, (HEADER + "Pikachu,25,Electric,,Mouse Pokémon,0.4,6,Static,1,No\n")
+                .getBytes(StandardCharsets.UTF_8));
+        PokemonData first = CSVReader.readPokemonsFromCSVCached(csv.toString(),
+                new PokemonData(MapType.HASH_MAP), snapshot);
+        assertEquals("Electric", first.getPokemon("Pikachu").getType1(), "Debería leer el CSV");
+        assertTrue(Files.exists(snapshot), "Debería guardar la instantánea");
+
+        // Una instantánea válida para el CSV actual tiene prioridad sobre el CSV
+        long size = Files.size(csv);
+        long lastModified = Files.getLastModifiedTime(csv).toMillis();
+        BinarySnapshot.write(snapshot, sample(), size, lastModified);
+        PokemonData cached = CSVReader.readPokemonsFromCSVCached(csv.toString(),
+                new PokemonData(MapType.HASH_MAP), snapshot);
+        assertEquals(3, cached.size(), "Debería usar la instantánea");
+
+        Files.write(csv, (HEADER + "Pikachu,25,Fire,,Mouse Pokémon,0.4,6,Static,1,No\n")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(lastModified + 2_000));
+        PokemonData reloaded = CSVReader.readPokemonsFromCSVCached(csv.toString(),
+                new PokemonData(MapType.HASH_MAP), snapshot);
+        assertEquals(1, reloaded.size(), "Con el CSV modificado debería volver a leerlo");
+        assertEquals("Fire", reloaded.getPokemon("Pikachu").getType1(), "Debería ver el contenido nuevo");
+    }
+
+    /**
+     * Prueba que dos CSV con el mismo nombre en carpetas distintas tengan instantáneas
+     * distintas, y que una misma ruta siempre tenga la misma.
+     */
+    @Test
+    public void testDefaultLocationPerPath() {
+        Path a = tempDir.resolve("a").resolve("pokemon.csv");
+        Path b = tempDir.resolve("b").resolve("pokemon.csv");
+        assertNotEquals(BinarySnapshot.defaultLocation(a.toString()), BinarySnapshot.defaultLocation(b.toString()),
+                        "Carpetas distintas no deberían compartir instantánea");
+        assertEquals(BinarySnapshot.defaultLocation(a.toString()),
+                     BinarySnapshot.defaultLocation(tempDir.resolve("b").resolve("..").resolve("a")
+                                                           .resolve("pokemon.csv").toString()),
+                     "La misma ruta escrita de otra forma debería usar la misma instantánea");
+        assertTrue(BinarySnapshot.defaultLocation(a.toString()).getFileName().toString().startsWith("pokemon.csv-"),
+                   "El nombre debería conservar el nombre del CSV");
+    }
+}
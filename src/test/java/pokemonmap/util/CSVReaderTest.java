@@ -0,0 +1,419 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para CSVReader.
+ *              Verifica que las distintas formas de leer el CSV den los mismos Pokémon
+ *              que la lectura secuencial.
+ */
+package test.java.pokemonmap.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.Pokemon;
+import pokemonmap.data.PokemonData;
+import pokemonmap.data.StringPool;
+import pokemonmap.util.CSVReader;
+import pokemonmap.util.LoadProgress;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas unitarias para la clase CSVReader.
+ * Cada lectura se compara con {@link CSVReader#readPokemonsFromCSV}, en el orden del archivo.
+ */
+public class CSVReaderTest {
+    private static final String HEADER = "Name,Pokedex Number,Type1,Type2,Classification,"
+            + "Height (m),Weight (kg),Abilities,Generation,Legendary Status";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Escribe un CSV con el número de filas indicado. Incluye comas entre comillas,
+     * texto no ASCII y una fila con un número inválido, y termina las líneas con
+     * el separador dado.
+     */
+    private Path writeCsv(String name, int rows, String lineBreak) throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append(lineBreak);
+        for (int i = 1; i <= rows; i++) {
+            if (i == rows / 2) {
+                csv.append("Roto").append(i).append(",x,Grass,,Seed Pokémon,1,1,Static,1,No").append(lineBreak);
+            }
+            csv.append("Pokémon").append(i).append(',').append(i).append(',')
+               .append(i % 2 == 0 ? "Fire" : "Water").append(",,\"Ratón, Pokémon\",")
+               .append(i % 10).append('.').append(i % 7).append(',').append(i * 1.5).append(',')
+               .append("\"Overgrow, Chlorophyll\",").append(1 + i % 8).append(",No").append(lineBreak);
+        }
+        Path file = tempDir.resolve(name);
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<Pokemon> sequential(Path file) throws IOException {
+        return new ArrayList<>(CSVReader.readPokemonsFromCSV(file.toString(),
+                new PokemonData(MapType.LINKED_HASH_MAP)).getAllPokemons());
+    }
+
+    /**
+     * Prueba que la lectura secuencial decodifique el archivo como UTF-8 y omita la fila
+     * con un número inválido.
+     */
+    @Test
+    public void testSequentialUtf8() throws IOException {
+        List<Pokemon> pokemons = sequential(writeCsv("utf8.csv", 10, "\n"));
+        assertEquals(10, pokemons.size(), "La fila con un número inválido debería omitirse");
+        assertEquals("Pokémon1", pokemons.get(0).getName(), "El nombre debería decodificarse como UTF-8");
+        assertEquals("Ratón, Pokémon", pokemons.get(0).getClassification(),
+                     "La coma entre comillas no debería separar campos");
+    }
+
+    /**
+     * Prueba que la lectura mapeada en memoria coincida con la secuencial, con finales
+     * de línea LF y CRLF y con ventanas tan pequeñas que muchas filas quedan partidas
+     * entre dos ventanas.
+     */
+    @Test
+    public void testMappedMatchesSequential() throws IOException {
+        for (String lineBreak : new String[] {"\n", "\r\n"}) {
+            Path file = writeCsv(lineBreak.length() == 1 ? "lf.csv" : "crlf.csv", 500, lineBreak);
+            List<Pokemon> expected = sequential(file);
+            assertEquals(500, expected.size(), "La lectura secuencial debería dar 500 Pokémon");
+
+            for (int windowSize : new int[] {128, 1_000, 1 << 20}) {
+                PokemonData mapped = CSVReader.readPokemonsFromCSVMapped(file.toString(),
+                        new PokemonData(MapType.LINKED_HASH_MAP), windowSize);
+                assertEquals(expected, new ArrayList<>(mapped.getAllPokemons()),
+                             "La lectura mapeada con ventanas de " + windowSize + " bytes debería coincidir");
+            }
+        }
+        assertEquals(sequential(writeCsv("default.csv", 50, "\n")),
+                     new ArrayList<>(CSVReader.readPokemonsFromCSVMapped(tempDir.resolve("default.csv").toString(),
+                             new PokemonData(MapType.LINKED_HASH_MAP)).getAllPokemons()),
+                     "La lectura mapeada con la ventana por defecto debería coincidir");
+    }
+
+    /**
+     * Prueba que la lectura en paralelo coincida con la secuencial. Con bloques de
+     * pocos cientos de bytes el archivo se divide en muchas tareas, cortadas a mitad de
+     * fila y realineadas al siguiente registro.
+     */
+    @Test
+    public void testParallelMatchesSequential() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (String lineBreak : new String[] {"\n", "\r\n"}) {
+                Path file = writeCsv(lineBreak.length() == 1 ? "lf.csv" : "crlf.csv", 500, lineBreak);
+                List<Pokemon> expected = sequential(file);
+                for (long chunkSize : new long[] {200, 4_096, Long.MAX_VALUE}) {
+                    PokemonData parallel = CSVReader.readPokemonsFromCSVParallel(file.toString(),
+                            new PokemonData(MapType.LINKED_HASH_MAP), pool, chunkSize);
+                    assertEquals(expected, new ArrayList<>(parallel.getAllPokemons()),
+                                 "La lectura en paralelo con bloques de " + chunkSize + " bytes debería coincidir");
+                }
+            }
+            Path file = tempDir.resolve("lf.csv");
+            assertEquals(sequential(file), new ArrayList<>(CSVReader.readPokemonsFromCSVParallel(file.toString(),
+                         new PokemonData(MapType.LINKED_HASH_MAP)).getAllPokemons()),
+                         "La lectura con el pool común debería coincidir");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Prueba que el cargador en etapas coincida con la lectura secuencial en un archivo
+     * de varios lotes, con uno y con varios hilos de parseo (cuyos lotes pueden llegar
+     * desordenados), y que el último avance cubra todo el archivo.
+     */
+    @Test
+    public void testPipelinedMatchesSequential() throws IOException {
+        Path file = writeCsv("pipelined.csv", 20_000, "\r\n");
+        List<Pokemon> expected = sequential(file);
+        for (int parserThreads : new int[] {1, 4}) {
+            List<LoadProgress> progress = new ArrayList<>();
+            PokemonData pipelined = CSVReader.readPokemonsFromCSVPipelined(file.toString(),
+                    new PokemonData(MapType.LINKED_HASH_MAP), progress::add, parserThreads);
+            assertEquals(expected, new ArrayList<>(pipelined.getAllPokemons()),
+                         "La carga con " + parserThreads + " hilos de parseo debería coincidir");
+
+            assertTrue(progress.size() > 4, "Debería reportar el avance de cada lote");
+            LoadProgress last = progress.get(progress.size() - 1);
+            assertEquals(20_000, last.getRowsLoaded(), "El último avance debería contar todas las filas");
+            assertEquals(Files.size(file), last.getBytesRead(), "El último avance debería cubrir todo el archivo");
+        }
+    }
+
+    /**
+     * Prueba que un error en la etapa de parseo llegue al llamador en lugar de bloquear
+     * la carga, también cuando el error ocurre con las colas llenas.
+     */
+    @Test
+    public void testPipelinedParserFailure() throws IOException {
+        Path file = writeCsv("failure.csv", 20_000, "\n");
+        for (int failAfter : new int[] {0, 30_000}) {
+            for (int parserThreads : new int[] {1, 4}) {
+                PokemonData data = failingData(failAfter, false);
+                IllegalStateException error = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                        () -> assertThrows(IllegalStateException.class,
+                                () -> CSVReader.readPokemonsFromCSVPipelined(file.toString(), data, null, parserThreads)),
+                        "La carga no debería bloquearse");
+                assertEquals("Falla de prueba", error.getMessage(), "El llamador debería recibir el error del parseo");
+            }
+        }
+    }
+
+    /**
+     * Prueba que un Error (por ejemplo, falta de memoria) en la etapa de parseo también
+     * termine la carga y llegue al llamador, en lugar de dejar esperando al hilo de inserción.
+     */
+    @Test
+    public void testPipelinedParserError() throws IOException {
+        Path file = writeCsv("error.csv", 20_000, "\n");
+        for (int failAfter : new int[] {0, 30_000}) {
+            for (int parserThreads : new int[] {1, 4}) {
+                PokemonData data = failingData(failAfter, true);
+                OutOfMemoryError error = assertTimeoutPreemptively(Duration.ofSeconds(30),
+                        () -> assertThrows(OutOfMemoryError.class,
+                                () -> CSVReader.readPokemonsFromCSVPipelined(file.toString(), data, null, parserThreads)),
+                        "La carga no debería bloquearse");
+                assertEquals("Falla de prueba", error.getMessage(), "El llamador debería recibir el error del parseo");
+            }
+        }
+    }
+
+    /**
+     * Prueba que, si un hilo de parseo se detiene, los demás no parseen el resto del
+     * archivo por adelantado: los lotes pendientes de insertar están acotados.
+     */
+    @Test
+    public void testPipelinedStalledParserBoundsReadAhead() throws IOException {
+        int rows = 200_000;
+        Path file = writeCsv("stall.csv", rows, "\n");
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger callsWhileStalled = new AtomicInteger();
+        StringPool pool = new StringPool() {
+            @Override
+            public String intern(String value) {
+                if (calls.incrementAndGet() == 1) {
+                    try {
+                        Thread.sleep(2_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    callsWhileStalled.set(calls.get());
+                }
+                return super.intern(value);
+            }
+        };
+        PokemonData data = new PokemonData(MapType.LINKED_HASH_MAP) {
+            @Override
+            public StringPool getStringPool() {
+                return pool;
+            }
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(60),
+                () -> CSVReader.readPokemonsFromCSVPipelined(file.toString(), data, null, 4));
+
+        // Cada fila usa el diccionario 5 veces
+        int parsedWhileStalled = callsWhileStalled.get() / 5;
+        assertTrue(parsedWhileStalled < rows / 2,
+                   "Los demás hilos no deberían adelantarse a todo el archivo: " + parsedWhileStalled + " filas");
+        assertEquals(sequential(file), new ArrayList<>(data.getAllPokemons()),
+                     "La carga debería terminar con todas las filas en orden");
+    }
+
+    /**
+     * Crea una colección cuyo diccionario de cadenas falla después del número de
+     * búsquedas indicado, con una excepción o con un Error. El diccionario se usa en la
+     * etapa de parseo.
+     */
+    private static PokemonData failingData(int failAfter, boolean error) {
+        AtomicInteger calls = new AtomicInteger();
+        StringPool pool = new StringPool() {
+            @Override
+            public String intern(String value) {
+                if (calls.incrementAndGet() > failAfter) {
+                    if (error) {
+                        throw new OutOfMemoryError("Falla de prueba");
+                    }
+                    throw new IllegalStateException("Falla de prueba");
+                }
+                return super.intern(value);
+            }
+        };
+        return new PokemonData(MapType.HASH_MAP) {
+            @Override
+            public StringPool getStringPool() {
+                return pool;
+            }
+        };
+    }
+
+    /**
+     * Prueba que los streams den los mismos Pokémon que la lectura completa, también
+     * en paralelo, y que el recurso del classpath se lea igual que con
+     * {@link CSVReader#readPokemonsFromResource}.
+     */
+    @Test
+    public void testStreamMatchesEagerReader() throws IOException {
+        Path file = writeCsv("stream.csv", 5_000, "\r\n");
+        List<Pokemon> expected = sequential(file);
+        try (Stream<Pokemon> stream = CSVReader.streamPokemonsFromCSV(file.toString())) {
+            assertEquals(expected, stream.collect(Collectors.toList()), "El stream debería dar las mismas filas");
+        }
+        try (Stream<Pokemon> stream = CSVReader.streamPokemonsFromCSV(file.toString())) {
+            assertEquals(expected, stream.parallel().collect(Collectors.toList()),
+                         "El stream paralelo debería conservar las filas y su orden");
+        }
+
+        List<Pokemon> resource = new ArrayList<>(CSVReader.readPokemonsFromResource("pokemon_data_pokeapi.csv",
+                new PokemonData(MapType.LINKED_HASH_MAP)).getAllPokemons());
+        try (Stream<Pokemon> stream = CSVReader.streamPokemonsFromResource("pokemon_data_pokeapi.csv")) {
+            assertEquals(resource, stream.collect(Collectors.toList()), "El stream del recurso debería coincidir");
+        }
+    }
+
+    /**
+     * Prueba que dividir el Spliterator del stream reparta las filas sin perder ni
+     * repetir ninguna, y que al concatenar las partes se conserve el orden del archivo.
+     */
+    @Test
+    public void testSplitKeepsEveryRowOnce() throws IOException {
+        Path file = writeCsv("split.csv", 5_000, "\n");
+        List<Pokemon> expected = sequential(file);
+        try (Stream<Pokemon> stream = CSVReader.streamPokemonsFromCSV(file.toString())) {
+            // Se divide cada parte hasta que ya no se pueda, recorriendo las partes en orden
+            List<Spliterator<Pokemon>> parts = new ArrayList<>();
+            Deque<Spliterator<Pokemon>> pending = new ArrayDeque<>();
+            pending.push(stream.spliterator());
+            while (!pending.isEmpty()) {
+                Spliterator<Pokemon> part = pending.pop();
+                Spliterator<Pokemon> prefix = part.trySplit();
+                if (prefix == null) {
+                    parts.add(part);
+                } else {
+                    pending.push(part);
+                    pending.push(prefix);
+                }
+            }
+            assertTrue(parts.size() > 4, "El archivo debería dividirse en varias partes");
+
+            List<Pokemon> rows = new ArrayList<>();
+            for (Spliterator<Pokemon> part : parts) {
+                part.forEachRemaining(rows::add);
+            }
+            assertEquals(expected, rows, "Las partes deberían tener cada fila una vez y en orden");
+        }
+    }
+
+    /**
+     * Prueba que el stream no retenga los Pokémon que ya entregó, de modo que la memoria
+     * no crece con el tamaño del archivo.
+     */
+    @Test
+    public void testStreamReleasesRows() throws IOException {
+        Path file = writeCsv("lazy.csv", 20_000, "\n");
+        List<WeakReference<Pokemon>> delivered = new ArrayList<>();
+        try (Stream<Pokemon> stream = CSVReader.streamPokemonsFromCSV(file.toString())) {
+            stream.forEach(pokemon -> delivered.add(new WeakReference<>(pokemon)));
+        }
+        assertEquals(20_000, delivered.size(), "El stream debería entregar todas las filas");
+
+        int retained = 0;
+        for (int attempt = 0; attempt < 5; attempt++) {
+            System.gc();
+            retained = (int) delivered.stream().filter(reference -> reference.get() != null).count();
+            if (retained < delivered.size() / 10) {
+                break;
+            }
+        }
+        assertTrue(retained < delivered.size() / 10,
+                   "El stream no debería retener las filas entregadas: " + retained + " retenidas");
+    }
+
+    /**
+     * Prueba que cerrar el stream libere el archivo aunque no se haya recorrido completo.
+     */
+    @Test
+    public void testCloseReleasesFile() throws IOException {
+        Path file = writeCsv("close.csv", 100, "\n");
+        long openBefore = openFileDescriptors();
+        assumeTrue(openBefore >= 0, "La JVM no informa los descriptores de archivo abiertos");
+
+        Stream<Pokemon> stream = CSVReader.streamPokemonsFromCSV(file.toString());
+        Iterator<Pokemon> rows = stream.iterator();
+        assertEquals("Pokémon1", rows.next().getName(), "El stream debería empezar por la primera fila");
+        assertTrue(openFileDescriptors() > openBefore, "El archivo debería estar abierto mientras se recorre");
+        stream.close();
+        assertEquals(openBefore, openFileDescriptors(), "Cerrar el stream debería liberar el archivo");
+    }
+
+    /**
+     * Prueba que leer un recurso con caché no deje archivos abiertos, tanto al leer el
+     * CSV como al usar la instantánea.
+     */
+    @Test
+    public void testResourceCachedReleasesFiles() throws IOException {
+        long openBefore = openFileDescriptors();
+        assumeTrue(openBefore >= 0, "La JVM no informa los descriptores de archivo abiertos");
+        Path snapshot = tempDir.resolve("resource.snapshot");
+
+        PokemonData fromCsv = CSVReader.readPokemonsFromResourceCached("pokemon_data_pokeapi.csv",
+                new PokemonData(MapType.HASH_MAP), snapshot, null);
+        assertTrue(Files.exists(snapshot), "Debería guardar la instantánea");
+        assertEquals(openBefore, openFileDescriptors(), "Leer el CSV no debería dejar archivos abiertos");
+
+        PokemonData fromSnapshot = CSVReader.readPokemonsFromResourceCached("pokemon_data_pokeapi.csv",
+                new PokemonData(MapType.HASH_MAP), snapshot, null);
+        assertEquals(fromCsv.size(), fromSnapshot.size(), "La instantánea debería tener los mismos Pokémon");
+        assertEquals(openBefore, openFileDescriptors(), "Usar la instantánea no debería dejar archivos abiertos");
+    }
+
+    /**
+     * Obtiene el número de descriptores de archivo abiertos por el proceso, o -1 si la
+     * JVM no lo informa.
+     */
+    private static long openFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Prueba que una fila más grande que la ventana se reporte como error.
+     */
+    @Test
+    public void testMappedWindowTooSmall() throws IOException {
+        Path file = writeCsv("small.csv", 5, "\n");
+        assertThrows(IOException.class, () -> CSVReader.readPokemonsFromCSVMapped(file.toString(),
+                     new PokemonData(MapType.HASH_MAP), 16), "Una fila que no cabe en la ventana es un error");
+        assertThrows(IllegalArgumentException.class, () -> CSVReader.readPokemonsFromCSVMapped(file.toString(),
+                     new PokemonData(MapType.HASH_MAP), 0), "La ventana debe ser positiva");
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ * 
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para CsvLineParser.
+ *              Verifica el parseo de campos y que la lectura de valores numéricos
+ *              no genere asignaciones de memoria por línea.
+ */
+package test.java.pokemonmap.util;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import pokemonmap.data.Pokemon;
+import pokemonmap.util.CsvLineParser;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Pruebas unitarias para la clase CsvLineParser.
+ * Usa los contadores de memoria asignada por hilo de la JVM para comprobar
+ * que el parser no crea objetos al leer los campos numéricos.
+ */
+public class CsvLineParserTest {
+    private static final String HEADER = "Name,Pokedex Number,Type1,Type2,Classification,"
+            + "Height (m),Weight (kg),Abilities,Generation,Legendary Status\n";
+    private static final String LINE = "Bulbasaur,1,Grass,Poison,Seed Pokémon,0.7,6.9,\"Overgrow, Chlorophyll\",1,No\n";
+    private static final int LINES = 20000;
+
+    /**
+     * Prueba que los campos se separen igual que en el parser original:
+     * las comas entre comillas no separan campos y las comillas se eliminan.
+     */
+    @Test
+    public void testParseFields() {
+        CsvLineParser parser = new CsvLineParser();
+        parser.parse(LINE.trim());
+        
+        assertEquals(10, parser.fieldCount(), "La línea debería tener 10 campos");
+        assertEquals("Overgrow, Chlorophyll", parser.text(7), "Las comillas no deberían formar parte del campo");
+        assertEquals(1, parser.intValue(1), "El número de Pokédex debe coincidir");
+        assertEquals(0.7, parser.doubleValue(5), "La altura debe coincidir");
+        assertEquals(6.9, parser.doubleValue(6), "El peso debe coincidir");
+        
+        Pokemon pokemon = parser.toPokemon();
+        assertNotNull(pokemon, "Debería construir el Pokémon");
+        assertEquals("Bulbasaur", pokemon.getName(), "El nombre debe coincidir");
+        assertEquals("No", pokemon.getLegendaryStatus(), "El estado legendario debe coincidir");
+        
+        parser.parse("short,line");
+        assertNull(parser.toPokemon(), "No debería construir un Pokémon con menos de 10 campos");
+        
+        parser.parse("Bad,x,Grass,,S,1,1,a,1,No");
+        assertThrows(NumberFormatException.class, parser::toPokemon, "Un número inválido debería reportarse");
+    }
+    
+    /**
+     * Prueba que el parser reconozca los mismos finales de línea que BufferedReader.readLine.
+     */
+    @Test
+    public void testLineEndings() throws IOException {
+        CsvLineParser parser = new CsvLineParser(new StringReader("a,b\r\nc\rd\n\ne"));
+        
+        assertTrue(parser.next());
+        assertEquals("a,b", parser.line());
+        assertTrue(parser.next());
+        assertEquals("c", parser.line());
+        assertTrue(parser.next());
+        assertEquals("d", parser.line());
+        assertTrue(parser.next());
+        assertEquals("", parser.line());
+        assertTrue(parser.next());
+        assertEquals("e", parser.line());
+        assertFalse(parser.next(), "No deberían quedar más líneas");
+    }
+    
+    /**
+     * Prueba que leer líneas y sus campos numéricos no asigne memoria por línea.
+     * Solo se permite una pequeña cantidad fija de bytes por ruido de la propia medición.
+     */
+    @Test
+    public void testNumericFieldsDoNotAllocate() throws IOException {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        CsvLineParser parser = new CsvLineParser(new StringReader(HEADER + LINE.repeat(LINES)));
+        
+        // Calentar el parser para que el buffer ya tenga su tamaño final
+        for (int i = 0; i < 100; i++) {
+            parser.next();
+        }
+        
+        long checksum = 0;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        while (parser.next()) {
+            checksum += parser.intValue(1) + parser.intValue(8);
+            checksum += (long) (parser.doubleValue(5) * 10 + parser.doubleValue(6) * 10);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        
+        assertTrue(checksum > 0);
+        assertTrue(allocated < 4096, "No debería asignar memoria por línea, pero se asignaron " + allocated + " bytes");
+    }
+    
+    /**
+     * Prueba que al construir Pokémon solo se asignen los valores finales y no las
+     * cadenas intermedias de cada campo y de cada línea.
+     */
+    @Test
+    public void testOnlyFinalValuesAreAllocated() throws IOException {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+        CsvLineParser parser = new CsvLineParser(new StringReader(HEADER + LINE.repeat(LINES)));
+        parser.next();
+        
+        Pokemon[] pokemons = new Pokemon[LINES];
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; parser.next(); i++) {
+            pokemons[i] = parser.toPokemon();
+        }
+        long perLine = (threads.getCurrentThreadAllocatedBytes() - before) / LINES;
+        
+        // Un Pokémon con sus seis cadenas ocupa unos 400 bytes; leer la línea como String
+        // y separarla con StringBuilder y ArrayList superaba los 1500 bytes por línea
+        assertTrue(perLine < 600, "Se asignaron " + perLine + " bytes por línea");
+        assertEquals("Bulbasaur", pokemons[LINES - 1].getName());
+    }
+    
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "La JVM no expone contadores de asignación");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "La JVM no expone contadores de asignación");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Universidad del Valle de Guatemala
+ * Departamento de Ciencia de la Computación
+ * Programación Orientada a Objetos
+ *
+ * Autor: Denil José Parada Cabrera - 24761
+ * Fecha: 17/10/2026
+ * Descripción: Clase de prueba para DatasetReloader y DatasetDelta.
+ *              Verifica las diferencias calculadas al recargar y la publicación de la
+ *              nueva versión.
+ */
+package test.java.pokemonmap.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import pokemonmap.factory.MapType;
+import pokemonmap.data.DatasetDelta;
+import pokemonmap.data.PokemonData;
+import pokemonmap.util.CSVReader;
+import pokemonmap.util.DatasetReloader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pruebas unitarias para las clases DatasetReloader y DatasetDelta.
+ * Llaman a {@link DatasetReloader#reload()} directamente, sin esperar al WatchService.
+ */
+public class DatasetReloaderTest {
+    private static final String HEADER = "Name,Pokedex Number,Type1,Type2,Classification,"
+            + "Height (m),Weight (kg),Abilities,Generation,Legendary Status\n";
+    private static final String PIKACHU = "Pikachu,25,Electric,,Mouse Pokémon,0.4,6,Static,1,No\n";
+    private static final String CHARMANDER = "Charmander,4,Fire,,Lizard Pokémon,0.6,8.5,Blaze,1,No\n";
+    private static final String BULBASAUR = "Bulbasaur,1,Grass,Poison,Seed Pokémon,0.7,6.9,Overgrow,1,No\n";
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Prueba que la recarga publique la nueva versión con sus diferencias y que la
+     * versión anterior no cambie.
+     */
+    @Test
+    public void testReloadPublishesDelta() throws IOException {
+        Path csv = tempDir.resolve("pokemon.csv");
+        Files.write(csv, (HEADER + PIKACHU + CHARMANDER + BULBASAUR).getBytes(StandardCharsets.UTF_8));
+        PokemonData initial = CSVReader.readPokemonsFromCSV(csv.toString(), new PokemonData(MapType.HASH_MAP));
+
+        List<PokemonData> published = new ArrayList<>();
+        List<DatasetDelta> deltas = new ArrayList<>();
+        DatasetReloader reloader = new DatasetReloader(csv, MapType.HASH_MAP, initial, (data, delta) -> {
+            published.add(data);
+            deltas.add(delta);
+        });
+        assertNull(reloader.reload(), "Sin cambios en el archivo no debería publicar nada");
+        assertSame(initial, reloader.current(), "Sin cambios debería conservar la versión actual");
+
+        // Se elimina Bulbasaur, se agrega Squirtle y Pikachu cambia de peso
+        Files.write(csv, (HEADER + PIKACHU.replace(",6,", ",6.5,") + CHARMANDER
+                + "Squirtle,7,Water,,Tiny Turtle Pokémon,0.5,9,Torrent,1,No\n").getBytes(StandardCharsets.UTF_8));
+        DatasetDelta delta = reloader.reload();
+
+        assertNotNull(delta, "Debería publicar los cambios");
+        assertEquals(Collections.singletonList("Squirtle"), delta.getAdded(), "Squirtle es nuevo");
+        assertEquals(Collections.singletonList("Bulbasaur"), delta.getRemoved(), "Bulbasaur ya no existe");
+        assertEquals(Collections.singletonList("Pikachu"), delta.getModified(), "Pikachu cambió de peso");
+        assertFalse(delta.isEmpty(), "Las diferencias no deberían estar vacías");
+        assertEquals("1 agregados, 1 eliminados, 1 modificados", delta.toString(), "El resumen debería contar cada cambio");
+
+        PokemonData current = reloader.current();
+        assertNotSame(initial, current, "Debería publicar una versión nueva");
+        assertEquals(Arrays.asList(current), published, "El receptor debería recibir la versión publicada");
+        assertSame(delta, deltas.get(0), "El receptor debería recibir las mismas diferencias");
+        assertEquals(6.5, current.getPokemon("Pikachu").getWeight(), "La versión nueva tiene el peso nuevo");
+        assertEquals(6.0, initial.getPokemon("Pikachu").getWeight(), "La versión anterior no debería cambiar");
+        assertTrue(initial.containsPokemon("Bulbasaur"), "La versión anterior conserva a Bulbasaur");
+        assertFalse(current.containsPokemon("Bulbasaur"), "La versión nueva ya no tiene a Bulbasaur");
+    }
+
+    /**
+     * Prueba que una recarga fallida conserve la versión actual sin avisar al receptor.
+     */
+    @Test
+    public void testFailedReloadKeepsCurrent() throws IOException {
+        Path csv = tempDir.resolve("pokemon.csv");
+        Files.write(csv, (HEADER + PIKACHU).getBytes(StandardCharsets.UTF_8));
+        PokemonData initial = CSVReader.readPokemonsFromCSV(csv.toString(), new PokemonData(MapType.HASH_MAP));
+        List<PokemonData> published = new ArrayList<>();
+        DatasetReloader reloader = new DatasetReloader(csv, MapType.HASH_MAP, initial,
+                                                       (data, delta) -> published.add(data));
+
+        Files.delete(csv);
+        assertThrows(IOException.class, reloader::reload, "Sin archivo la recarga debería fallar");
+        assertSame(initial, reloader.current(), "Debería conservar la versión actual");
+        assertTrue(published.isEmpty(), "No debería avisar al receptor");
+    }
+}